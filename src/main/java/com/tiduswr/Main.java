@@ -1,10 +1,43 @@
 package com.tiduswr;
 
 import com.tiduswr.controller.GameController;
+import com.tiduswr.controller.HeadlessController;
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.RuleSet;
+import com.tiduswr.metrics.jfr.FlightRecording;
+import com.tiduswr.tools.ToolArgs;
 
 public class Main {
     public static void main(String[] args) {
+        FlightRecording.startIfRequested();
+        var options = new ToolArgs(args);
+        // Regras e tabuleiro da partida, por exemplo: --rules=same,plus,combo --board=4x4 (sem --rules, vale a regra SAME)
+        var rules = RuleSet.parse(options.getString("rules", RuleSet.DEFAULT_RULES));
+        var geometry = BoardGeometry.parse(options.getString("board", ""));
+        if (options.has("headless")) {
+            // Sem interface: apenas o catálogo e o motor, por exemplo --headless --games=1000 --bots=greedy,random
+            System.setProperty("java.awt.headless", "true");
+            String[] bots = options.getString("bots", "greedy,greedy").split(",");
+            if (bots.length != 2) throw new IllegalArgumentException("Informe dois bots em --bots, por exemplo greedy,random");
+            // Várias mesas simultâneas com --tables=N, compartilhando o catálogo
+            int tables = options.getInt("tables", 1);
+            long seed = options.getLong("seed", System.nanoTime());
+            if (tables == 1) {
+                var headless = new HeadlessController(CardCatalog.load(), rules, geometry, bots[0], bots[1], seed);
+                headless.run(options.getInt("games", 1), options.has("verbose"), System.out);
+            } else {
+                HeadlessController.runTables(CardCatalog.load(), rules, geometry, bots[0], bots[1], seed, tables,
+                        options.getInt("games", 1), options.has("verbose"), System.out);
+            }
+            return;
+        }
+        // Renderizador do tabuleiro: swing (padrão) ou volatile (renderização ativa em uma VolatileImage)
+        var renderer = options.getString("renderer", "swing");
+        if (!renderer.equals("swing") && !renderer.equals("volatile"))
+            throw new IllegalArgumentException("Renderizador desconhecido: " + renderer + " (use swing ou volatile)");
         var gameController = new GameController();
-        gameController.createWindow();
+        // Uma janela por mesa com --tables=N
+        gameController.createWindows(rules, geometry, renderer.equals("volatile"), options.getInt("tables", 1));
     }
 }
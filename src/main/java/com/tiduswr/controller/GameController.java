@@ -1,9 +1,16 @@
 package com.tiduswr.controller;
 
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
 
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.RuleSet;
 import com.tiduswr.model.CardsReader;
 import com.tiduswr.model.SoundServices;
 import com.tiduswr.view.TripleTriadUI;
@@ -14,25 +21,89 @@ import com.tiduswr.view.TripleTriadUI;
 public class GameController {
     
     /**
-     * Cria a janela do jogo e inicializa os serviços de som e cartas.
+     * Cria a janela do jogo com as regras padrão e inicializa os serviços de som e cartas.
      */
     public void createWindow(){
+        createWindow(RuleSet.DEFAULT, BoardGeometry.CLASSIC);
+    }
+
+    /**
+     * Cria a janela do jogo e inicializa os serviços de som e cartas.
+     *
+     * @param rules Regras das partidas.
+     * @param geometry Dimensões do tabuleiro.
+     */
+    public void createWindow(RuleSet rules, BoardGeometry geometry){
+        createWindow(rules, geometry, false);
+    }
+
+    /**
+     * Cria a janela do jogo e inicializa os serviços de som e cartas.
+     *
+     * @param rules Regras das partidas.
+     * @param geometry Dimensões do tabuleiro.
+     * @param activeRendering Se o tabuleiro e as mãos devem ser desenhados pelo renderizador ativo.
+     */
+    public void createWindow(RuleSet rules, BoardGeometry geometry, boolean activeRendering){
+        createWindows(rules, geometry, activeRendering, 1);
+    }
+
+    /**
+     * Cria uma janela por mesa, todas no mesmo processo. As cartas (com as imagens) e o catálogo são carregados uma
+     * única vez e compartilhados; cada mesa tem os seus próprios serviços de som, turno e partida. Com mais de uma
+     * mesa, fechar uma janela encerra apenas aquela mesa, e o processo termina quando a última é fechada.
+     *
+     * @param rules Regras das partidas.
+     * @param geometry Dimensões do tabuleiro.
+     * @param activeRendering Se o tabuleiro e as mãos devem ser desenhados pelo renderizador ativo.
+     * @param tables Quantidade de mesas.
+     */
+    public void createWindows(RuleSet rules, BoardGeometry geometry, boolean activeRendering, int tables){
+        if (tables < 1) {
+            throw new IllegalArgumentException("Quantidade de mesas inválida: " + tables);
+        }
         var cards = CardsReader.readCardsFromCSV();
+        var catalog = CardCatalog.load();
+        var open = new AtomicInteger(tables);
+
+        for (int table = 1; table <= tables; table++) {
+            var soundServices = createSoundServices();
+            int number = table;
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        var ui = new TripleTriadUI(cards, catalog, rules, geometry, soundServices, activeRendering,
+                                number);
+                        if (tables > 1) {
+                            ui.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+                            ui.addWindowListener(new WindowAdapter() {
+                                @Override
+                                public void windowClosed(WindowEvent e) {
+                                    if (open.decrementAndGet() == 0) System.exit(0);
+                                }
+                            });
+                        }
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Cria os serviços de som de uma mesa. O áudio decodificado é compartilhado entre as mesas pelo
+     * {@link com.tiduswr.model.AudioCueManager}.
+     *
+     * @return Os serviços de som.
+     */
+    private SoundServices createSoundServices() {
         var soundServices = new SoundServices();
         soundServices.createSoundService("main-theme", "theme-start.wav");
         soundServices.createSoundService("selection", "selection.wav");
         soundServices.createSoundService("card-placed", "card-placed.wav", 0.7f);
         soundServices.createSoundService("error", "error.wav", 0.7f);
-
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    new TripleTriadUI(cards, soundServices);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
-        });
+        return soundServices;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,186 @@
+package com.tiduswr.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.Dealer;
+import com.tiduswr.engine.GameRunner;
+import com.tiduswr.engine.GameState;
+import com.tiduswr.engine.Rule;
+import com.tiduswr.engine.RuleSet;
+import com.tiduswr.engine.ai.Bot;
+import com.tiduswr.engine.ai.Bots;
+
+/**
+ * Modo sem interface gráfica: carrega apenas os atributos das cartas ({@link CardCatalog}) e joga partidas entre
+ * bots diretamente no motor.
+ * <p>
+ * Nenhuma classe de AWT, Swing, ImageIO ou javax.sound é referenciada por este caminho, então o jogo pode rodar
+ * em servidores e tarefas em lote sem imagens, janelas ou linhas de áudio. As mãos são distribuídas pelo
+ * {@link Dealer} sem reposição, como na interface, e o primeiro jogador se alterna a cada partida.
+ * </p>
+ * <p>
+ * Cada controlador é uma mesa com o seu próprio estado, bots e gerador; {@link #runTables} joga várias mesas ao mesmo
+ * tempo compartilhando um único catálogo.
+ * </p>
+ */
+public class HeadlessController {
+
+    /**
+     * Catálogo de cartas.
+     */
+    private final CardCatalog catalog;
+
+    /**
+     * Regras das partidas.
+     */
+    private final RuleSet rules;
+
+    /**
+     * Dimensões do tabuleiro.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Bots dos jogadores 1 e 2.
+     */
+    private final Bot[] bots;
+
+    /**
+     * Gerador usado para distribuir as mãos e os elementos.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Distribuidor das mãos.
+     */
+    private final Dealer dealer;
+
+    /**
+     * Construtor da classe HeadlessController.
+     *
+     * @param catalog  Catálogo de cartas.
+     * @param rules    Regras das partidas.
+     * @param geometry Dimensões do tabuleiro.
+     * @param bot1     Nome do bot do jogador 1 (ver {@link Bots}).
+     * @param bot2     Nome do bot do jogador 2.
+     * @param seed     Semente das distribuições e dos bots.
+     */
+    public HeadlessController(CardCatalog catalog, RuleSet rules, BoardGeometry geometry, String bot1, String bot2,
+            long seed) {
+        this.catalog = catalog;
+        this.rules = rules;
+        this.geometry = geometry;
+        this.random = new SplittableRandom(seed);
+        this.dealer = Dealer.uniform(catalog, false);
+        this.bots = new Bot[] { Bots.create(bot1, random.nextLong()), Bots.create(bot2, random.nextLong()) };
+    }
+
+    /**
+     * Joga as partidas e escreve o resultado de cada uma, se pedido, e o resumo.
+     *
+     * @param games   Quantidade de partidas.
+     * @param verbose Se o placar de cada partida deve ser escrito.
+     * @param out     Saída do relatório.
+     * @return vitórias do jogador 1, vitórias do jogador 2 e empates
+     */
+    public int[] run(int games, boolean verbose, PrintStream out) {
+        GameState state = new GameState(catalog, rules, geometry);
+        int handSize = geometry.getHandSize();
+        int[] deal = new int[2 * handSize];
+        int[] hand0 = new int[handSize];
+        int[] hand1 = new int[handSize];
+        int[] results = new int[3];
+        long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            dealer.deal(random, deal, 0, deal.length);
+            System.arraycopy(deal, 0, hand0, 0, handSize);
+            System.arraycopy(deal, handSize, hand1, 0, handSize);
+            int[] tiles = rules.has(Rule.ELEMENTAL) ? GameState.randomTiles(geometry, random) : null;
+            state.deal(hand0, hand1, game & 1, tiles);
+            int winner = GameRunner.playOut(state, bots[0], bots[1]);
+            results[winner < 0 ? 2 : winner]++;
+            if (verbose) {
+                out.printf("Partida %d: %d x %d (%s)%n", game + 1, state.score(0), state.score(1),
+                        winner < 0 ? "empate" : "vence o jogador " + (winner + 1));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        out.printf("%d partidas (%s x %s, regras %s, tabuleiro %s): %d x %d, %d empates, %.0f partidas/s%n", games,
+                bots[0].getName(), bots[1].getName(), rules.getRules(), geometry, results[0], results[1],
+                results[2], games / Math.max(seconds, 1e-9));
+        return results;
+    }
+
+    /**
+     * Joga várias mesas ao mesmo tempo, em threads separadas, compartilhando o catálogo. Cada mesa tem os seus bots e
+     * a sua semente, derivada da semente informada, e o relatório de cada uma é escrito inteiro, na ordem das mesas,
+     * seguido do total.
+     *
+     * @param catalog  Catálogo de cartas, compartilhado entre as mesas.
+     * @param rules    Regras das partidas.
+     * @param geometry Dimensões do tabuleiro.
+     * @param bot1     Nome do bot do jogador 1 (ver {@link Bots}).
+     * @param bot2     Nome do bot do jogador 2.
+     * @param seed     Semente das mesas.
+     * @param tables   Quantidade de mesas.
+     * @param games    Quantidade de partidas de cada mesa.
+     * @param verbose  Se o placar de cada partida deve ser escrito.
+     * @param out      Saída do relatório.
+     * @return soma das vitórias do jogador 1, das vitórias do jogador 2 e dos empates de todas as mesas
+     */
+    public static int[] runTables(CardCatalog catalog, RuleSet rules, BoardGeometry geometry, String bot1, String bot2,
+            long seed, int tables, int games, boolean verbose, PrintStream out) {
+        if (tables < 1) throw new IllegalArgumentException("Quantidade de mesas inválida: " + tables);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<HeadlessController> controllers = new ArrayList<>();
+        for (int table = 0; table < tables; table++) {
+            controllers.add(new HeadlessController(catalog, rules, geometry, bot1, bot2, seeds.nextLong()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(tables, Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread thread = new Thread(r, "headless-table");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            List<Future<String>> reports = new ArrayList<>();
+            List<int[]> results = new ArrayList<>();
+            for (HeadlessController controller : controllers) {
+                int[] result = new int[3];
+                results.add(result);
+                reports.add(executor.submit(() -> {
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    PrintStream report = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+                    System.arraycopy(controller.run(games, verbose, report), 0, result, 0, 3);
+                    return buffer.toString(StandardCharsets.UTF_8);
+                }));
+            }
+            int[] total = new int[3];
+            for (int table = 0; table < tables; table++) {
+                out.print("Mesa " + (table + 1) + ": " + reports.get(table).get());
+                for (int i = 0; i < 3; i++) total[i] += results.get(table)[i];
+            }
+            out.printf("%d mesas: %d x %d, %d empates%n", tables, total[0], total[1], total[2]);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
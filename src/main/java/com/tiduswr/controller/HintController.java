@@ -0,0 +1,241 @@
+package com.tiduswr.controller;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.SwingUtilities;
+
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.GameState;
+import com.tiduswr.engine.ai.Solver;
+import com.tiduswr.metrics.Counter;
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+import com.tiduswr.model.PlayerCardData;
+import com.tiduswr.view.TripleTriadUI;
+
+/**
+ * Calcula dicas de jogada para a carta selecionada: a melhor posição do tabuleiro e a pontuação esperada,
+ * destacadas no {@link com.tiduswr.view.Board}.
+ * <p>
+ * O {@link Solver} roda em uma thread própria, sobre uma cópia do estado da partida; uma nova seleção (ou a
+ * jogada da carta) cancela a busca em andamento. As dicas ficam guardadas pelo hash da posição e pela carta,
+ * então voltar a uma carta já analisada é imediato. A thread de eventos do Swing recebe apenas o resultado final.
+ * </p>
+ * <p>
+ * A busca considera as duas mãos conhecidas, como na regra Open. No tabuleiro clássico a posição é resolvida até o
+ * fim; nos maiores, a busca completa pode levar minutos, então usa aprofundamento iterativo por até
+ * {@value #BUDGET_MS} ms e a pontuação mostrada é uma estimativa.
+ * </p>
+ */
+public class HintController {
+
+    /**
+     * Prazo da busca nos tabuleiros maiores que o clássico, em milissegundos.
+     */
+    public static final long BUDGET_MS = 1500;
+
+    /**
+     * Latência do cálculo de uma dica na thread de busca.
+     */
+    private static final LatencyHistogram hintLatency = MetricsRegistry.getInstance().histogram("hint.compute");
+
+    /**
+     * Dicas atendidas pelo cache.
+     */
+    private static final Counter cacheHits = MetricsRegistry.getInstance().counter("hint.cacheHit");
+
+    /**
+     * Buscas canceladas antes de terminar.
+     */
+    private static final Counter cancelled = MetricsRegistry.getInstance().counter("hint.cancelled");
+
+    /**
+     * Interface do jogo que contém o tabuleiro.
+     */
+    private final TripleTriadUI father;
+
+    /**
+     * Catálogo usado para converter as cartas da interface em índices do motor.
+     */
+    private final CardCatalog catalog;
+
+    /**
+     * Thread única onde as buscas são executadas.
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "move-hints");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Solver usado apenas pela thread de busca.
+     */
+    private final Solver solver = new Solver();
+
+    /**
+     * Dicas já calculadas, indexadas pelo hash da posição combinado com a posição da carta na mão.
+     */
+    private final Map<Long, Hint> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Busca em andamento, ou null.
+     */
+    private Future<?> pending;
+
+    /**
+     * Número do pedido mais recente; resultados de pedidos anteriores são descartados (acessado só na EDT).
+     */
+    private long requestId;
+
+    /**
+     * Construtor da classe HintController.
+     *
+     * @param father  A interface do jogo.
+     * @param catalog Catálogo de cartas.
+     */
+    public HintController(TripleTriadUI father, CardCatalog catalog) {
+        this.father = father;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Pede a dica da carta selecionada, cancelando a anterior. Deve ser chamado na EDT.
+     *
+     * @param card Carta selecionada na mão do jogador da vez.
+     */
+    public void request(PlayerCardData card) {
+        cancel();
+        RulesController rules = father.getRulesController();
+        GameState state = rules.getState();
+        if (state.isOver()) return;
+        int player = rules.playerIndex(card.getOwner());
+        if (player != state.getToMove()) return;
+        int slot = state.slotOf(player, catalog.indexOfId(card.getCardData().getCardId()));
+        if (slot < 0) return;
+
+        long key = state.getHash() ^ (slot + 1) * 0x9E3779B97F4A7C15L;
+        Hint cached = cache.get(key);
+        if (cached != null) {
+            cacheHits.increment();
+            show(cached);
+            return;
+        }
+
+        GameState snapshot = new GameState(state.getCatalog(), state.getRules(), state.getGeometry());
+        snapshot.copyFrom(state);
+        long id = requestId;
+        pending = executor.submit(() -> {
+            long start = System.nanoTime();
+            Hint hint;
+            try {
+                hint = compute(snapshot, slot);
+            } catch (CancellationException e) {
+                cancelled.increment();
+                return;
+            }
+            hintLatency.recordSince(start);
+            cache.put(key, hint);
+            SwingUtilities.invokeLater(() -> {
+                if (id == requestId) show(hint);
+            });
+        });
+    }
+
+    /**
+     * Cancela a busca em andamento e remove o destaque do tabuleiro. Deve ser chamado na EDT.
+     */
+    public void cancel() {
+        requestId++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        father.getBoard().clearHint();
+    }
+
+    /**
+     * Descarta as dicas guardadas e a tabela de transposição do solver, ao começar uma nova partida. O hash das
+     * posições não inclui os elementos do tabuleiro, então valores de outra partida não podem ser reaproveitados.
+     */
+    public void reset() {
+        cancel();
+        cache.clear();
+        // o solver só é tocado pela thread de busca: a limpeza roda depois da busca cancelada terminar
+        executor.submit(() -> {
+            solver.clear();
+            cache.clear();
+        });
+    }
+
+    /**
+     * Encerra a thread de busca.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Resolve a posição restrita à carta escolhida (executado na thread de busca).
+     *
+     * @param state Cópia do estado da partida.
+     * @param slot  Posição da carta na mão do jogador da vez.
+     * @return dica com a melhor posição e a pontuação esperada
+     */
+    private Hint compute(GameState state, int slot) {
+        int remaining = state.getCells() - state.getPlaced();
+        boolean exact = state.getCells() <= BoardGeometry.CLASSIC.getCells();
+        int move;
+        if (exact) {
+            move = solver.bestMove(state, slot, remaining);
+        } else {
+            move = solver.deepen(state, slot, System.nanoTime() + BUDGET_MS * 1_000_000L);
+            // deepen para sem exceção ao ser interrompido; a dica parcial de uma busca cancelada é descartada
+            if (move < 0 || Thread.currentThread().isInterrupted()) throw new CancellationException();
+            exact = solver.getLastDepth() == remaining;
+        }
+        int total = 2 * state.getHandSize();
+        int own = (total + solver.getLastValue()) / 2;
+        return new Hint(GameState.moveCell(move), own, total - own, exact);
+    }
+
+    /**
+     * Destaca a dica no tabuleiro.
+     *
+     * @param hint Dica calculada.
+     */
+    private void show(Hint hint) {
+        int cols = father.getRulesController().getState().getGeometry().getCols();
+        String score = hint.own + " x " + hint.opponent;
+        father.getBoard().showHint(hint.cell / cols, hint.cell % cols, hint.exact ? score : "~" + score);
+    }
+
+    /**
+     * Resultado de uma busca: posição sugerida e pontuação final esperada com jogo perfeito dos dois lados (ou a
+     * estimativa da profundidade alcançada no prazo).
+     */
+    private static final class Hint {
+
+        /** Posição sugerida. */
+        final int cell;
+        /** Pontuação esperada do jogador da vez. */
+        final int own;
+        /** Pontuação esperada do adversário. */
+        final int opponent;
+        /** Se a busca chegou ao fim da partida. */
+        final boolean exact;
+
+        Hint(int cell, int own, int opponent, boolean exact) {
+            this.cell = cell;
+            this.own = own;
+            this.opponent = opponent;
+            this.exact = exact;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.tiduswr.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.Element;
+import com.tiduswr.engine.GameState;
+import com.tiduswr.engine.History;
+import com.tiduswr.engine.Rule;
+import com.tiduswr.engine.RuleSet;
+import com.tiduswr.engine.SavedMatch;
+import com.tiduswr.engine.Snapshot;
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+import com.tiduswr.metrics.jfr.CaptureResolutionEvent;
+import com.tiduswr.model.CardData;
+import com.tiduswr.model.Player;
+import com.tiduswr.model.PlayerCardData;
+import com.tiduswr.view.CardAddedEvent;
+import com.tiduswr.view.CardAnimation;
+import com.tiduswr.view.CardComponent;
+import com.tiduswr.view.FrameClock;
+import com.tiduswr.view.PlayerCards;
+import com.tiduswr.view.TripleTriadUI;
+import com.tiduswr.view.listeners.CardAddedListener;
+
+/**
+ * Ouvinte do tabuleiro que aplica o {@link RuleSet} da partida a cada carta adicionada.
+ * <p>
+ * Mantém um {@link GameState} espelhando a partida exibida: cada jogada é executada no motor,
+ * e o dono das cartas do tabuleiro e a pontuação dos jogadores são sincronizados com o resultado.
+ * </p>
+ * <p>
+ * Cada jogada também é registrada em um {@link History}, que permite desfazer, refazer e voltar a qualquer
+ * jogada; nesses casos o estado é restaurado da fotografia e o tabuleiro e as mãos são redesenhados a partir dele.
+ * </p>
+ */
+public class RulesController implements CardAddedListener {
+
+    /**
+     * Latência da aplicação das regras após uma jogada.
+     */
+    private static final LatencyHistogram rulesLatency = MetricsRegistry.getInstance().histogram("rules");
+
+    /**
+     * Interface do jogo que contém o tabuleiro e o placar.
+     */
+    private final TripleTriadUI father;
+
+    /**
+     * Catálogo usado para converter as cartas da interface em índices do motor.
+     */
+    private final CardCatalog catalog;
+
+    /**
+     * Estado da partida no motor.
+     */
+    private final GameState state;
+
+    /**
+     * Jogadores da partida; o índice é o jogador correspondente no motor.
+     */
+    private final Player[] players;
+
+    /**
+     * Histórico da partida.
+     */
+    private final History history;
+
+    /**
+     * Carta da interface de cada índice do catálogo, usada para redesenhar posições restauradas.
+     */
+    private final CardData[] cardsByIndex;
+
+    /**
+     * Semente usada para sortear os elementos do tabuleiro, guardada nas partidas salvas.
+     */
+    private final long seed;
+
+    /**
+     * Construtor da classe RulesController. Distribui no motor as mãos atuais dos jogadores e, com a regra
+     * Elemental, sorteia os elementos do tabuleiro e os exibe nas posições.
+     *
+     * @param father   A interface do jogo.
+     * @param catalog  Catálogo de cartas.
+     * @param rules    Regras da partida.
+     * @param geometry Dimensões do tabuleiro.
+     * @param player1  Jogador 1 (jogador 0 no motor).
+     * @param player2  Jogador 2 (jogador 1 no motor).
+     * @param first    Jogador que faz a primeira jogada (0 ou 1).
+     * @param seed     Semente do sorteio dos elementos do tabuleiro.
+     */
+    public RulesController(TripleTriadUI father, CardCatalog catalog, RuleSet rules, BoardGeometry geometry,
+            Player player1, Player player2, int first, long seed) {
+        this.father = father;
+        this.catalog = catalog;
+        this.seed = seed;
+        this.state = new GameState(catalog, rules, geometry);
+        this.players = new Player[] { player1, player2 };
+        int[] tiles = rules.has(Rule.ELEMENTAL) ? GameState.randomTiles(geometry, new SplittableRandom(seed)) : null;
+        state.deal(toIndices(player1.getCards()), toIndices(player2.getCards()), first, tiles);
+        this.history = new History(state);
+        this.cardsByIndex = new CardData[catalog.size()];
+        for (CardData card : father.getBoard().getAllCards()) {
+            int index = catalog.indexOfId(card.getCardId());
+            if (index >= 0) cardsByIndex[index] = card;
+        }
+        syncScores();
+        if (tiles != null) showTiles();
+    }
+
+    @Override
+    public void onCardAdded(CardAddedEvent event) {
+        long start = System.nanoTime();
+        CaptureResolutionEvent jfrEvent = new CaptureResolutionEvent();
+        jfrEvent.begin();
+
+        PlayerCardData card = event.getCard();
+        int player = playerIndex(card.getOwner());
+        int slot = state.slotOf(player, catalog.indexOfId(card.getCardData().getCardId()));
+        int cell = event.getRow() * state.getGeometry().getCols() + event.getCol();
+        int flips = state.play(slot, cell);
+        history.push(state, GameState.move(slot, cell));
+
+        syncOwners();
+        syncScores();
+        father.getScore().updateScores();
+        father.getSaveController().autosave(toSavedMatch());
+
+        rulesLatency.recordSince(start);
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.row = event.getRow();
+            jfrEvent.col = event.getCol();
+            jfrEvent.flips = flips;
+            jfrEvent.commit();
+        }
+    }
+
+    /**
+     * Desfaz a última jogada exibida.
+     *
+     * @return true se havia jogada para desfazer
+     */
+    public boolean undo() {
+        return show(history.undo());
+    }
+
+    /**
+     * Refaz a jogada desfeita seguinte.
+     *
+     * @return true se havia jogada para refazer
+     */
+    public boolean redo() {
+        return show(history.redo());
+    }
+
+    /**
+     * Vai para uma jogada da partida (0 é o início), mantendo as seguintes disponíveis para refazer.
+     *
+     * @param ply Número da jogada.
+     * @return true se a jogada exibida mudou
+     */
+    public boolean jumpTo(int ply) {
+        if (ply == history.getCursor()) return false;
+        return show(history.jumpTo(ply));
+    }
+
+    /**
+     * Retorna o histórico da partida.
+     *
+     * @return histórico
+     */
+    public History getHistory() {
+        return this.history;
+    }
+
+    /**
+     * Restaura uma fotografia no motor e redesenha a partida a partir dela: cartas e donos do tabuleiro, mãos,
+     * pontuação e jogador da vez.
+     *
+     * @param snapshot Fotografia a exibir, ou null para não fazer nada.
+     * @return true se a fotografia foi exibida
+     */
+    private boolean show(Snapshot snapshot) {
+        if (snapshot == null) return false;
+        state.restore(snapshot);
+        father.getHintController().cancel();
+
+        int cells = state.getCells();
+        PlayerCardData[] board = new PlayerCardData[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            int card = state.cardAt(cell);
+            if (card >= 0) {
+                board[cell] = new PlayerCardData(cardsByIndex[card], players[state.ownerAt(cell)], 0, false);
+            }
+        }
+        father.getBoard().setCards(board);
+
+        PlayerCards[] hands = { father.getP1(), father.getP2() };
+        for (int p = 0; p < players.length; p++) {
+            List<CardData> hand = new ArrayList<>();
+            for (int slot = 0; slot < state.getHandSize(); slot++) {
+                int card = state.handCard(p, slot);
+                if (card >= 0) hand.add(cardsByIndex[card]);
+            }
+            hands[p].setCards(hand);
+        }
+
+        syncOwners();
+        syncScores();
+        father.getScore().updateScores();
+        father.setTurnPlayer(state.getToMove());
+        father.getGameLog().addLogMessage(String.format("Exibindo a jogada %d de %d", history.getCursor(),
+                history.getLastPly()));
+        father.getSaveController().autosave(toSavedMatch());
+        if (state.isOver()) father.showEndGameDialog();
+        return true;
+    }
+
+    /**
+     * Monta a partida para salvar: jogadores, regras, semente, mãos iniciais e jogadas do histórico.
+     *
+     * @return partida pronta para gravar
+     */
+    public SavedMatch toSavedMatch() {
+        Snapshot initial = history.initial();
+        int handSize = state.getHandSize();
+        int[] hands = new int[2 * handSize];
+        for (int p = 0; p < 2; p++) {
+            for (int slot = 0; slot < handSize; slot++) {
+                hands[p * handSize + slot] = catalog.id(initial.handCard(p, slot));
+            }
+        }
+        String[] names = { players[0].getName(), players[1].getName() };
+        int[] colors = { players[0].getColor().getRGB() & 0xFFFFFF, players[1].getColor().getRGB() & 0xFFFFFF };
+        return new SavedMatch(names, colors, state.getRules(), state.getGeometry(), seed, initial.getToMove(),
+                hands, history.getMoves(), history.getCursor(), history.last().getHash());
+    }
+
+    /**
+     * Refaz no motor as jogadas de uma partida salva, que deve ter sido distribuída com as mesmas mãos, semente e
+     * primeiro jogador, e exibe a jogada que estava na tela.
+     *
+     * @param match Partida salva, já conferida com {@link SavedMatch#replay(CardCatalog)}.
+     */
+    public void replay(SavedMatch match) {
+        for (int move : match.getMoves()) {
+            state.play(GameState.moveSlot(move), GameState.moveCell(move));
+            history.push(state, move);
+        }
+        show(history.jumpTo(match.getCursor()));
+    }
+
+    /**
+     * Retorna o índice no motor de um jogador da partida.
+     *
+     * @param player Jogador.
+     * @return 0 para o jogador 1 e 1 para o jogador 2
+     */
+    public int playerIndex(Player player) {
+        return player == players[0] ? 0 : 1;
+    }
+
+    /**
+     * Retorna o estado da partida no motor.
+     *
+     * @return estado da partida
+     */
+    public GameState getState() {
+        return this.state;
+    }
+
+    /**
+     * Exibe no tabuleiro os elementos sorteados para as posições.
+     */
+    private void showTiles() {
+        String[] elements = new String[state.getCells()];
+        for (int cell = 0; cell < elements.length; cell++) {
+            Element tile = state.tileAt(cell);
+            elements[cell] = tile == Element.NEUTRAL ? null : tile.name();
+        }
+        father.getBoard().setTileElements(elements);
+    }
+
+    /**
+     * Atualiza o dono e o modificador das cartas exibidas no tabuleiro a partir do motor, assim como os
+     * modificadores de ASCEND/DESCEND das cartas ainda nas mãos. As cartas que mudaram de dono são viradas com
+     * uma {@link CardAnimation}.
+     */
+    private void syncOwners() {
+        CardComponent[][] cells = father.getBoard().getBoardCards();
+        int cols = state.getGeometry().getCols();
+        for (int cell = 0; cell < state.getCells(); cell++) {
+            PlayerCardData info = cells[cell / cols][cell % cols].getInfo();
+            if (info != null) {
+                Player owner = players[state.ownerAt(cell)];
+                if (info.getOwner() != owner) {
+                    FrameClock.getInstance().start(
+                            CardAnimation.flip(cells[cell / cols][cell % cols], info.getOwner().getColor()));
+                }
+                info.setOwner(owner);
+                info.setModifier(state.modifierAt(cell));
+            }
+        }
+        if (state.getRules().has(Rule.ASCEND) || state.getRules().has(Rule.DESCEND)) {
+            for (var hand : new PlayerCards[] { father.getP1(), father.getP2() }) {
+                hand.processAllPlayerCardData((index, info) ->
+                        info.setModifier(state.handModifier(catalog.indexOfId(info.getCardData().getCardId()))));
+            }
+        }
+    }
+
+    /**
+     * Copia para os jogadores as posições e o tamanho da mão do motor, dos quais a pontuação é derivada.
+     */
+    private void syncScores() {
+        for (int p = 0; p < players.length; p++) {
+            players[p].setOwnership(state.ownedMask(p), state.handCount(p));
+        }
+    }
+
+    /**
+     * Converte uma mão da interface em índices do catálogo.
+     *
+     * @param cards Cartas da mão.
+     * @return índices das cartas no catálogo
+     */
+    private int[] toIndices(List<CardData> cards) {
+        int[] hand = new int[cards.size()];
+        for (int i = 0; i < hand.length; i++) {
+            hand[i] = catalog.indexOfId(cards.get(i).getCardId());
+        }
+        return hand;
+    }
+}
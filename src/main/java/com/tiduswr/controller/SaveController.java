@@ -0,0 +1,145 @@
+package com.tiduswr.controller;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import com.tiduswr.engine.SavedMatch;
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+import com.tiduswr.view.TripleTriadUI;
+
+/**
+ * Grava as partidas em disco em uma thread própria, para que salvar nunca atrase a thread de eventos do Swing.
+ * <p>
+ * A {@link SavedMatch} é montada na EDT (poucos bytes) e apenas a escrita atômica roda em segundo plano, na ordem
+ * dos pedidos. Falhas de escrita são registradas no log de jogadas.
+ * </p>
+ */
+public class SaveController {
+
+    /**
+     * Arquivo do salvamento automático da primeira mesa, feito a cada jogada e retomado ao abrir o jogo.
+     */
+    public static final Path AUTOSAVE = Path.of("autosave.ttm");
+
+    /**
+     * Arquivo do salvamento rápido da primeira mesa (F5 salva, F9 carrega).
+     */
+    public static final Path QUICKSAVE = Path.of("quicksave.ttm");
+
+    /**
+     * Latência da escrita de uma partida.
+     */
+    private static final LatencyHistogram writeLatency = MetricsRegistry.getInstance().histogram("save.write");
+
+    /**
+     * Interface do jogo, usada para registrar falhas no log.
+     */
+    private final TripleTriadUI father;
+
+    /**
+     * Arquivo do salvamento automático desta mesa.
+     */
+    private final Path autosavePath;
+
+    /**
+     * Arquivo do salvamento rápido desta mesa.
+     */
+    private final Path quicksavePath;
+
+    /**
+     * Thread única onde as escritas são executadas.
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "match-save");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Construtor da classe SaveController, com os arquivos da primeira mesa.
+     *
+     * @param father A interface do jogo.
+     */
+    public SaveController(TripleTriadUI father) {
+        this(father, 1);
+    }
+
+    /**
+     * Construtor da classe SaveController para uma das mesas do processo. A primeira mesa usa {@link #AUTOSAVE} e
+     * {@link #QUICKSAVE}; as demais, arquivos numerados ({@code autosave-2.ttm}, ...), para que as mesas não
+     * sobrescrevam as partidas umas das outras.
+     *
+     * @param father A interface do jogo.
+     * @param table  Número da mesa (a partir de 1).
+     */
+    public SaveController(TripleTriadUI father, int table) {
+        this.father = father;
+        this.autosavePath = table == 1 ? AUTOSAVE : Path.of("autosave-" + table + ".ttm");
+        this.quicksavePath = table == 1 ? QUICKSAVE : Path.of("quicksave-" + table + ".ttm");
+    }
+
+    /**
+     * Agenda a gravação de uma partida.
+     *
+     * @param match Partida a gravar.
+     * @param path  Arquivo de destino.
+     */
+    public void save(SavedMatch match, Path path) {
+        writer.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                match.write(path);
+                writeLatency.recordSince(start);
+            } catch (IOException e) {
+                e.printStackTrace();
+                SwingUtilities.invokeLater(() -> father.getGameLog()
+                        .addLogMessage("Falha ao salvar a partida: " + e.getLocalizedMessage()));
+            }
+        });
+    }
+
+    /**
+     * Agenda o salvamento automático de uma partida.
+     *
+     * @param match Partida a gravar.
+     */
+    public void autosave(SavedMatch match) {
+        save(match, autosavePath);
+    }
+
+    /**
+     * Retorna o arquivo do salvamento automático desta mesa.
+     *
+     * @return O arquivo do salvamento automático.
+     */
+    public Path getAutosavePath() {
+        return autosavePath;
+    }
+
+    /**
+     * Retorna o arquivo do salvamento rápido desta mesa.
+     *
+     * @return O arquivo do salvamento rápido.
+     */
+    public Path getQuicksavePath() {
+        return quicksavePath;
+    }
+
+    /**
+     * Encerra a thread de escrita, aguardando as gravações pendentes por até um segundo.
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
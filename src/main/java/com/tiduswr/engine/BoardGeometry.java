@@ -0,0 +1,167 @@
+package com.tiduswr.engine;
+
+/**
+ * Dimensões do tabuleiro de uma partida (3x3, 4x4, 5x5 ou qualquer NxM), com a tabela de vizinhos
+ * pré-calculada.
+ * <p>
+ * As posições são numeradas de 0 a {@code getCells() - 1}, linha a linha. A vizinhança de cada posição fica em
+ * um único vetor plano ({@code neighbours[cell * 4 + direction]}, -1 fora do tabuleiro), de forma que as regras
+ * não precisam testar os limites do tabuleiro a cada comparação. Cada jogador recebe
+ * {@code getCells() / 2 + 1} cartas, o que resulta nas 5 cartas do tabuleiro clássico.
+ * </p>
+ */
+public final class BoardGeometry {
+
+    /** Tabuleiro clássico 3x3. */
+    public static final BoardGeometry CLASSIC = new BoardGeometry(3, 3);
+
+    /** Quantidade máxima de posições, limitada pelas máscaras de posse em um {@code long}. */
+    public static final int MAX_CELLS = Long.SIZE;
+
+    /**
+     * Quantidade de linhas.
+     */
+    private final int rows;
+
+    /**
+     * Quantidade de colunas.
+     */
+    private final int cols;
+
+    /**
+     * Quantidade de posições.
+     */
+    private final int cells;
+
+    /**
+     * Quantidade de cartas na mão de cada jogador no início da partida.
+     */
+    private final int handSize;
+
+    /**
+     * Vizinho de cada posição em cada direção ({@code neighbours[cell * 4 + direction]}), ou -1 fora do tabuleiro.
+     */
+    final int[] neighbours;
+
+    /**
+     * Construtor privado; use {@link #of(int, int)} ou {@link #parse(String)}.
+     *
+     * @param rows Quantidade de linhas.
+     * @param cols Quantidade de colunas.
+     */
+    private BoardGeometry(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = rows * cols;
+        this.handSize = cells / 2 + 1;
+        this.neighbours = new int[cells * 4];
+        for (int cell = 0; cell < cells; cell++) {
+            int row = cell / cols;
+            int col = cell % cols;
+            neighbours[cell * 4 + GameState.UP] = row > 0 ? cell - cols : -1;
+            neighbours[cell * 4 + GameState.DOWN] = row < rows - 1 ? cell + cols : -1;
+            neighbours[cell * 4 + GameState.LEFT] = col > 0 ? cell - 1 : -1;
+            neighbours[cell * 4 + GameState.RIGHT] = col < cols - 1 ? cell + 1 : -1;
+        }
+    }
+
+    /**
+     * Cria a geometria de um tabuleiro.
+     *
+     * @param rows Quantidade de linhas.
+     * @param cols Quantidade de colunas.
+     * @return geometria do tabuleiro
+     * @throws IllegalArgumentException Se o tabuleiro tiver menos de 2 posições ou mais de {@value #MAX_CELLS}.
+     */
+    public static BoardGeometry of(int rows, int cols) {
+        if (rows == 3 && cols == 3) return CLASSIC;
+        if (rows < 1 || cols < 1 || rows * cols < 2 || rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Tabuleiro inválido: " + rows + "x" + cols);
+        }
+        return new BoardGeometry(rows, cols);
+    }
+
+    /**
+     * Lê a geometria de um texto no formato {@code LINHASxCOLUNAS}, como {@code 4x4}.
+     * Um texto vazio resulta no tabuleiro clássico.
+     *
+     * @param text Texto com as dimensões.
+     * @return geometria do tabuleiro
+     * @throws IllegalArgumentException Se o texto não estiver no formato esperado.
+     */
+    public static BoardGeometry parse(String text) {
+        if (text == null || text.isBlank()) return CLASSIC;
+        String[] parts = text.trim().toLowerCase().split("x");
+        if (parts.length != 2) throw new IllegalArgumentException("Tabuleiro inválido: " + text);
+        try {
+            return of(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Tabuleiro inválido: " + text, e);
+        }
+    }
+
+    /**
+     * Retorna a posição vizinha em uma direção.
+     *
+     * @param cell      Posição do tabuleiro.
+     * @param direction Direção.
+     * @return posição vizinha, ou -1 se estiver fora do tabuleiro
+     */
+    public int neighbour(int cell, int direction) {
+        return neighbours[cell * 4 + direction];
+    }
+
+    /**
+     * Retorna a quantidade de linhas.
+     *
+     * @return linhas do tabuleiro
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Retorna a quantidade de colunas.
+     *
+     * @return colunas do tabuleiro
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * Retorna a quantidade de posições.
+     *
+     * @return posições do tabuleiro
+     */
+    public int getCells() {
+        return this.cells;
+    }
+
+    /**
+     * Retorna a quantidade de cartas na mão de cada jogador no início da partida.
+     *
+     * @return tamanho da mão
+     */
+    public int getHandSize() {
+        return this.handSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BoardGeometry)) return false;
+        BoardGeometry other = (BoardGeometry) o;
+        return rows == other.rows && cols == other.cols;
+    }
+
+    @Override
+    public int hashCode() {
+        return rows * 31 + cols;
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + cols;
+    }
+}
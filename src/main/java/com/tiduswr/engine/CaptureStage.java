@@ -0,0 +1,19 @@
+package com.tiduswr.engine;
+
+/**
+ * Etapa da resolução de capturas de um {@link RuleSet}. Apenas as etapas das regras ativas são
+ * compiladas no conjunto, de modo que regras desligadas não custam nada por jogada.
+ */
+@FunctionalInterface
+interface CaptureStage {
+
+    /**
+     * Aplica a etapa após a carta jogada em {@code cell} pelo jogador {@code player}.
+     *
+     * @param state Estado da partida, já com a carta colocada.
+     * @param cell  Posição onde a carta foi jogada.
+     * @param player Jogador que fez a jogada.
+     * @return quantidade de cartas capturadas pela etapa
+     */
+    int apply(GameState state, int cell, int player);
+}
@@ -0,0 +1,227 @@
+package com.tiduswr.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Catálogo somente leitura com os atributos de todas as cartas, armazenados em vetores primitivos.
+ * <p>
+ * As cartas são identificadas pelo seu índice no catálogo (a ordem das linhas do {@code cards.csv}),
+ * e os valores dos lados ficam em um único vetor com quatro posições por carta, na ordem
+ * {@link GameState#UP}, {@link GameState#RIGHT}, {@link GameState#DOWN} e {@link GameState#LEFT}.
+ * O catálogo não depende de AWT nem de imagens, podendo ser usado pelo motor sem interface.
+ * </p>
+ * <p>
+ * Consultas compostas, como "cartas de gelo com cima pelo menos 7 e esquerda pelo menos 5", são feitas com
+ * {@link #query()} sobre índices montados junto com o catálogo.
+ * </p>
+ */
+public class CardCatalog {
+
+    /**
+     * Quantidade de cartas por nível: o catálogo segue a ordem do jogo original, com 11 cartas por nível.
+     */
+    public static final int CARDS_PER_LEVEL = 11;
+
+    /**
+     * Identificador (coluna {@code id}) de cada carta.
+     */
+    private final int[] ids;
+
+    /**
+     * Nome de cada carta.
+     */
+    private final String[] names;
+
+    /**
+     * Valores dos lados, quatro por carta.
+     */
+    private final int[] sides;
+
+    /**
+     * Elemento de cada carta.
+     */
+    private final Element[] elements;
+
+    /**
+     * Índices usados pelas consultas de {@link #query()}.
+     */
+    private final CardIndex index;
+
+    /**
+     * Construtor da classe CardCatalog.
+     *
+     * @param ids      Identificadores das cartas.
+     * @param names    Nomes das cartas.
+     * @param sides    Valores dos lados, quatro por carta.
+     * @param elements Elementos das cartas.
+     */
+    private CardCatalog(int[] ids, String[] names, int[] sides, Element[] elements) {
+        this.ids = ids;
+        this.names = names;
+        this.sides = sides;
+        this.elements = elements;
+        this.index = new CardIndex(this);
+    }
+
+    /**
+     * Carrega o catálogo a partir do {@code cards.csv} do classpath.
+     *
+     * @return O catálogo com todas as cartas.
+     */
+    public static CardCatalog load() {
+        try (InputStream in = CardCatalog.class.getClassLoader().getResourceAsStream("cards.csv")) {
+            return read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lê um catálogo no formato do {@code cards.csv} ({@code id;name;up;left;down;right;element}).
+     *
+     * @param in Fluxo com o conteúdo do CSV, incluindo o cabeçalho.
+     * @return O catálogo lido.
+     * @throws IOException Se ocorrer um erro de leitura.
+     */
+    public static CardCatalog read(InputStream in) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            br.readLine(); // Ignora o cabeçalho do CSV
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (!line.isBlank()) rows.add(line.split(";"));
+            }
+        }
+
+        int n = rows.size();
+        int[] ids = new int[n];
+        String[] names = new String[n];
+        int[] sides = new int[n * 4];
+        Element[] elements = new Element[n];
+        for (int i = 0; i < n; i++) {
+            String[] row = rows.get(i);
+            ids[i] = Integer.parseInt(row[0]);
+            names[i] = row[1];
+            sides[i * 4 + GameState.UP] = Integer.parseInt(row[2]);
+            sides[i * 4 + GameState.LEFT] = Integer.parseInt(row[3]);
+            sides[i * 4 + GameState.DOWN] = Integer.parseInt(row[4]);
+            sides[i * 4 + GameState.RIGHT] = Integer.parseInt(row[5]);
+            elements[i] = Element.parse(row[6]);
+        }
+        return new CardCatalog(ids, names, sides, elements);
+    }
+
+    /**
+     * Retorna a quantidade de cartas do catálogo.
+     *
+     * @return número de cartas
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Retorna o valor de um lado de uma carta.
+     *
+     * @param card      Índice da carta no catálogo.
+     * @param direction Direção do lado ({@link GameState#UP}, {@link GameState#RIGHT}, ...).
+     * @return valor do lado (1 a 10)
+     */
+    public int side(int card, int direction) {
+        return sides[card * 4 + direction];
+    }
+
+    /**
+     * Retorna o vetor com os lados de todas as cartas, quatro por carta. Não deve ser modificado.
+     *
+     * @return vetor de lados
+     */
+    public int[] sides() {
+        return sides;
+    }
+
+    /**
+     * Retorna o identificador (coluna {@code id}) de uma carta.
+     *
+     * @param card Índice da carta no catálogo.
+     * @return identificador da carta
+     */
+    public int id(int card) {
+        return ids[card];
+    }
+
+    /**
+     * Retorna o nome de uma carta.
+     *
+     * @param card Índice da carta no catálogo.
+     * @return nome da carta
+     */
+    public String name(int card) {
+        return names[card];
+    }
+
+    /**
+     * Retorna o elemento de uma carta.
+     *
+     * @param card Índice da carta no catálogo.
+     * @return elemento da carta
+     */
+    public Element element(int card) {
+        return elements[card];
+    }
+
+    /**
+     * Retorna o nível de uma carta (1 a 10), derivado da sua posição no catálogo.
+     *
+     * @param card Índice da carta no catálogo.
+     * @return nível da carta
+     */
+    public int level(int card) {
+        return Math.min(10, card / CARDS_PER_LEVEL + 1);
+    }
+
+    /**
+     * Procura o índice de uma carta pelo seu identificador.
+     *
+     * @param id Identificador da carta (coluna {@code id}).
+     * @return índice da carta no catálogo, ou -1 se não existir
+     */
+    public int indexOfId(int id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Cria uma consulta às cartas do catálogo, que começa com todas as cartas e é restringida por filtros
+     * (elemento, prefixo do nome, lados, maior lado, soma dos lados e nível) resolvidos por índices de bits.
+     *
+     * @return nova consulta
+     */
+    public CardQuery query() {
+        return new CardQuery(index);
+    }
+
+    /**
+     * Formata uma mão como a lista dos nomes das cartas.
+     *
+     * @param hand Índices das cartas.
+     * @return texto com os nomes das cartas
+     */
+    public String describe(int[] hand) {
+        String[] parts = new String[hand.length];
+        for (int i = 0; i < hand.length; i++) {
+            parts[i] = hand[i] < 0 ? "-" : names[hand[i]];
+        }
+        return Arrays.toString(parts);
+    }
+}
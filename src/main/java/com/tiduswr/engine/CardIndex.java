@@ -0,0 +1,164 @@
+package com.tiduswr.engine;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Índices do {@link CardCatalog} usados pelas consultas de {@link CardQuery}.
+ * <p>
+ * Cada conjunto de cartas é um vetor de bits ({@code long[]}, um bit por índice do catálogo). Os atributos numéricos
+ * (lados, maior lado, soma dos lados e nível) têm um conjunto por valor com as cartas cujo atributo é <b>maior ou
+ * igual</b> a ele, de modo que "pelo menos" e "no máximo" custam um único {@code and}/{@code andNot}. Os nomes ficam
+ * em uma árvore de prefixos, em minúsculas, em que cada nó guarda o conjunto das cartas abaixo dele. Os índices são
+ * montados uma vez, junto com o catálogo, e nunca mais modificados.
+ * </p>
+ */
+final class CardIndex {
+
+    /**
+     * Quantidade de {@code long}s de cada conjunto.
+     */
+    final int words;
+
+    /**
+     * Todas as cartas do catálogo.
+     */
+    final long[] all;
+
+    /**
+     * Cartas de cada elemento, pelo ordinal do elemento.
+     */
+    final long[][] elements;
+
+    /**
+     * Cartas com o lado maior ou igual a cada valor ({@code sides[direção][valor]}).
+     */
+    final long[][][] sides;
+
+    /**
+     * Cartas com o maior lado maior ou igual a cada valor.
+     */
+    final long[][] maxSide;
+
+    /**
+     * Cartas com a soma dos lados maior ou igual a cada valor.
+     */
+    final long[][] total;
+
+    /**
+     * Cartas com o nível maior ou igual a cada valor.
+     */
+    final long[][] levels;
+
+    /**
+     * Raiz da árvore de prefixos dos nomes.
+     */
+    private final Node names;
+
+    /**
+     * Monta os índices de um catálogo.
+     *
+     * @param catalog O catálogo.
+     */
+    CardIndex(CardCatalog catalog) {
+        int n = catalog.size();
+        words = (n + 63) >>> 6;
+        all = new long[words];
+        for (int card = 0; card < n; card++) set(all, card);
+
+        elements = new long[Element.values().length][words];
+        for (int card = 0; card < n; card++) set(elements[catalog.element(card).ordinal()], card);
+
+        sides = new long[4][][];
+        for (int dir = 0; dir < 4; dir++) {
+            int direction = dir;
+            sides[dir] = atLeast(n, card -> catalog.side(card, direction));
+        }
+        maxSide = atLeast(n, card -> Math.max(
+                Math.max(catalog.side(card, GameState.UP), catalog.side(card, GameState.RIGHT)),
+                Math.max(catalog.side(card, GameState.DOWN), catalog.side(card, GameState.LEFT))));
+        total = atLeast(n, card -> catalog.side(card, GameState.UP) + catalog.side(card, GameState.RIGHT)
+                + catalog.side(card, GameState.DOWN) + catalog.side(card, GameState.LEFT));
+        levels = atLeast(n, catalog::level);
+
+        names = new Node(words);
+        for (int card = 0; card < n; card++) {
+            Node node = names;
+            set(node.cards, card);
+            for (char c : catalog.name(card).toLowerCase(Locale.ROOT).toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new Node(words));
+                set(node.cards, card);
+            }
+        }
+    }
+
+    /**
+     * Retorna o conjunto das cartas com o atributo maior ou igual ao valor informado.
+     *
+     * @param sets  Conjuntos do atributo, um por valor.
+     * @param value Valor mínimo (fora da faixa do catálogo resulta em todas ou nenhuma carta).
+     * @return O conjunto, que não deve ser modificado.
+     */
+    static long[] atLeast(long[][] sets, int value) {
+        return sets[Math.max(0, Math.min(value, sets.length - 1))];
+    }
+
+    /**
+     * Retorna o conjunto das cartas cujo nome começa com o prefixo, sem diferenciar maiúsculas de minúsculas.
+     *
+     * @param prefix O prefixo.
+     * @return O conjunto, que não deve ser modificado, ou null se nenhuma carta tiver o prefixo.
+     */
+    long[] prefix(String prefix) {
+        Node node = names;
+        for (char c : prefix.toLowerCase(Locale.ROOT).toCharArray()) {
+            node = node.children.get(c);
+            if (node == null) return null;
+        }
+        return node.cards;
+    }
+
+    /**
+     * Monta os conjuntos acumulados de um atributo: o conjunto {@code v} tem as cartas com atributo maior ou igual a
+     * {@code v}, e o último, acima do maior valor, é vazio.
+     *
+     * @param n     Quantidade de cartas.
+     * @param value Atributo de cada carta (não negativo).
+     * @return Os conjuntos, um por valor.
+     */
+    private long[][] atLeast(int n, IntUnaryOperator value) {
+        int max = 0;
+        for (int card = 0; card < n; card++) max = Math.max(max, value.applyAsInt(card));
+        long[][] sets = new long[max + 2][words];
+        for (int card = 0; card < n; card++) {
+            int v = value.applyAsInt(card);
+            for (int t = 0; t <= v; t++) set(sets[t], card);
+        }
+        return sets;
+    }
+
+    /**
+     * Acrescenta uma carta a um conjunto.
+     */
+    static void set(long[] bits, int card) {
+        bits[card >>> 6] |= 1L << card;
+    }
+
+    /**
+     * Nó da árvore de prefixos dos nomes.
+     */
+    private static final class Node {
+
+        /** Filhos do nó, pelo próximo caractere. */
+        final Map<Character, Node> children = new HashMap<>();
+
+        /** Cartas cujo nome começa com o prefixo do nó. */
+        final long[] cards;
+
+        Node(int words) {
+            cards = new long[words];
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.tiduswr.engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Consulta composta ao {@link CardCatalog}, criada por {@link CardCatalog#query()}.
+ * <p>
+ * Começa com todas as cartas, e cada filtro restringe o resultado com um {@code and} sobre os índices do catálogo,
+ * sem percorrer as cartas. Por exemplo, as cartas de gelo com cima pelo menos 7 e esquerda pelo menos 5:
+ * </p>
+ * <pre>{@code
+ * int[] cards = catalog.query().element(Element.ICE)
+ *         .sideAtLeast(GameState.UP, 7).sideAtLeast(GameState.LEFT, 5).toArray();
+ * }</pre>
+ * <p>
+ * A consulta pode ser reaproveitada com {@link #reset()}: filtrar e contar não alocam memória, o que permite usá-la
+ * em laços que filtram candidatos milhões de vezes. Não é segura para uso por várias threads ao mesmo tempo; cada
+ * thread deve criar a sua (os índices do catálogo são compartilhados).
+ * </p>
+ */
+public final class CardQuery {
+
+    /**
+     * Índices do catálogo.
+     */
+    private final CardIndex index;
+
+    /**
+     * Cartas que atendem aos filtros aplicados até agora.
+     */
+    private final long[] bits;
+
+    /**
+     * Construtor da classe CardQuery.
+     *
+     * @param index Índices do catálogo.
+     */
+    CardQuery(CardIndex index) {
+        this.index = index;
+        this.bits = index.all.clone();
+    }
+
+    /**
+     * Descarta os filtros aplicados, voltando a todas as cartas.
+     *
+     * @return esta consulta
+     */
+    public CardQuery reset() {
+        System.arraycopy(index.all, 0, bits, 0, bits.length);
+        return this;
+    }
+
+    /**
+     * Mantém apenas as cartas do elemento informado.
+     *
+     * @param element O elemento.
+     * @return esta consulta
+     */
+    public CardQuery element(Element element) {
+        return and(index.elements[element.ordinal()]);
+    }
+
+    /**
+     * Mantém apenas as cartas cujo nome começa com o prefixo, sem diferenciar maiúsculas de minúsculas.
+     *
+     * @param prefix O prefixo do nome.
+     * @return esta consulta
+     */
+    public CardQuery nameStartsWith(String prefix) {
+        long[] cards = index.prefix(prefix);
+        if (cards == null) {
+            Arrays.fill(bits, 0L);
+            return this;
+        }
+        return and(cards);
+    }
+
+    /**
+     * Mantém apenas as cartas com um lado maior ou igual ao valor.
+     *
+     * @param direction Direção do lado ({@link GameState#UP}, {@link GameState#RIGHT}, ...).
+     * @param value     Valor mínimo do lado.
+     * @return esta consulta
+     */
+    public CardQuery sideAtLeast(int direction, int value) {
+        return and(CardIndex.atLeast(index.sides[direction], value));
+    }
+
+    /**
+     * Mantém apenas as cartas com um lado menor ou igual ao valor.
+     *
+     * @param direction Direção do lado ({@link GameState#UP}, {@link GameState#RIGHT}, ...).
+     * @param value     Valor máximo do lado.
+     * @return esta consulta
+     */
+    public CardQuery sideAtMost(int direction, int value) {
+        return andNot(CardIndex.atLeast(index.sides[direction], value + 1));
+    }
+
+    /**
+     * Mantém apenas as cartas cujo maior lado está entre os valores informados.
+     *
+     * @param min Valor mínimo do maior lado.
+     * @param max Valor máximo do maior lado.
+     * @return esta consulta
+     */
+    public CardQuery maxSideBetween(int min, int max) {
+        return and(CardIndex.atLeast(index.maxSide, min)).andNot(CardIndex.atLeast(index.maxSide, max + 1));
+    }
+
+    /**
+     * Mantém apenas as cartas cuja soma dos lados está entre os valores informados.
+     *
+     * @param min Soma mínima.
+     * @param max Soma máxima.
+     * @return esta consulta
+     */
+    public CardQuery totalBetween(int min, int max) {
+        return and(CardIndex.atLeast(index.total, min)).andNot(CardIndex.atLeast(index.total, max + 1));
+    }
+
+    /**
+     * Mantém apenas as cartas cujo nível está entre os valores informados.
+     *
+     * @param min Nível mínimo.
+     * @param max Nível máximo.
+     * @return esta consulta
+     */
+    public CardQuery levelBetween(int min, int max) {
+        return and(CardIndex.atLeast(index.levels, min)).andNot(CardIndex.atLeast(index.levels, max + 1));
+    }
+
+    /**
+     * Mantém apenas as cartas presentes entre os candidatos informados (por exemplo, a mão de um jogador).
+     *
+     * @param cards Índices das cartas no catálogo; valores negativos são ignorados.
+     * @return esta consulta
+     */
+    public CardQuery among(int[] cards) {
+        for (int word = 0; word < bits.length; word++) {
+            long mask = 0L;
+            for (int card : cards) {
+                if (card >= 0 && card >>> 6 == word) mask |= 1L << card;
+            }
+            bits[word] &= mask;
+        }
+        return this;
+    }
+
+    /**
+     * Remove uma carta do resultado (por exemplo, uma carta já vista no tabuleiro).
+     *
+     * @param card Índice da carta no catálogo; valores negativos são ignorados.
+     * @return esta consulta
+     */
+    public CardQuery excluding(int card) {
+        if (card >= 0) bits[card >>> 6] &= ~(1L << card);
+        return this;
+    }
+
+    /**
+     * Verifica se uma carta atende aos filtros.
+     *
+     * @param card Índice da carta no catálogo.
+     * @return true se a carta está no resultado
+     */
+    public boolean matches(int card) {
+        return (bits[card >>> 6] & 1L << card) != 0;
+    }
+
+    /**
+     * Conta as cartas que atendem aos filtros.
+     *
+     * @return quantidade de cartas no resultado
+     */
+    public int count() {
+        int count = 0;
+        for (long word : bits) count += Long.bitCount(word);
+        return count;
+    }
+
+    /**
+     * Verifica se nenhuma carta atende aos filtros.
+     *
+     * @return true se o resultado está vazio
+     */
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Percorre as cartas do resultado em ordem de índice, sem alocar memória.
+     *
+     * @param action Ação executada com o índice de cada carta.
+     */
+    public void forEach(IntConsumer action) {
+        for (int word = 0; word < bits.length; word++) {
+            for (long w = bits[word]; w != 0; w &= w - 1) {
+                action.accept(word << 6 | Long.numberOfTrailingZeros(w));
+            }
+        }
+    }
+
+    /**
+     * Retorna os índices das cartas do resultado, em ordem.
+     *
+     * @return índices das cartas no catálogo
+     */
+    public int[] toArray() {
+        int[] cards = new int[count()];
+        int[] next = { 0 };
+        forEach(card -> cards[next[0]++] = card);
+        return cards;
+    }
+
+    /**
+     * Retorna uma cópia do resultado como {@link BitSet}.
+     *
+     * @return conjunto com os índices das cartas
+     */
+    public BitSet toBitSet() {
+        return BitSet.valueOf(bits);
+    }
+
+    /**
+     * Intersecta o resultado com um conjunto.
+     */
+    private CardQuery and(long[] set) {
+        for (int i = 0; i < bits.length; i++) bits[i] &= set[i];
+        return this;
+    }
+
+    /**
+     * Remove do resultado as cartas de um conjunto.
+     */
+    private CardQuery andNot(long[] set) {
+        for (int i = 0; i < bits.length; i++) bits[i] &= ~set[i];
+        return this;
+    }
+}
@@ -0,0 +1,245 @@
+package com.tiduswr.engine;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Distribuição reprodutível de cartas: a mesma semente sempre gera as mesmas mãos.
+ * <p>
+ * As cartas são sorteadas pelo índice no catálogo, de forma uniforme ou com pesos (por exemplo, pela raridade, em
+ * que cartas de nível alto saem menos), com ou sem reposição. Sem reposição, nenhuma carta se repete dentro de uma
+ * mesma distribuição (as mãos de todos os jogadores de uma mesa), como em um baralho real. Os pesos usam o método
+ * de alias, e cada sorteio custa dois números aleatórios, seja qual for o tamanho do catálogo.
+ * </p>
+ * <p>
+ * Para simulações, {@link #dealAll(long, int, int[])} preenche um vetor com milhões de distribuições em paralelo.
+ * O vetor é dividido em blocos de tamanho fixo, cada um com o seu gerador obtido por {@link SplittableRandom#split()}
+ * a partir da semente, de modo que o resultado não depende da quantidade de threads. O distribuidor é imutável e
+ * pode ser compartilhado entre threads; cada thread usa o seu próprio {@link SplittableRandom}.
+ * </p>
+ */
+public final class Dealer {
+
+    /**
+     * Fator de raridade padrão: cada nível acima do primeiro multiplica a chance da carta por este valor.
+     */
+    public static final double RARITY_DECAY = 0.7;
+
+    /**
+     * Quantidade de distribuições de cada bloco de {@link #dealAll(long, int, int[])}.
+     */
+    private static final int CHUNK = 4096;
+
+    /**
+     * Quantidade de cartas sorteáveis.
+     */
+    private final int size;
+
+    /**
+     * Se uma carta pode se repetir na mesma distribuição.
+     */
+    private final boolean replacement;
+
+    /**
+     * Probabilidade de manter a posição sorteada no método de alias, ou null no sorteio uniforme.
+     */
+    private final double[] probability;
+
+    /**
+     * Carta usada quando a posição sorteada não é mantida, ou null no sorteio uniforme.
+     */
+    private final int[] alias;
+
+    /**
+     * Quantidade de cartas com peso maior que zero.
+     */
+    private final int available;
+
+    /**
+     * Construtor privado; use {@link #uniform(CardCatalog, boolean)}, {@link #rarityWeighted(CardCatalog, boolean)} ou
+     * {@link #weighted(double[], boolean)}.
+     */
+    private Dealer(int size, boolean replacement, double[] probability, int[] alias, int available) {
+        this.size = size;
+        this.replacement = replacement;
+        this.probability = probability;
+        this.alias = alias;
+        this.available = available;
+    }
+
+    /**
+     * Cria um distribuidor em que todas as cartas do catálogo têm a mesma chance.
+     *
+     * @param catalog     Catálogo de cartas.
+     * @param replacement Se uma carta pode se repetir na mesma distribuição.
+     * @return O distribuidor.
+     */
+    public static Dealer uniform(CardCatalog catalog, boolean replacement) {
+        return new Dealer(catalog.size(), replacement, null, null, catalog.size());
+    }
+
+    /**
+     * Cria um distribuidor pela raridade, com o fator {@link #RARITY_DECAY}: a chance de uma carta de nível
+     * {@code l} é proporcional a {@code RARITY_DECAY^(l - 1)}.
+     *
+     * @param catalog     Catálogo de cartas.
+     * @param replacement Se uma carta pode se repetir na mesma distribuição.
+     * @return O distribuidor.
+     */
+    public static Dealer rarityWeighted(CardCatalog catalog, boolean replacement) {
+        double[] weights = new double[catalog.size()];
+        for (int card = 0; card < weights.length; card++) {
+            weights[card] = Math.pow(RARITY_DECAY, catalog.level(card) - 1);
+        }
+        return weighted(weights, replacement);
+    }
+
+    /**
+     * Cria um distribuidor com um peso por carta; a chance de cada carta é proporcional ao seu peso.
+     *
+     * @param weights     Peso de cada carta, pelo índice no catálogo (zero para nunca sortear).
+     * @param replacement Se uma carta pode se repetir na mesma distribuição.
+     * @return O distribuidor.
+     * @throws IllegalArgumentException Se algum peso for negativo ou não finito, ou se todos forem zero.
+     */
+    public static Dealer weighted(double[] weights, boolean replacement) {
+        int n = weights.length;
+        double sum = 0;
+        int available = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Peso inválido: " + weight);
+            }
+            sum += weight;
+            if (weight > 0) available++;
+        }
+        if (available == 0) throw new IllegalArgumentException("Ao menos uma carta precisa de peso maior que zero");
+
+        // Método de alias de Vose: cada posição guarda uma parte da sua carta e o restante de uma carta "grande"
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int card = 0; card < n; card++) {
+            scaled[card] = weights[card] * n / sum;
+            if (scaled[card] < 1.0) small[smallCount++] = card;
+            else large[largeCount++] = card;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] += scaled[less] - 1.0;
+            if (scaled[more] < 1.0) small[smallCount++] = more;
+            else large[largeCount++] = more;
+        }
+        while (largeCount > 0) probability[large[--largeCount]] = 1.0;
+        // sobras por arredondamento: só cartas com peso podem ficar com a própria posição
+        int fallback = 0;
+        while (weights[fallback] == 0) fallback++;
+        while (smallCount > 0) {
+            int card = small[--smallCount];
+            probability[card] = weights[card] > 0 ? 1.0 : 0.0;
+            alias[card] = fallback;
+        }
+        return new Dealer(n, replacement, probability, alias, available);
+    }
+
+    /**
+     * Sorteia uma carta.
+     *
+     * @param random Gerador aleatório.
+     * @return índice da carta no catálogo
+     */
+    public int draw(SplittableRandom random) {
+        int card = random.nextInt(size);
+        if (probability == null || probability[card] >= 1.0) return card;
+        return random.nextDouble() < probability[card] ? card : alias[card];
+    }
+
+    /**
+     * Preenche parte de um vetor com uma distribuição, sem alocar memória.
+     *
+     * @param random Gerador aleatório.
+     * @param out    Vetor de destino.
+     * @param offset Primeira posição preenchida.
+     * @param count  Quantidade de cartas da distribuição (por exemplo, duas mãos).
+     * @throws IllegalArgumentException Se, sem reposição, não houver cartas suficientes.
+     */
+    public void deal(SplittableRandom random, int[] out, int offset, int count) {
+        if (!replacement && count > available) {
+            throw new IllegalArgumentException("Não há " + count + " cartas distintas para distribuir");
+        }
+        for (int i = 0; i < count; i++) {
+            int card = draw(random);
+            // sem reposição, sorteia de novo as repetidas: equivale a sortear entre as cartas restantes
+            while (!replacement && contains(out, offset, offset + i, card)) card = draw(random);
+            out[offset + i] = card;
+        }
+    }
+
+    /**
+     * Sorteia uma distribuição.
+     *
+     * @param random Gerador aleatório.
+     * @param count  Quantidade de cartas da distribuição.
+     * @return índices das cartas no catálogo
+     */
+    public int[] deal(SplittableRandom random, int count) {
+        int[] cards = new int[count];
+        deal(random, cards, 0, count);
+        return cards;
+    }
+
+    /**
+     * Sorteia a distribuição de uma semente.
+     *
+     * @param seed  Semente do sorteio.
+     * @param count Quantidade de cartas da distribuição.
+     * @return índices das cartas no catálogo
+     */
+    public int[] deal(long seed, int count) {
+        return deal(new SplittableRandom(seed), count);
+    }
+
+    /**
+     * Preenche um vetor com distribuições consecutivas de {@code dealSize} cartas, em paralelo. O resultado depende
+     * apenas da semente, do tamanho das distribuições e do tamanho do vetor.
+     *
+     * @param seed     Semente do sorteio.
+     * @param dealSize Quantidade de cartas de cada distribuição.
+     * @param out      Vetor de destino, com tamanho múltiplo de {@code dealSize}.
+     * @throws IllegalArgumentException Se o tamanho do vetor não for múltiplo de {@code dealSize}.
+     */
+    public void dealAll(long seed, int dealSize, int[] out) {
+        if (dealSize <= 0 || out.length % dealSize != 0) {
+            throw new IllegalArgumentException("O vetor precisa ter um múltiplo de " + dealSize + " posições");
+        }
+        int deals = out.length / dealSize;
+        int chunks = (deals + CHUNK - 1) / CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) randoms[chunk] = root.split();
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = randoms[chunk];
+            int end = Math.min(deals, (chunk + 1) * CHUNK);
+            for (int deal = chunk * CHUNK; deal < end; deal++) {
+                deal(random, out, deal * dealSize, dealSize);
+            }
+        });
+    }
+
+    /**
+     * Verifica se uma carta já está em um trecho do vetor.
+     */
+    private static boolean contains(int[] values, int from, int to, int card) {
+        for (int i = from; i < to; i++) {
+            if (values[i] == card) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.tiduswr.engine;
+
+/**
+ * Elementos que uma carta (ou posição do tabuleiro) pode ter, conforme a coluna {@code element} do {@code cards.csv}.
+ */
+public enum Element {
+    NEUTRAL, FIRE, ICE, THUNDER, EARTH, POISON, WIND, WATER, HOLY;
+
+    /**
+     * Converte o texto do CSV em um elemento, tratando valores desconhecidos como {@link #NEUTRAL}.
+     *
+     * @param name Nome do elemento, como aparece no CSV.
+     * @return O elemento correspondente.
+     */
+    public static Element parse(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return NEUTRAL;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tiduswr.engine;
+
+import com.tiduswr.engine.ai.Bot;
+
+/**
+ * Executa partidas completas entre bots sobre um {@link GameState}, sem interface gráfica.
+ */
+public class GameRunner {
+
+    /**
+     * Construtor privado, pois a classe só possui métodos estáticos.
+     */
+    private GameRunner() {}
+
+    /**
+     * Joga uma partida a partir do estado atual até o tabuleiro ficar completo.
+     *
+     * @param state Estado já distribuído (será modificado).
+     * @param bot0  Bot que controla o jogador 0.
+     * @param bot1  Bot que controla o jogador 1.
+     * @return 0 ou 1 para o vencedor, ou -1 em caso de empate
+     */
+    public static int playOut(GameState state, Bot bot0, Bot bot1) {
+        while (!state.isOver()) {
+            int move = (state.getToMove() == 0 ? bot0 : bot1).chooseMove(state);
+            state.play(GameState.moveSlot(move), GameState.moveCell(move));
+        }
+        return state.winner();
+    }
+}
@@ -0,0 +1,755 @@
+package com.tiduswr.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Estado de uma partida de Triple Triad sem interface gráfica, representado apenas por vetores primitivos.
+ * <p>
+ * É mutável e pensado para simulações: uma instância pode ser reaproveitada para muitas partidas com
+ * {@link #deal(int[], int[], int)} e copiada sem alocação com {@link #copyFrom(GameState)}. As dimensões do
+ * tabuleiro e o tamanho das mãos vêm de um {@link BoardGeometry}; as posições são numeradas de 0 a
+ * {@code getCells() - 1}, linha a linha, e cada jogada é codificada em um {@code int} por {@link #move(int, int)}.
+ * </p>
+ */
+public class GameState {
+
+    /** Direção para cima. */
+    public static final int UP = 0;
+    /** Direção para a direita. */
+    public static final int RIGHT = 1;
+    /** Direção para baixo. */
+    public static final int DOWN = 2;
+    /** Direção para a esquerda. */
+    public static final int LEFT = 3;
+
+    /**
+     * Deslocamento de {@link #CLAMP} para aceitar valores negativos: com ASCEND/DESCEND, um lado varia de até
+     * {@code MAX_CELLS - 1} para cada lado (todas as outras cartas do tabuleiro do mesmo elemento).
+     */
+    private static final int CLAMP_OFFSET = BoardGeometry.MAX_CELLS;
+
+    /**
+     * Tabela que limita um valor de lado ao intervalo de 1 a A ({@code CLAMP[value + CLAMP_OFFSET]}).
+     */
+    private static final int[] CLAMP = new int[RuleSet.MAX_VALUE + 2 * CLAMP_OFFSET + 1];
+
+    static {
+        for (int i = 0; i < CLAMP.length; i++) {
+            CLAMP[i] = Math.max(1, Math.min(RuleSet.MAX_VALUE, i - CLAMP_OFFSET));
+        }
+    }
+
+    /**
+     * Catálogo de cartas usado para consultar os valores dos lados.
+     */
+    private final CardCatalog catalog;
+
+    /**
+     * Regras da partida.
+     */
+    private final RuleSet rules;
+
+    /**
+     * Dimensões do tabuleiro.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Quantidade de posições do tabuleiro.
+     */
+    private final int cells;
+
+    /**
+     * Quantidade de cartas na mão de cada jogador no início da partida.
+     */
+    private final int handSize;
+
+    /**
+     * Tabela de vizinhos da geometria ({@code neighbours[cell * 4 + direction]}), guardada no estado para as regras.
+     */
+    final int[] neighbours;
+
+    /**
+     * Carta em cada posição do tabuleiro (índice no catálogo), ou -1 se vazia.
+     */
+    final int[] board;
+
+    /**
+     * Posições do tabuleiro de cada jogador ({@code owned[player]}, bit {@code 1L << cell}).
+     */
+    final long[] owned = new long[2];
+
+    /**
+     * Elemento de cada posição do tabuleiro (ordinal de {@link Element}, {@code NEUTRAL} sem elemento).
+     */
+    private final int[] tiles;
+
+    /**
+     * Modificador da regra ELEMENTAL para cada posição e carta ({@code modifiers[cell * catalog.size() + card]}),
+     * recalculado a cada distribuição. Nulo quando a regra não está ativa.
+     */
+    private final byte[] modifiers;
+
+    /**
+     * Valores dos lados de cada carta no tabuleiro com o modificador ELEMENTAL ({@code cellSides[cell * 4 + direction]}),
+     * fixados no momento em que a carta é colocada, ainda sem limitação de intervalo.
+     */
+    private final int[] cellSides;
+
+    /**
+     * Modificador ELEMENTAL aplicado à carta de cada posição do tabuleiro.
+     */
+    private final int[] cellModifier;
+
+    /**
+     * Elemento (ordinal) da carta de cada posição do tabuleiro.
+     */
+    private final int[] cellElement;
+
+    /**
+     * Quantidade de cartas de cada elemento no tabuleiro, atualizada a cada jogada. A posição de
+     * {@code NEUTRAL} fica fixa em 1 para que cartas neutras nunca recebam bônus de ASCEND/DESCEND.
+     */
+    private final int[] elementCount = new int[Element.values().length];
+
+    /**
+     * Sinal do modificador por elemento: +1 com ASCEND, -1 com DESCEND e 0 sem essas regras.
+     */
+    private final int scaleSign;
+
+    /**
+     * Mãos dos dois jogadores ({@code hands[player * handSize + slot]}), com -1 nas cartas já jogadas.
+     */
+    private final int[] hands;
+
+    /**
+     * Quantidade de cartas restantes na mão de cada jogador.
+     */
+    private final int[] handCount = new int[2];
+
+    /**
+     * Chaves do hash de Zobrist deste tipo de estado.
+     */
+    private final Zobrist zobrist;
+
+    /**
+     * Hash de Zobrist da posição (cartas e donos no tabuleiro, mãos e jogador da vez).
+     */
+    private long hash;
+
+    /**
+     * Jogador da vez (0 ou 1).
+     */
+    private int toMove;
+
+    /**
+     * Quantidade de cartas já colocadas no tabuleiro.
+     */
+    private int placed;
+
+    /**
+     * Direções (bit {@code 1 << direction}) em que a última jogada capturou uma carta.
+     */
+    private int lastCaptureMask;
+
+    /**
+     * Fila de cartas capturadas por SAME ou PLUS que ainda vão aplicar o COMBO.
+     */
+    final int[] comboQueue;
+
+    /**
+     * Quantidade de posições ocupadas em {@link #comboQueue}.
+     */
+    int comboSize;
+
+    /**
+     * Vetor auxiliar reaproveitado pela etapa PLUS.
+     */
+    final int[] plusSums = new int[4];
+
+    /**
+     * Construtor da classe GameState com apenas a regra básica.
+     * O estado começa vazio até a chamada de {@link #deal(int[], int[], int)}.
+     *
+     * @param catalog Catálogo de cartas.
+     */
+    public GameState(CardCatalog catalog) {
+        this(catalog, RuleSet.BASIC);
+    }
+
+    /**
+     * Construtor da classe GameState no tabuleiro clássico 3x3.
+     * O estado começa vazio até a chamada de {@link #deal(int[], int[], int)}.
+     *
+     * @param catalog Catálogo de cartas.
+     * @param rules   Regras da partida.
+     */
+    public GameState(CardCatalog catalog, RuleSet rules) {
+        this(catalog, rules, BoardGeometry.CLASSIC);
+    }
+
+    /**
+     * Construtor da classe GameState.
+     * O estado começa vazio até a chamada de {@link #deal(int[], int[], int)}.
+     *
+     * @param catalog  Catálogo de cartas.
+     * @param rules    Regras da partida.
+     * @param geometry Dimensões do tabuleiro.
+     */
+    public GameState(CardCatalog catalog, RuleSet rules, BoardGeometry geometry) {
+        this.catalog = catalog;
+        this.rules = rules;
+        this.geometry = geometry;
+        this.cells = geometry.getCells();
+        this.handSize = geometry.getHandSize();
+        this.neighbours = geometry.neighbours;
+        this.board = new int[cells];
+        this.tiles = new int[cells];
+        this.cellSides = new int[cells * 4];
+        this.cellModifier = new int[cells];
+        this.cellElement = new int[cells];
+        this.hands = new int[2 * handSize];
+        this.comboQueue = new int[cells];
+        this.zobrist = Zobrist.of(geometry, catalog.size());
+        this.modifiers = rules.has(Rule.ELEMENTAL) ? new byte[cells * catalog.size()] : null;
+        this.scaleSign = rules.has(Rule.ASCEND) ? 1 : rules.has(Rule.DESCEND) ? -1 : 0;
+        elementCount[Element.NEUTRAL.ordinal()] = 1;
+        Arrays.fill(board, -1);
+        Arrays.fill(hands, -1);
+    }
+
+    /**
+     * Codifica uma jogada.
+     *
+     * @param slot Posição da carta na mão do jogador.
+     * @param cell Posição do tabuleiro.
+     * @return jogada codificada
+     */
+    public static int move(int slot, int cell) {
+        return (slot << 8) | cell;
+    }
+
+    /**
+     * Extrai a posição na mão de uma jogada codificada.
+     *
+     * @param move Jogada codificada.
+     * @return posição da carta na mão
+     */
+    public static int moveSlot(int move) {
+        return move >>> 8;
+    }
+
+    /**
+     * Extrai a posição do tabuleiro de uma jogada codificada.
+     *
+     * @param move Jogada codificada.
+     * @return posição do tabuleiro
+     */
+    public static int moveCell(int move) {
+        return move & 0xFF;
+    }
+
+    /**
+     * Retorna a posição vizinha em uma direção.
+     *
+     * @param cell      Posição do tabuleiro.
+     * @param direction Direção.
+     * @return posição vizinha, ou -1 se estiver fora do tabuleiro
+     */
+    public int neighbour(int cell, int direction) {
+        return neighbours[cell * 4 + direction];
+    }
+
+    /**
+     * Sorteia os elementos das posições do tabuleiro para a regra ELEMENTAL: cada posição tem uma chance
+     * em quatro de receber um elemento (diferente de {@code NEUTRAL}).
+     *
+     * @param geometry Dimensões do tabuleiro.
+     * @param random   Gerador aleatório.
+     * @return vetor com o ordinal do {@link Element} de cada posição
+     */
+    public static int[] randomTiles(BoardGeometry geometry, SplittableRandom random) {
+        int[] tiles = new int[geometry.getCells()];
+        int elements = Element.values().length;
+        for (int cell = 0; cell < tiles.length; cell++) {
+            tiles[cell] = random.nextInt(4) == 0 ? 1 + random.nextInt(elements - 1) : Element.NEUTRAL.ordinal();
+        }
+        return tiles;
+    }
+
+    /**
+     * Reinicia o estado com um tabuleiro vazio, sem elementos, e as mãos informadas.
+     *
+     * @param hand0 Cartas do jogador 0 (índices no catálogo), com exatamente {@code getHandSize()} cartas.
+     * @param hand1 Cartas do jogador 1 (índices no catálogo), com exatamente {@code getHandSize()} cartas.
+     * @param first Jogador que faz a primeira jogada.
+     */
+    public void deal(int[] hand0, int[] hand1, int first) {
+        deal(hand0, hand1, first, null);
+    }
+
+    /**
+     * Reinicia o estado com um tabuleiro vazio e as mãos informadas. Com a regra ELEMENTAL ativa, a tabela
+     * de modificadores por posição e carta é recalculada a partir dos elementos do tabuleiro.
+     *
+     * @param hand0 Cartas do jogador 0 (índices no catálogo), com exatamente {@code getHandSize()} cartas.
+     * @param hand1 Cartas do jogador 1 (índices no catálogo), com exatamente {@code getHandSize()} cartas.
+     * @param first Jogador que faz a primeira jogada.
+     * @param tiles Elemento de cada posição (ordinais de {@link Element}), ou null para um tabuleiro sem elementos.
+     */
+    public void deal(int[] hand0, int[] hand1, int first, int[] tiles) {
+        if (hand0.length != handSize || hand1.length != handSize) {
+            throw new IllegalArgumentException("Cada mão precisa conter exatamente " + handSize + " cartas!");
+        }
+        Arrays.fill(board, -1);
+        owned[0] = 0;
+        owned[1] = 0;
+        System.arraycopy(hand0, 0, hands, 0, handSize);
+        System.arraycopy(hand1, 0, hands, handSize, handSize);
+        handCount[0] = handSize;
+        handCount[1] = handSize;
+        toMove = first;
+        int n = catalog.size();
+        hash = first == 1 ? zobrist.side : 0;
+        for (int i = 0; i < 2 * handSize; i++) hash ^= zobrist.hand[i * n + hands[i]];
+        placed = 0;
+        lastCaptureMask = 0;
+        Arrays.fill(cellModifier, 0);
+        Arrays.fill(elementCount, 0);
+        elementCount[Element.NEUTRAL.ordinal()] = 1;
+        if (tiles == null) {
+            Arrays.fill(this.tiles, Element.NEUTRAL.ordinal());
+        } else {
+            System.arraycopy(tiles, 0, this.tiles, 0, cells);
+        }
+        if (modifiers != null) buildModifiers();
+    }
+
+    /**
+     * Preenche a tabela de modificadores da regra ELEMENTAL: +1 para a carta do mesmo elemento da posição,
+     * -1 para qualquer outra carta em uma posição com elemento e 0 em posições sem elemento.
+     */
+    private void buildModifiers() {
+        int n = catalog.size();
+        for (int cell = 0; cell < cells; cell++) {
+            int tile = tiles[cell];
+            for (int card = 0; card < n; card++) {
+                modifiers[cell * n + card] = (byte) (tile == Element.NEUTRAL.ordinal() ? 0
+                        : catalog.element(card).ordinal() == tile ? 1 : -1);
+            }
+        }
+    }
+
+    /**
+     * Copia outro estado para este, sem alocar memória.
+     *
+     * @param other Estado de origem (deve usar o mesmo catálogo, as mesmas regras e a mesma geometria).
+     */
+    public void copyFrom(GameState other) {
+        System.arraycopy(other.board, 0, board, 0, cells);
+        owned[0] = other.owned[0];
+        owned[1] = other.owned[1];
+        System.arraycopy(other.cellSides, 0, cellSides, 0, cellSides.length);
+        System.arraycopy(other.cellModifier, 0, cellModifier, 0, cells);
+        System.arraycopy(other.cellElement, 0, cellElement, 0, cells);
+        System.arraycopy(other.elementCount, 0, elementCount, 0, elementCount.length);
+        if (!Arrays.equals(tiles, other.tiles)) {
+            System.arraycopy(other.tiles, 0, tiles, 0, cells);
+            if (modifiers != null) System.arraycopy(other.modifiers, 0, modifiers, 0, modifiers.length);
+        }
+        System.arraycopy(other.hands, 0, hands, 0, hands.length);
+        handCount[0] = other.handCount[0];
+        handCount[1] = other.handCount[1];
+        toMove = other.toMove;
+        hash = other.hash;
+        placed = other.placed;
+        lastCaptureMask = other.lastCaptureMask;
+    }
+
+    /**
+     * Restaura o estado de uma fotografia, sem alocar memória. Os lados, modificadores e contagens por elemento
+     * das cartas do tabuleiro são recalculados a partir das cartas e dos elementos das posições.
+     *
+     * @param snapshot Fotografia de um estado com o mesmo catálogo, as mesmas regras e a mesma geometria.
+     */
+    public void restore(Snapshot snapshot) {
+        if (!Arrays.equals(tiles, snapshot.tiles)) {
+            System.arraycopy(snapshot.tiles, 0, tiles, 0, cells);
+            if (modifiers != null) buildModifiers();
+        }
+        owned[0] = snapshot.owned0;
+        owned[1] = snapshot.owned1;
+        Arrays.fill(elementCount, 0);
+        elementCount[Element.NEUTRAL.ordinal()] = 1;
+        placed = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int card = snapshot.cardAt(cell);
+            board[cell] = card;
+            if (card < 0) {
+                cellModifier[cell] = 0;
+                cellElement[cell] = Element.NEUTRAL.ordinal();
+                continue;
+            }
+            int modifier = modifier(cell, card);
+            cellModifier[cell] = modifier;
+            for (int dir = 0; dir < 4; dir++) {
+                cellSides[cell * 4 + dir] = catalog.side(card, dir) + modifier;
+            }
+            int element = catalog.element(card).ordinal();
+            cellElement[cell] = element;
+            if (element != Element.NEUTRAL.ordinal()) elementCount[element]++;
+            placed++;
+        }
+        for (int p = 0; p < 2; p++) {
+            handCount[p] = 0;
+            for (int slot = 0; slot < handSize; slot++) {
+                int card = snapshot.handCard(p, slot);
+                hands[p * handSize + slot] = card;
+                if (card >= 0) handCount[p]++;
+            }
+        }
+        toMove = snapshot.toMove;
+        hash = snapshot.hash;
+        lastCaptureMask = snapshot.captureMask;
+        comboSize = 0;
+    }
+
+    /**
+     * Executa uma jogada do jogador da vez e resolve as capturas com o {@link RuleSet} da partida.
+     *
+     * @param slot Posição da carta na mão do jogador da vez.
+     * @param cell Posição vazia do tabuleiro.
+     * @return quantidade de cartas capturadas
+     */
+    public int play(int slot, int cell) {
+        int player = toMove;
+        int card = hands[player * handSize + slot];
+        if (card < 0 || board[cell] >= 0) {
+            throw new IllegalStateException("Jogada inválida: carta " + slot + " na posição " + cell);
+        }
+        hands[player * handSize + slot] = -1;
+        handCount[player]--;
+        board[cell] = card;
+        owned[player] |= 1L << cell;
+        int n = catalog.size();
+        hash ^= zobrist.hand[(player * handSize + slot) * n + card] ^ zobrist.board[(cell * n + card) * 2 + player] ^ zobrist.side;
+        int modifier = modifiers == null ? 0 : modifiers[cell * n + card];
+        cellModifier[cell] = modifier;
+        for (int dir = 0; dir < 4; dir++) {
+            cellSides[cell * 4 + dir] = catalog.side(card, dir) + modifier;
+        }
+        int element = catalog.element(card).ordinal();
+        cellElement[cell] = element;
+        if (element != Element.NEUTRAL.ordinal()) elementCount[element]++;
+        placed++;
+        toMove = 1 - player;
+        lastCaptureMask = 0;
+        comboSize = 0;
+        return rules.resolve(this, cell, player);
+    }
+
+    /**
+     * Retorna o valor efetivo de um lado da carta em uma posição ocupada.
+     *
+     * @param cell      Posição do tabuleiro.
+     * @param direction Direção do lado.
+     * @return valor do lado usado nas comparações
+     */
+    public int side(int cell, int direction) {
+        // ASCEND/DESCEND: cada outra carta do mesmo elemento no tabuleiro vale ±1 (scaleSign é 0 sem essas regras)
+        int value = cellSides[cell * 4 + direction] + scaleSign * (elementCount[cellElement[cell]] - 1);
+        return CLAMP[value + CLAMP_OFFSET];
+    }
+
+    /**
+     * Troca o dono de uma carta do tabuleiro durante a resolução de capturas.
+     *
+     * @param cell      Posição capturada.
+     * @param player    Novo dono.
+     * @param direction Direção a partir da carta jogada, ou -1 para capturas em cadeia.
+     * @param combo     Se a carta capturada deve ser enfileirada para o COMBO.
+     */
+    void capture(int cell, int player, int direction, boolean combo) {
+        owned[player] |= 1L << cell;
+        owned[1 - player] &= ~(1L << cell);
+        hash ^= zobrist.flip[cell * catalog.size() + board[cell]];
+        if (direction >= 0) lastCaptureMask |= 1 << direction;
+        if (combo) comboQueue[comboSize++] = cell;
+    }
+
+    /**
+     * Preenche um vetor com todas as jogadas válidas do jogador da vez.
+     *
+     * @param out Vetor de saída com pelo menos {@link #maxMoves()} posições.
+     * @return quantidade de jogadas escritas
+     */
+    public int legalMoves(int[] out) {
+        int count = 0;
+        int base = toMove * handSize;
+        for (int slot = 0; slot < handSize; slot++) {
+            if (hands[base + slot] < 0) continue;
+            for (int cell = 0; cell < cells; cell++) {
+                if (board[cell] < 0) out[count++] = move(slot, cell);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Verifica se a partida terminou (tabuleiro completo).
+     *
+     * @return {@code true} se não há mais posições vazias
+     */
+    public boolean isOver() {
+        return placed == cells;
+    }
+
+    /**
+     * Retorna a quantidade máxima de jogadas válidas em uma posição, para dimensionar o vetor de
+     * {@link #legalMoves(int[])}.
+     *
+     * @return tamanho da mão vezes a quantidade de posições
+     */
+    public int maxMoves() {
+        return handSize * cells;
+    }
+
+    /**
+     * Calcula a pontuação de um jogador: cartas suas no tabuleiro mais cartas ainda na mão.
+     *
+     * @param player Jogador (0 ou 1).
+     * @return pontuação do jogador
+     */
+    public int score(int player) {
+        return Long.bitCount(owned[player]) + handCount[player];
+    }
+
+    /**
+     * Retorna as posições do tabuleiro de um jogador.
+     *
+     * @param player Jogador (0 ou 1).
+     * @return máscara com o bit {@code 1L << cell} ligado para cada posição do jogador
+     */
+    public long ownedMask(int player) {
+        return owned[player];
+    }
+
+    /**
+     * Retorna o vencedor da partida.
+     *
+     * @return 0 ou 1 para o vencedor, ou -1 em caso de empate
+     */
+    public int winner() {
+        int diff = score(0) - score(1);
+        return diff > 0 ? 0 : diff < 0 ? 1 : -1;
+    }
+
+    /**
+     * Retorna o catálogo de cartas usado pelo estado.
+     *
+     * @return catálogo de cartas
+     */
+    public CardCatalog getCatalog() {
+        return this.catalog;
+    }
+
+    /**
+     * Retorna as regras da partida.
+     *
+     * @return conjunto de regras
+     */
+    public RuleSet getRules() {
+        return this.rules;
+    }
+
+    /**
+     * Retorna as dimensões do tabuleiro.
+     *
+     * @return geometria do tabuleiro
+     */
+    public BoardGeometry getGeometry() {
+        return this.geometry;
+    }
+
+    /**
+     * Retorna a quantidade de posições do tabuleiro.
+     *
+     * @return posições do tabuleiro
+     */
+    public int getCells() {
+        return this.cells;
+    }
+
+    /**
+     * Retorna a quantidade de cartas na mão de cada jogador no início da partida.
+     *
+     * @return tamanho da mão
+     */
+    public int getHandSize() {
+        return this.handSize;
+    }
+
+    /**
+     * Retorna a carta em uma posição do tabuleiro.
+     *
+     * @param cell Posição do tabuleiro.
+     * @return índice da carta no catálogo, ou -1 se vazia
+     */
+    public int cardAt(int cell) {
+        return board[cell];
+    }
+
+    /**
+     * Retorna o dono da carta em uma posição do tabuleiro.
+     *
+     * @param cell Posição do tabuleiro.
+     * @return 0 ou 1, ou -1 se vazia
+     */
+    public int ownerAt(int cell) {
+        return (owned[0] >> cell & 1) != 0 ? 0 : (owned[1] >> cell & 1) != 0 ? 1 : -1;
+    }
+
+    /**
+     * Retorna o elemento de uma posição do tabuleiro.
+     *
+     * @param cell Posição do tabuleiro.
+     * @return elemento da posição ({@link Element#NEUTRAL} se não houver)
+     */
+    public Element tileAt(int cell) {
+        return Element.values()[tiles[cell]];
+    }
+
+    /**
+     * Retorna o modificador que uma carta receberia se fosse jogada em uma posição.
+     *
+     * @param cell Posição do tabuleiro.
+     * @param card Índice da carta no catálogo.
+     * @return modificador (-1, 0 ou +1)
+     */
+    public int modifier(int cell, int card) {
+        return modifiers == null ? 0 : modifiers[cell * catalog.size() + card];
+    }
+
+    /**
+     * Retorna o modificador total (ELEMENTAL e ASCEND/DESCEND) da carta de uma posição ocupada do tabuleiro.
+     *
+     * @param cell Posição do tabuleiro.
+     * @return modificador da carta
+     */
+    public int modifierAt(int cell) {
+        return cellModifier[cell] + scaleSign * (elementCount[cellElement[cell]] - 1);
+    }
+
+    /**
+     * Retorna o modificador de ASCEND/DESCEND que uma carta ainda na mão receberia ao ser jogada.
+     *
+     * @param card Índice da carta no catálogo.
+     * @return modificador da carta (0 para cartas neutras ou sem essas regras)
+     */
+    public int handModifier(int card) {
+        int element = catalog.element(card).ordinal();
+        return element == Element.NEUTRAL.ordinal() ? 0 : scaleSign * elementCount[element];
+    }
+
+    /**
+     * Retorna a quantidade de cartas de um elemento no tabuleiro.
+     *
+     * @param element Elemento.
+     * @return número de cartas desse elemento
+     */
+    public int elementCount(Element element) {
+        return element == Element.NEUTRAL ? 0 : elementCount[element.ordinal()];
+    }
+
+    /**
+     * Retorna a carta em uma posição da mão de um jogador.
+     *
+     * @param player Jogador (0 ou 1).
+     * @param slot   Posição na mão.
+     * @return índice da carta no catálogo, ou -1 se já foi jogada
+     */
+    public int handCard(int player, int slot) {
+        return hands[player * handSize + slot];
+    }
+
+    /**
+     * Troca a carta de uma posição da mão que ainda não foi jogada, atualizando o hash. Usado pelas buscas que
+     * amostram a mão desconhecida do adversário.
+     *
+     * @param player Jogador (0 ou 1).
+     * @param slot   Posição na mão.
+     * @param card   Índice da nova carta no catálogo.
+     */
+    public void setHandCard(int player, int slot, int card) {
+        int i = player * handSize + slot;
+        if (hands[i] < 0) {
+            throw new IllegalStateException("A carta " + slot + " do jogador " + player + " já foi jogada");
+        }
+        int n = catalog.size();
+        hash ^= zobrist.hand[i * n + hands[i]] ^ zobrist.hand[i * n + card];
+        hands[i] = card;
+    }
+
+    /**
+     * Procura a posição de uma carta na mão de um jogador.
+     *
+     * @param player Jogador (0 ou 1).
+     * @param card   Índice da carta no catálogo.
+     * @return posição da carta na mão, ou -1 se ela não estiver na mão
+     */
+    public int slotOf(int player, int card) {
+        for (int slot = 0; slot < handSize; slot++) {
+            if (hands[player * handSize + slot] == card) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Retorna a quantidade de cartas restantes na mão de um jogador.
+     *
+     * @param player Jogador (0 ou 1).
+     * @return número de cartas na mão
+     */
+    public int handCount(int player) {
+        return handCount[player];
+    }
+
+    /**
+     * Retorna o hash de Zobrist da posição: cartas e donos no tabuleiro, cartas nas mãos e jogador da vez.
+     * Os elementos do tabuleiro (regra Elemental) não entram no hash, pois são fixos durante a partida.
+     *
+     * @return hash da posição
+     */
+    public long getHash() {
+        return this.hash;
+    }
+
+    /**
+     * Retorna o jogador da vez.
+     *
+     * @return 0 ou 1
+     */
+    public int getToMove() {
+        return this.toMove;
+    }
+
+    /**
+     * Retorna as direções em que a última jogada capturou diretamente uma carta vizinha
+     * (capturas em cadeia do COMBO não entram na máscara).
+     *
+     * @return máscara com o bit {@code 1 << direction} ligado para cada lado que capturou
+     */
+    public int getLastCaptureMask() {
+        return this.lastCaptureMask;
+    }
+
+    /**
+     * Retorna a quantidade de cartas já colocadas no tabuleiro.
+     *
+     * @return número de cartas no tabuleiro
+     */
+    public int getPlaced() {
+        return this.placed;
+    }
+}
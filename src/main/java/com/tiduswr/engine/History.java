@@ -0,0 +1,156 @@
+package com.tiduswr.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Histórico de uma partida como uma linha de {@link Snapshot}s, com desfazer, refazer e salto para qualquer
+ * jogada em tempo constante.
+ * <p>
+ * Desfazer apenas move o cursor; as fotografias seguintes continuam disponíveis para refazer até que uma jogada
+ * diferente seja registrada, quando elas são descartadas. Não é thread-safe.
+ * </p>
+ */
+public class History {
+
+    /**
+     * Fotografias da linha atual; o índice é o número da jogada.
+     */
+    private final List<Snapshot> line = new ArrayList<>();
+
+    /**
+     * Jogada exibida (índice em {@link #line}).
+     */
+    private int cursor;
+
+    /**
+     * Construtor da classe History.
+     *
+     * @param initial Estado no início da partida.
+     */
+    public History(GameState initial) {
+        line.add(Snapshot.of(initial));
+    }
+
+    /**
+     * Registra uma jogada feita a partir da fotografia atual, descartando as jogadas que poderiam ser refeitas.
+     *
+     * @param state Estado logo após a jogada.
+     * @param move  Jogada executada ({@link GameState#move(int, int)}).
+     * @return fotografia registrada
+     */
+    public Snapshot push(GameState state, int move) {
+        Snapshot next = current().next(state, move);
+        line.subList(cursor + 1, line.size()).clear();
+        line.add(next);
+        cursor++;
+        return next;
+    }
+
+    /**
+     * Volta uma jogada.
+     *
+     * @return fotografia anterior, ou null se já estiver no início
+     */
+    public Snapshot undo() {
+        return canUndo() ? line.get(--cursor) : null;
+    }
+
+    /**
+     * Avança uma jogada desfeita.
+     *
+     * @return fotografia seguinte, ou null se não houver jogada para refazer
+     */
+    public Snapshot redo() {
+        return canRedo() ? line.get(++cursor) : null;
+    }
+
+    /**
+     * Vai para uma jogada da linha atual.
+     *
+     * @param ply Número da jogada (0 é o início da partida).
+     * @return fotografia da jogada
+     * @throws IllegalArgumentException Se a jogada não existir na linha atual.
+     */
+    public Snapshot jumpTo(int ply) {
+        if (ply < 0 || ply >= line.size()) {
+            throw new IllegalArgumentException("Jogada fora do histórico: " + ply + " (0 a " + (line.size() - 1) + ")");
+        }
+        cursor = ply;
+        return line.get(ply);
+    }
+
+    /**
+     * Retorna a fotografia do início da partida.
+     *
+     * @return primeira fotografia
+     */
+    public Snapshot initial() {
+        return line.get(0);
+    }
+
+    /**
+     * Retorna a fotografia da última jogada da linha atual.
+     *
+     * @return última fotografia
+     */
+    public Snapshot last() {
+        return line.get(line.size() - 1);
+    }
+
+    /**
+     * Retorna as jogadas da linha atual, incluindo as que podem ser refeitas.
+     *
+     * @return jogadas em ordem ({@link GameState#move(int, int)})
+     */
+    public int[] getMoves() {
+        int[] moves = new int[line.size() - 1];
+        for (int i = 0; i < moves.length; i++) moves[i] = line.get(i + 1).getMove();
+        return moves;
+    }
+
+    /**
+     * Retorna a fotografia exibida.
+     *
+     * @return fotografia atual
+     */
+    public Snapshot current() {
+        return line.get(cursor);
+    }
+
+    /**
+     * Verifica se há jogada para desfazer.
+     *
+     * @return true se o cursor não estiver no início
+     */
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    /**
+     * Verifica se há jogada para refazer.
+     *
+     * @return true se o cursor não estiver na última jogada da linha
+     */
+    public boolean canRedo() {
+        return cursor < line.size() - 1;
+    }
+
+    /**
+     * Retorna o número da jogada exibida.
+     *
+     * @return índice do cursor
+     */
+    public int getCursor() {
+        return this.cursor;
+    }
+
+    /**
+     * Retorna a quantidade de jogadas da linha atual.
+     *
+     * @return última jogada disponível
+     */
+    public int getLastPly() {
+        return line.size() - 1;
+    }
+}
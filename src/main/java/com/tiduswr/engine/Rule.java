@@ -0,0 +1,25 @@
+package com.tiduswr.engine;
+
+/**
+ * Regras que podem compor um {@link RuleSet}.
+ */
+public enum Rule {
+    /** Captura a vizinha adversária cujo lado oposto é menor. Sempre ativa. */
+    BASIC,
+    /** Duas ou mais vizinhas com lados iguais aos da carta jogada são capturadas. */
+    SAME,
+    /** Duas ou mais vizinhas com a mesma soma de lados com a carta jogada são capturadas. */
+    PLUS,
+    /** Cartas capturadas por SAME ou PLUS aplicam a regra básica em cadeia. */
+    COMBO,
+    /** Posições do tabuleiro com elemento alteram em ±1 os lados da carta jogada nelas. */
+    ELEMENTAL,
+    /** Cada outra carta do mesmo elemento no tabuleiro aumenta em 1 os lados das cartas desse elemento. */
+    ASCEND,
+    /** Cada outra carta do mesmo elemento no tabuleiro diminui em 1 os lados das cartas desse elemento. */
+    DESCEND,
+    /** Inverte a comparação: o lado menor vence. */
+    REVERSE,
+    /** O lado 1 vence o lado A (10). */
+    FALLEN_ACE
+}
@@ -0,0 +1,252 @@
+package com.tiduswr.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Conjunto imutável de regras de uma partida, escolhido quando a partida começa.
+ * <p>
+ * Ao ser criado, o conjunto é compilado em um vetor com apenas as etapas de captura das regras ativas
+ * (na ordem SAME, PLUS, BASIC, COMBO) e em uma tabela {@code beats} que já incorpora REVERSE e FALLEN_ACE.
+ * Assim, cada jogada percorre só as etapas ligadas e compara lados com uma única consulta à tabela,
+ * e acrescentar variantes não deixa o caso comum mais lento.
+ * </p>
+ */
+public final class RuleSet {
+
+    /**
+     * Conjunto apenas com a regra básica.
+     */
+    public static final RuleSet BASIC = of(Rule.BASIC);
+
+    /**
+     * Regras usadas quando a opção {@code --rules} não é informada: a regra SAME, aplicada em toda jogada desde a
+     * primeira versão do jogo. Para jogar só com a regra básica, use {@code --rules=basic}.
+     */
+    public static final String DEFAULT_RULES = "same";
+
+    /**
+     * Conjunto padrão das partidas, com as regras de {@link #DEFAULT_RULES}.
+     */
+    public static final RuleSet DEFAULT = parse(DEFAULT_RULES);
+
+    /**
+     * Maior valor de um lado (A).
+     */
+    public static final int MAX_VALUE = 10;
+
+    /**
+     * Regras ativas.
+     */
+    private final Set<Rule> rules;
+
+    /**
+     * Etapas de captura das regras ativas, na ordem de aplicação.
+     */
+    private final CaptureStage[] stages;
+
+    /**
+     * Tabela de comparação: {@code beats[a * (MAX_VALUE + 1) + b]} indica se o lado {@code a} captura o lado {@code b}.
+     */
+    private final boolean[] beats = new boolean[(MAX_VALUE + 1) * (MAX_VALUE + 1)];
+
+    /**
+     * Construtor privado; use {@link #of(Collection)}.
+     *
+     * @param rules Regras ativas (incluindo BASIC).
+     */
+    private RuleSet(Set<Rule> rules) {
+        if (rules.contains(Rule.ASCEND) && rules.contains(Rule.DESCEND)) {
+            throw new IllegalArgumentException("As regras ASCEND e DESCEND não podem ser usadas juntas!");
+        }
+        this.rules = Collections.unmodifiableSet(rules);
+
+        boolean reverse = rules.contains(Rule.REVERSE);
+        boolean fallenAce = rules.contains(Rule.FALLEN_ACE);
+        for (int a = 0; a <= MAX_VALUE; a++) {
+            for (int b = 0; b <= MAX_VALUE; b++) {
+                boolean wins = reverse ? a < b : a > b;
+                if (fallenAce) wins |= reverse ? (a == MAX_VALUE && b == 1) : (a == 1 && b == MAX_VALUE);
+                beats[a * (MAX_VALUE + 1) + b] = wins;
+            }
+        }
+
+        List<CaptureStage> compiled = new ArrayList<>();
+        if (rules.contains(Rule.SAME)) compiled.add(this::same);
+        if (rules.contains(Rule.PLUS)) compiled.add(this::plus);
+        compiled.add(this::basic);
+        if (rules.contains(Rule.COMBO) && (rules.contains(Rule.SAME) || rules.contains(Rule.PLUS))) {
+            compiled.add(this::combo);
+        }
+        this.stages = compiled.toArray(new CaptureStage[0]);
+    }
+
+    /**
+     * Cria um conjunto com as regras informadas. A regra básica é sempre incluída.
+     *
+     * @param rules Regras desejadas.
+     * @return O conjunto compilado.
+     */
+    public static RuleSet of(Collection<Rule> rules) {
+        EnumSet<Rule> set = EnumSet.of(Rule.BASIC);
+        set.addAll(rules);
+        return new RuleSet(set);
+    }
+
+    /**
+     * Cria um conjunto com as regras informadas. A regra básica é sempre incluída.
+     *
+     * @param rules Regras desejadas.
+     * @return O conjunto compilado.
+     */
+    public static RuleSet of(Rule... rules) {
+        return of(List.of(rules));
+    }
+
+    /**
+     * Interpreta uma lista de regras separadas por vírgula (por exemplo {@code "same,plus,combo"}).
+     *
+     * @param text Lista de regras; vazia ou nula resulta em {@link #BASIC}.
+     * @return O conjunto compilado.
+     * @throws IllegalArgumentException Se alguma regra não existir.
+     */
+    public static RuleSet parse(String text) {
+        if (text == null || text.isBlank()) return BASIC;
+        List<Rule> rules = new ArrayList<>();
+        for (String name : text.split(",")) {
+            if (!name.isBlank()) rules.add(Rule.valueOf(name.trim().toUpperCase().replace('-', '_')));
+        }
+        return of(rules);
+    }
+
+    /**
+     * Verifica se uma regra está ativa.
+     *
+     * @param rule Regra.
+     * @return {@code true} se a regra faz parte do conjunto
+     */
+    public boolean has(Rule rule) {
+        return rules.contains(rule);
+    }
+
+    /**
+     * Retorna as regras ativas.
+     *
+     * @return conjunto imutável de regras
+     */
+    public Set<Rule> getRules() {
+        return this.rules;
+    }
+
+    /**
+     * Resolve as capturas de uma jogada aplicando as etapas compiladas em ordem.
+     *
+     * @param state  Estado da partida, já com a carta colocada.
+     * @param cell   Posição onde a carta foi jogada.
+     * @param player Jogador que fez a jogada.
+     * @return quantidade total de cartas capturadas
+     */
+    int resolve(GameState state, int cell, int player) {
+        int flips = 0;
+        for (CaptureStage stage : stages) {
+            flips += stage.apply(state, cell, player);
+        }
+        return flips;
+    }
+
+    /**
+     * Indica se o lado {@code a} captura o lado {@code b}.
+     *
+     * @param a Lado atacante.
+     * @param b Lado defensor.
+     * @return {@code true} se houver captura
+     */
+    boolean beats(int a, int b) {
+        return beats[a * (MAX_VALUE + 1) + b];
+    }
+
+    /**
+     * Etapa BASIC: captura cada vizinha adversária vencida pela comparação de lados.
+     */
+    private int basic(GameState s, int cell, int player) {
+        int flips = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            int n = s.neighbour(cell, dir);
+            if (n < 0 || (s.owned[1 - player] >> n & 1L) == 0) continue;
+            if (beats(s.side(cell, dir), s.side(n, (dir + 2) & 3))) {
+                s.capture(n, player, dir, false);
+                flips++;
+            }
+        }
+        return flips;
+    }
+
+    /**
+     * Etapa SAME: se duas ou mais vizinhas têm o lado oposto igual ao da carta jogada, as adversárias entre elas são capturadas.
+     */
+    private int same(GameState s, int cell, int player) {
+        int mask = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            int n = s.neighbour(cell, dir);
+            if (n >= 0 && s.board[n] >= 0 && s.side(cell, dir) == s.side(n, (dir + 2) & 3)) mask |= 1 << dir;
+        }
+        return Integer.bitCount(mask) >= 2 ? captureSpecial(s, cell, player, mask) : 0;
+    }
+
+    /**
+     * Etapa PLUS: vizinhas cuja soma de lados com a carta jogada se repete em outra vizinha são capturadas (as adversárias).
+     */
+    private int plus(GameState s, int cell, int player) {
+        int[] sums = s.plusSums;
+        for (int dir = 0; dir < 4; dir++) {
+            int n = s.neighbour(cell, dir);
+            sums[dir] = n >= 0 && s.board[n] >= 0 ? s.side(cell, dir) + s.side(n, (dir + 2) & 3) : -1 - dir;
+        }
+        int mask = 0;
+        for (int i = 0; i < 4; i++) {
+            for (int j = i + 1; j < 4; j++) {
+                if (sums[i] == sums[j]) mask |= (1 << i) | (1 << j);
+            }
+        }
+        return mask != 0 ? captureSpecial(s, cell, player, mask) : 0;
+    }
+
+    /**
+     * Captura as vizinhas adversárias das direções marcadas por SAME ou PLUS, enfileirando-as para o COMBO.
+     */
+    private int captureSpecial(GameState s, int cell, int player, int mask) {
+        int flips = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            if ((mask & (1 << dir)) == 0) continue;
+            int n = s.neighbour(cell, dir);
+            if ((s.owned[player] >> n & 1L) == 0) {
+                s.capture(n, player, dir, true);
+                flips++;
+            }
+        }
+        return flips;
+    }
+
+    /**
+     * Etapa COMBO: cada carta capturada por SAME ou PLUS aplica a regra básica sobre as suas vizinhas, em cadeia.
+     */
+    private int combo(GameState s, int cell, int player) {
+        int flips = 0;
+        while (s.comboSize > 0) {
+            int from = s.comboQueue[--s.comboSize];
+            for (int dir = 0; dir < 4; dir++) {
+                int n = s.neighbour(from, dir);
+                if (n < 0 || (s.owned[1 - player] >> n & 1L) == 0) continue;
+                if (beats(s.side(from, dir), s.side(n, (dir + 2) & 3))) {
+                    s.capture(n, player, -1, true);
+                    flips++;
+                }
+            }
+        }
+        return flips;
+    }
+}
@@ -0,0 +1,331 @@
+package com.tiduswr.engine;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Partida salva em um formato binário compacto e versionado.
+ * <p>
+ * Em vez de copiar o tabuleiro, o arquivo guarda o que determina a partida: jogadores (nome e cor), regras,
+ * dimensões do tabuleiro, semente dos elementos, quem começou, as mãos iniciais (ids das cartas) e a lista de
+ * jogadas com a jogada exibida. Cartas, donos e modificadores do tabuleiro são reconstruídos por
+ * {@link #replay(CardCatalog)}, que confere o resultado com o hash de Zobrist gravado, e o histórico de
+ * desfazer/refazer volta junto. Uma partida 3x3 completa ocupa menos de 100 bytes.
+ * </p>
+ * <p>
+ * Formato (big-endian), versão {@value #VERSION}: {@code "TT"}, versão (1 byte), máscara de regras (2), linhas e
+ * colunas (1 + 1), semente (8), primeiro jogador (1), para cada jogador nome em UTF-8 (2 + n) e cor RGB (3), ids das
+ * cartas das mãos (2 cada), quantidade de jogadas (1), jogadas como posição da mão e do tabuleiro (1 + 1 cada),
+ * jogada exibida (1) e hash da última jogada (8).
+ * </p>
+ */
+public final class SavedMatch {
+
+    /**
+     * Versão atual do formato.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Assinatura no início do arquivo.
+     */
+    private static final short MAGIC = ('T' << 8) | 'T';
+
+    /**
+     * Tamanho máximo aceito na leitura.
+     */
+    private static final int MAX_SIZE = 1 << 16;
+
+    /** Nomes dos jogadores 1 e 2. */
+    private final String[] names;
+    /** Cores dos jogadores 1 e 2 em RGB. */
+    private final int[] colors;
+    /** Regras da partida. */
+    private final RuleSet rules;
+    /** Dimensões do tabuleiro. */
+    private final BoardGeometry geometry;
+    /** Semente dos elementos do tabuleiro. */
+    private final long seed;
+    /** Jogador que fez a primeira jogada. */
+    private final int first;
+    /** Ids das cartas das mãos iniciais ({@code hands[player * handSize + slot]}). */
+    private final int[] hands;
+    /** Jogadas da partida, em ordem. */
+    private final int[] moves;
+    /** Jogada exibida. */
+    private final int cursor;
+    /** Hash de Zobrist depois da última jogada. */
+    private final long hash;
+
+    /**
+     * Construtor da classe SavedMatch.
+     *
+     * @param names    Nomes dos jogadores 1 e 2.
+     * @param colors   Cores dos jogadores em RGB ({@code 0xRRGGBB}).
+     * @param rules    Regras da partida.
+     * @param geometry Dimensões do tabuleiro.
+     * @param seed     Semente usada para sortear os elementos do tabuleiro.
+     * @param first    Jogador que fez a primeira jogada (0 ou 1).
+     * @param hands    Ids das cartas das mãos iniciais ({@code hands[player * handSize + slot]}).
+     * @param moves    Jogadas da partida ({@link GameState#move(int, int)}), em ordem.
+     * @param cursor   Jogada exibida (0 é o início da partida).
+     * @param hash     Hash de Zobrist do estado depois da última jogada.
+     */
+    public SavedMatch(String[] names, int[] colors, RuleSet rules, BoardGeometry geometry, long seed, int first,
+            int[] hands, int[] moves, int cursor, long hash) {
+        if (hands.length != 2 * geometry.getHandSize()) {
+            throw new IllegalArgumentException("As mãos precisam ter " + geometry.getHandSize() + " cartas cada");
+        }
+        if (cursor < 0 || cursor > moves.length) {
+            throw new IllegalArgumentException("Jogada exibida fora da partida: " + cursor);
+        }
+        this.names = names.clone();
+        this.colors = colors.clone();
+        this.rules = rules;
+        this.geometry = geometry;
+        this.seed = seed;
+        this.first = first;
+        this.hands = hands.clone();
+        this.moves = moves.clone();
+        this.cursor = cursor;
+        this.hash = hash;
+    }
+
+    /**
+     * Refaz a partida no motor a partir das mãos iniciais, conferindo o hash da última jogada.
+     *
+     * @param catalog Catálogo de cartas.
+     * @return estado depois da última jogada (não da jogada exibida)
+     * @throws IllegalArgumentException Se alguma carta não existir no catálogo, alguma jogada for inválida ou o
+     *                                  resultado não conferir com o arquivo.
+     */
+    public GameState replay(CardCatalog catalog) {
+        GameState state = new GameState(catalog, rules, geometry);
+        int handSize = geometry.getHandSize();
+        int[][] indices = new int[2][handSize];
+        for (int i = 0; i < hands.length; i++) {
+            int index = catalog.indexOfId(hands[i]);
+            if (index < 0) throw new IllegalArgumentException("Carta inexistente no catálogo: " + hands[i]);
+            indices[i / handSize][i % handSize] = index;
+        }
+        int[] tiles = rules.has(Rule.ELEMENTAL) ? GameState.randomTiles(geometry, new SplittableRandom(seed)) : null;
+        state.deal(indices[0], indices[1], first, tiles);
+        try {
+            for (int move : moves) state.play(GameState.moveSlot(move), GameState.moveCell(move));
+        } catch (IllegalStateException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Jogada inválida na partida salva", e);
+        }
+        if (state.getHash() != hash) {
+            throw new IllegalArgumentException("A partida salva não confere com o catálogo ou as regras atuais");
+        }
+        return state;
+    }
+
+    /**
+     * Grava a partida de forma atômica: escreve um arquivo temporário ao lado do destino com {@link FileChannel},
+     * força a escrita no disco e só então o move sobre o destino.
+     *
+     * @param path Arquivo de destino.
+     * @throws IOException Se a escrita falhar; o arquivo anterior, se existir, continua intacto.
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer buffer = encode();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Lê uma partida gravada por {@link #write(Path)}.
+     *
+     * @param path Arquivo da partida.
+     * @return partida lida
+     * @throws IOException Se o arquivo não puder ser lido ou não estiver no formato esperado.
+     */
+    public static SavedMatch read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > MAX_SIZE) throw new IOException("Arquivo de partida grande demais: " + path);
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // lê até o fim
+            }
+            buffer.flip();
+            return decode(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Arquivo de partida inválido: " + path, e);
+        }
+    }
+
+    /**
+     * Codifica a partida no formato binário.
+     *
+     * @return buffer pronto para leitura
+     */
+    public ByteBuffer encode() {
+        byte[][] encodedNames = new byte[2][];
+        int size = 3 + 2 + 2 + 8 + 1 + 2 * hands.length + 1 + 2 * moves.length + 1 + 8;
+        for (int p = 0; p < 2; p++) {
+            encodedNames[p] = names[p].getBytes(StandardCharsets.UTF_8);
+            size += 2 + encodedNames[p].length + 3;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putShort(MAGIC).put((byte) VERSION);
+        int mask = 0;
+        for (Rule rule : rules.getRules()) mask |= 1 << rule.ordinal();
+        buffer.putShort((short) mask);
+        buffer.put((byte) geometry.getRows()).put((byte) geometry.getCols());
+        buffer.putLong(seed).put((byte) first);
+        for (int p = 0; p < 2; p++) {
+            buffer.putShort((short) encodedNames[p].length).put(encodedNames[p]);
+            buffer.put((byte) (colors[p] >> 16)).put((byte) (colors[p] >> 8)).put((byte) colors[p]);
+        }
+        for (int card : hands) buffer.putShort((short) card);
+        buffer.put((byte) moves.length);
+        for (int move : moves) buffer.put((byte) GameState.moveSlot(move)).put((byte) GameState.moveCell(move));
+        buffer.put((byte) cursor).putLong(hash);
+        return buffer.flip();
+    }
+
+    /**
+     * Decodifica uma partida do formato binário.
+     *
+     * @param buffer Dados da partida.
+     * @return partida lida
+     * @throws IOException Se a assinatura ou a versão não forem reconhecidas.
+     */
+    public static SavedMatch decode(ByteBuffer buffer) throws IOException {
+        if (buffer.getShort() != MAGIC) throw new IOException("Assinatura de partida salva não reconhecida");
+        int version = buffer.get() & 0xFF;
+        if (version != VERSION) throw new IOException("Versão de partida salva não suportada: " + version);
+        int mask = buffer.getShort() & 0xFFFF;
+        Set<Rule> rules = EnumSet.noneOf(Rule.class);
+        for (Rule rule : Rule.values()) {
+            if ((mask >> rule.ordinal() & 1) != 0) rules.add(rule);
+        }
+        BoardGeometry geometry = BoardGeometry.of(buffer.get() & 0xFF, buffer.get() & 0xFF);
+        long seed = buffer.getLong();
+        int first = buffer.get() & 1;
+        String[] names = new String[2];
+        int[] colors = new int[2];
+        for (int p = 0; p < 2; p++) {
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            names[p] = new String(name, StandardCharsets.UTF_8);
+            colors[p] = (buffer.get() & 0xFF) << 16 | (buffer.get() & 0xFF) << 8 | buffer.get() & 0xFF;
+        }
+        int[] hands = new int[2 * geometry.getHandSize()];
+        for (int i = 0; i < hands.length; i++) hands[i] = buffer.getShort() & 0xFFFF;
+        int[] moves = new int[buffer.get() & 0xFF];
+        for (int i = 0; i < moves.length; i++) {
+            int slot = buffer.get() & 0xFF;
+            moves[i] = GameState.move(slot, buffer.get() & 0xFF);
+        }
+        int cursor = buffer.get() & 0xFF;
+        long hash = buffer.getLong();
+        return new SavedMatch(names, colors, RuleSet.of(rules), geometry, seed, first, hands, moves, cursor, hash);
+    }
+
+    /**
+     * Retorna os nomes dos jogadores 1 e 2.
+     *
+     * @return nomes
+     */
+    public String[] getNames() {
+        return names.clone();
+    }
+
+    /**
+     * Retorna as cores dos jogadores 1 e 2 em RGB.
+     *
+     * @return cores
+     */
+    public int[] getColors() {
+        return colors.clone();
+    }
+
+    /**
+     * Retorna as regras da partida.
+     *
+     * @return conjunto de regras
+     */
+    public RuleSet getRules() {
+        return this.rules;
+    }
+
+    /**
+     * Retorna as dimensões do tabuleiro.
+     *
+     * @return geometria
+     */
+    public BoardGeometry getGeometry() {
+        return this.geometry;
+    }
+
+    /**
+     * Retorna a semente dos elementos do tabuleiro.
+     *
+     * @return semente
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Retorna o jogador que fez a primeira jogada.
+     *
+     * @return 0 ou 1
+     */
+    public int getFirst() {
+        return this.first;
+    }
+
+    /**
+     * Retorna os ids das cartas da mão inicial de um jogador.
+     *
+     * @param player Jogador (0 ou 1).
+     * @return ids das cartas
+     */
+    public int[] getHand(int player) {
+        int handSize = geometry.getHandSize();
+        int[] hand = new int[handSize];
+        System.arraycopy(hands, player * handSize, hand, 0, handSize);
+        return hand;
+    }
+
+    /**
+     * Retorna as jogadas da partida.
+     *
+     * @return jogadas codificadas
+     */
+    public int[] getMoves() {
+        return moves.clone();
+    }
+
+    /**
+     * Retorna a jogada exibida quando a partida foi salva.
+     *
+     * @return número da jogada
+     */
+    public int getCursor() {
+        return this.cursor;
+    }
+}
@@ -0,0 +1,257 @@
+package com.tiduswr.engine;
+
+/**
+ * Fotografia imutável de um {@link GameState} em um ponto da partida, restaurável com
+ * {@link GameState#restore(Snapshot)}.
+ * <p>
+ * Cada jogada gera uma nova fotografia a partir da anterior ({@link #next(GameState, int)}) que compartilha com
+ * ela tudo o que não mudou: as mãos iniciais e os elementos do tabuleiro são os mesmos vetores em toda a partida, as
+ * mãos restantes são máscaras de posições e as cartas do tabuleiro ficam em uma camada compartilhada. Como uma
+ * posição do tabuleiro só recebe carta uma vez em cada linha de jogo, a nova carta é escrita na camada do pai, e cada
+ * fotografia só enxerga as posições da sua própria máscara de ocupação; a camada só é copiada quando outra linha
+ * (uma jogada diferente depois de desfazer) já usou aquela posição. Assim, uma jogada aloca apenas o objeto da
+ * fotografia.
+ * </p>
+ * <p>
+ * As fotografias podem ser lidas por qualquer thread, mas {@link #next(GameState, int)} deve ser chamado sempre
+ * pela mesma thread.
+ * </p>
+ */
+public final class Snapshot {
+
+    /**
+     * Cartas do tabuleiro compartilhadas entre fotografias de uma mesma linha de jogo.
+     */
+    static final class Layer {
+
+        /** Carta de cada posição (índice no catálogo), válida apenas nas posições ocupadas de cada fotografia. */
+        final int[] cards;
+
+        /** Posições já escritas por alguma fotografia que usa esta camada. */
+        long claimed;
+
+        Layer(int[] cards, long claimed) {
+            this.cards = cards;
+            this.claimed = claimed;
+        }
+    }
+
+    /**
+     * Fotografia anterior, ou null na primeira.
+     */
+    private final Snapshot parent;
+
+    /**
+     * Quantidade de jogadas desde a primeira fotografia.
+     */
+    private final int ply;
+
+    /**
+     * Jogada que levou a esta fotografia ({@link GameState#move(int, int)}), ou -1 na primeira.
+     */
+    private final int move;
+
+    /**
+     * Camada com as cartas do tabuleiro.
+     */
+    final Layer layer;
+
+    /**
+     * Posições ocupadas do tabuleiro (bit {@code 1L << cell}).
+     */
+    final long filled;
+
+    /**
+     * Posições do jogador 0.
+     */
+    final long owned0;
+
+    /**
+     * Posições do jogador 1.
+     */
+    final long owned1;
+
+    /**
+     * Mãos iniciais dos dois jogadores ({@code hands[player * handSize + slot]}), compartilhadas por toda a partida.
+     */
+    final int[] hands;
+
+    /**
+     * Posições da mão do jogador 0 que ainda têm carta.
+     */
+    final long hand0;
+
+    /**
+     * Posições da mão do jogador 1 que ainda têm carta.
+     */
+    final long hand1;
+
+    /**
+     * Elementos do tabuleiro, compartilhados por toda a partida.
+     */
+    final int[] tiles;
+
+    /**
+     * Hash de Zobrist da posição.
+     */
+    final long hash;
+
+    /**
+     * Jogador da vez.
+     */
+    final int toMove;
+
+    /**
+     * Direções em que a jogada capturou diretamente uma carta.
+     */
+    final int captureMask;
+
+    /**
+     * Construtor privado; use {@link #of(GameState)} e {@link #next(GameState, int)}.
+     */
+    private Snapshot(Snapshot parent, int ply, int move, Layer layer, long filled, GameState state, int[] hands,
+            long hand0, long hand1, int[] tiles) {
+        this.parent = parent;
+        this.ply = ply;
+        this.move = move;
+        this.layer = layer;
+        this.filled = filled;
+        this.owned0 = state.owned[0];
+        this.owned1 = state.owned[1];
+        this.hands = hands;
+        this.hand0 = hand0;
+        this.hand1 = hand1;
+        this.tiles = tiles;
+        this.hash = state.getHash();
+        this.toMove = state.getToMove();
+        this.captureMask = state.getLastCaptureMask();
+    }
+
+    /**
+     * Cria a primeira fotografia de uma partida, copiando o estado atual.
+     *
+     * @param state Estado da partida (normalmente logo após a distribuição).
+     * @return fotografia do estado
+     */
+    public static Snapshot of(GameState state) {
+        int cells = state.getCells();
+        int handSize = state.getHandSize();
+        int[] cards = new int[cells];
+        long filled = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            cards[cell] = state.cardAt(cell);
+            if (cards[cell] >= 0) filled |= 1L << cell;
+        }
+        int[] hands = new int[2 * handSize];
+        long[] remaining = new long[2];
+        for (int p = 0; p < 2; p++) {
+            for (int slot = 0; slot < handSize; slot++) {
+                hands[p * handSize + slot] = state.handCard(p, slot);
+                if (hands[p * handSize + slot] >= 0) remaining[p] |= 1L << slot;
+            }
+        }
+        int[] tiles = new int[cells];
+        for (int cell = 0; cell < cells; cell++) tiles[cell] = state.tileAt(cell).ordinal();
+        return new Snapshot(null, 0, -1, new Layer(cards, filled), filled, state, hands, remaining[0], remaining[1],
+                tiles);
+    }
+
+    /**
+     * Cria a fotografia seguinte, depois de uma jogada feita no estado a partir desta fotografia.
+     *
+     * @param state Estado logo após {@link GameState#play(int, int)}.
+     * @param move  Jogada executada ({@link GameState#move(int, int)}).
+     * @return nova fotografia, que compartilha com esta as partes que não mudaram
+     */
+    public Snapshot next(GameState state, int move) {
+        int cell = GameState.moveCell(move);
+        int slot = GameState.moveSlot(move);
+        Layer next = layer;
+        if ((next.claimed >> cell & 1L) != 0) {
+            // outra linha de jogo já usou esta posição na camada: copia apenas as cartas desta linha
+            next = new Layer(layer.cards.clone(), filled);
+        }
+        next.cards[cell] = state.cardAt(cell);
+        next.claimed |= 1L << cell;
+        long h0 = toMove == 0 ? hand0 & ~(1L << slot) : hand0;
+        long h1 = toMove == 1 ? hand1 & ~(1L << slot) : hand1;
+        return new Snapshot(this, ply + 1, move, next, filled | 1L << cell, state, hands, h0, h1, tiles);
+    }
+
+    /**
+     * Retorna a carta em uma posição do tabuleiro.
+     *
+     * @param cell Posição do tabuleiro.
+     * @return índice da carta no catálogo, ou -1 se vazia
+     */
+    public int cardAt(int cell) {
+        return (filled >> cell & 1L) != 0 ? layer.cards[cell] : -1;
+    }
+
+    /**
+     * Retorna o dono da carta de uma posição do tabuleiro.
+     *
+     * @param cell Posição do tabuleiro.
+     * @return 0 ou 1, ou -1 se a posição estiver vazia
+     */
+    public int ownerAt(int cell) {
+        return (owned0 >> cell & 1L) != 0 ? 0 : (owned1 >> cell & 1L) != 0 ? 1 : -1;
+    }
+
+    /**
+     * Retorna a carta em uma posição da mão de um jogador.
+     *
+     * @param player Jogador (0 ou 1).
+     * @param slot   Posição na mão.
+     * @return índice da carta no catálogo, ou -1 se já foi jogada
+     */
+    public int handCard(int player, int slot) {
+        long remaining = player == 0 ? hand0 : hand1;
+        return (remaining >> slot & 1L) != 0 ? hands[player * (hands.length / 2) + slot] : -1;
+    }
+
+    /**
+     * Retorna a fotografia anterior.
+     *
+     * @return fotografia anterior, ou null na primeira
+     */
+    public Snapshot getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Retorna a quantidade de jogadas desde a primeira fotografia.
+     *
+     * @return número da jogada
+     */
+    public int getPly() {
+        return this.ply;
+    }
+
+    /**
+     * Retorna a jogada que levou a esta fotografia.
+     *
+     * @return jogada codificada por {@link GameState#move(int, int)}, ou -1 na primeira
+     */
+    public int getMove() {
+        return this.move;
+    }
+
+    /**
+     * Retorna o jogador da vez.
+     *
+     * @return 0 ou 1
+     */
+    public int getToMove() {
+        return this.toMove;
+    }
+
+    /**
+     * Retorna o hash de Zobrist da posição.
+     *
+     * @return hash da posição
+     */
+    public long getHash() {
+        return this.hash;
+    }
+}
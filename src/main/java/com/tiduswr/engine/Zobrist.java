@@ -0,0 +1,71 @@
+package com.tiduswr.engine;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chaves aleatórias do hash de Zobrist de um {@link GameState}: uma por carta em cada posição e dono, uma por
+ * carta em cada posição da mão e uma para o jogador da vez. O hash de um estado é o XOR das chaves do que está
+ * nele, atualizado a cada jogada e captura com poucas operações.
+ * <p>
+ * As chaves dependem apenas da geometria e do tamanho do catálogo (semente fixa), então são compartilhadas por
+ * todos os estados equivalentes e são as mesmas entre execuções.
+ * </p>
+ */
+final class Zobrist {
+
+    /**
+     * Chaves já geradas, indexadas pela geometria e pelo tamanho do catálogo.
+     */
+    private static final Map<String, Zobrist> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Carta em uma posição com um dono ({@code board[(cell * cards + card) * 2 + owner]}).
+     */
+    final long[] board;
+
+    /**
+     * Troca de dono de uma carta em uma posição ({@code flip[cell * cards + card]}).
+     */
+    final long[] flip;
+
+    /**
+     * Carta em uma posição da mão ({@code hand[(player * handSize + slot) * cards + card]}).
+     */
+    final long[] hand;
+
+    /**
+     * Chave aplicada quando é a vez do jogador 1.
+     */
+    final long side;
+
+    /**
+     * Construtor privado; use {@link #of(BoardGeometry, int)}.
+     *
+     * @param geometry Dimensões do tabuleiro.
+     * @param cards    Tamanho do catálogo.
+     */
+    private Zobrist(BoardGeometry geometry, int cards) {
+        SplittableRandom random = new SplittableRandom(0x7A0B0157L);
+        int cells = geometry.getCells();
+        board = new long[cells * cards * 2];
+        flip = new long[cells * cards];
+        hand = new long[2 * geometry.getHandSize() * cards];
+        for (int i = 0; i < board.length; i++) board[i] = random.nextLong();
+        for (int i = 0; i < flip.length; i++) flip[i] = board[i * 2] ^ board[i * 2 + 1];
+        for (int i = 0; i < hand.length; i++) hand[i] = random.nextLong();
+        side = random.nextLong();
+    }
+
+    /**
+     * Retorna as chaves de uma geometria e um tamanho de catálogo.
+     *
+     * @param geometry Dimensões do tabuleiro.
+     * @param cards    Tamanho do catálogo.
+     * @return chaves compartilhadas
+     */
+    static Zobrist of(BoardGeometry geometry, int cards) {
+        return CACHE.computeIfAbsent(geometry + "/" + cards, k -> new Zobrist(geometry, cards));
+    }
+}
@@ -0,0 +1,30 @@
+package com.tiduswr.engine.ai;
+
+import com.tiduswr.engine.GameState;
+
+/**
+ * Interface para jogadores automáticos que escolhem jogadas sobre um {@link GameState}.
+ * <p>
+ * Implementações podem manter estado interno (gerador aleatório, tabelas de busca) e, por isso,
+ * não precisam ser seguras para uso entre threads: simulações paralelas criam um bot por thread.
+ * </p>
+ */
+public interface Bot {
+
+    /**
+     * Escolhe a jogada do jogador da vez. O estado recebido não deve ser modificado.
+     *
+     * @param state Estado atual da partida.
+     * @return jogada codificada com {@link GameState#move(int, int)}
+     */
+    int chooseMove(GameState state);
+
+    /**
+     * Retorna o nome do bot, usado em relatórios.
+     *
+     * @return nome do bot
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,54 @@
+package com.tiduswr.engine.ai;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+/**
+ * Registro dos bots disponíveis para as ferramentas em lote, indexados por nome.
+ */
+public class Bots {
+
+    /**
+     * Fábrica de cada bot, recebendo a semente do gerador aleatório.
+     */
+    private static final Map<String, LongFunction<Bot>> FACTORIES = new LinkedHashMap<>();
+
+    static {
+        FACTORIES.put("random", RandomBot::new);
+        FACTORIES.put("greedy", GreedyBot::new);
+        FACTORIES.put("deepening", DeepeningBot::new);
+        FACTORIES.put("determinized", DeterminizedBot::new);
+    }
+
+    /**
+     * Construtor privado, pois a classe só possui métodos estáticos.
+     */
+    private Bots() {}
+
+    /**
+     * Cria um bot pelo nome.
+     *
+     * @param name Nome do bot (por exemplo, {@code greedy}).
+     * @param seed Semente do bot.
+     * @return O bot criado.
+     * @throws IllegalArgumentException Se não houver bot com esse nome.
+     */
+    public static Bot create(String name, long seed) {
+        LongFunction<Bot> factory = FACTORIES.get(name.trim().toLowerCase());
+        if (factory == null) {
+            throw new IllegalArgumentException("Bot desconhecido: " + name + " (disponíveis: " + names() + ")");
+        }
+        return factory.apply(seed);
+    }
+
+    /**
+     * Retorna os nomes dos bots registrados.
+     *
+     * @return nomes dos bots, na ordem de registro
+     */
+    public static Set<String> names() {
+        return FACTORIES.keySet();
+    }
+}
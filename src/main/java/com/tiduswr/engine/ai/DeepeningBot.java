@@ -0,0 +1,154 @@
+package com.tiduswr.engine.ai;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.tiduswr.engine.GameState;
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+
+/**
+ * Bot de aprofundamento iterativo: resolve a posição com {@link Solver#deepen(GameState, long)} até o fim da
+ * partida ou até o prazo da jogada, e devolve a melhor jogada da última profundidade completa. As folhas são
+ * avaliadas por {@link Evaluation#positional}.
+ * <p>
+ * A tabela de transposição é mantida entre as jogadas da mesma partida (cada iteração também ordena a seguinte) e
+ * esvaziada quando uma nova partida começa. A profundidade alcançada e os nós visitados na última jogada ficam em
+ * {@link #getLastDepth()} e {@link #getLastNodes()}.
+ * </p>
+ * <p>
+ * {@link #chooseMove(GameState)} busca na thread de quem chama, como os demais bots; {@link #submit(GameState)}
+ * busca em uma thread própria do bot, para uso pela interface.
+ * </p>
+ */
+public class DeepeningBot implements Bot {
+
+    /**
+     * Prazo padrão de cada jogada, em milissegundos.
+     */
+    public static final long DEFAULT_BUDGET_MS = 50;
+
+    /**
+     * Latência de cada jogada.
+     */
+    private static final LatencyHistogram moveLatency = MetricsRegistry.getInstance().histogram("ai.deepening.move");
+
+    /**
+     * Busca usada em todas as jogadas.
+     */
+    private final Solver solver = new Solver(18, Evaluation::positional);
+
+    /**
+     * Prazo de cada jogada, em nanossegundos.
+     */
+    private final long budgetNanos;
+
+    /**
+     * Thread própria do bot, criada no primeiro {@link #submit(GameState)}.
+     */
+    private ExecutorService executor;
+
+    /**
+     * Vetor reaproveitado para a jogada de reserva.
+     */
+    private int[] moves = new int[0];
+
+    /**
+     * Quantidade de cartas no tabuleiro na jogada anterior, para detectar uma nova partida.
+     */
+    private int lastPlaced = Integer.MAX_VALUE;
+
+    /**
+     * Profundidade completa na última jogada.
+     */
+    private volatile int lastDepth;
+
+    /**
+     * Nós visitados na última jogada.
+     */
+    private volatile long lastNodes;
+
+    /**
+     * Construtor da classe DeepeningBot com o prazo padrão de {@value #DEFAULT_BUDGET_MS} ms.
+     *
+     * @param seed Semente (não usada; a busca é determinística).
+     */
+    public DeepeningBot(long seed) {
+        this(seed, DEFAULT_BUDGET_MS);
+    }
+
+    /**
+     * Construtor da classe DeepeningBot.
+     *
+     * @param seed     Semente (não usada; a busca é determinística).
+     * @param budgetMs Prazo de cada jogada, em milissegundos.
+     */
+    public DeepeningBot(long seed, long budgetMs) {
+        if (budgetMs <= 0) throw new IllegalArgumentException("O prazo deve ser positivo: " + budgetMs);
+        this.budgetNanos = budgetMs * 1_000_000L;
+    }
+
+    @Override
+    public int chooseMove(GameState state) {
+        long start = System.nanoTime();
+        if (state.getPlaced() <= lastPlaced) solver.clear();
+        lastPlaced = state.getPlaced();
+        solver.resetNodes();
+        int best = solver.deepen(state, start + budgetNanos);
+        if (best < 0) {
+            if (moves.length < state.maxMoves()) moves = new int[state.maxMoves()];
+            state.legalMoves(moves);
+            best = moves[0];
+        }
+        lastDepth = solver.getLastDepth();
+        lastNodes = solver.getNodes();
+        moveLatency.recordSince(start);
+        return best;
+    }
+
+    /**
+     * Escolhe a jogada na thread própria do bot, sobre uma cópia do estado.
+     *
+     * @param state Estado atual da partida (pode ser modificado assim que o método retorna).
+     * @return jogada codificada com {@link GameState#move(int, int)}, disponível em até o prazo da jogada
+     */
+    public synchronized Future<Integer> submit(GameState state) {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "ai-search");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        GameState snapshot = new GameState(state.getCatalog(), state.getRules(), state.getGeometry());
+        snapshot.copyFrom(state);
+        return executor.submit(() -> chooseMove(snapshot));
+    }
+
+    /**
+     * Encerra a thread própria do bot, se ela tiver sido criada.
+     */
+    public synchronized void close() {
+        if (executor != null) executor.shutdownNow();
+        executor = null;
+    }
+
+    /**
+     * Retorna a profundidade completa na última jogada.
+     *
+     * @return profundidade em jogadas
+     */
+    public int getLastDepth() {
+        return this.lastDepth;
+    }
+
+    /**
+     * Retorna os nós visitados na última jogada.
+     *
+     * @return nós visitados
+     */
+    public long getLastNodes() {
+        return this.lastNodes;
+    }
+}
@@ -0,0 +1,256 @@
+package com.tiduswr.engine.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.tiduswr.engine.CardQuery;
+import com.tiduswr.engine.GameState;
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+
+/**
+ * Bot para mãos fechadas: não olha a mão do adversário. A cada jogada, sorteia várias mãos possíveis para o
+ * adversário a partir do catálogo, resolve cada amostra com {@link Solver#deepen(GameState, long)} como se as mãos
+ * fossem abertas e escolhe a jogada mais votada entre as amostras (desempate pela soma dos valores).
+ * <p>
+ * As amostras são resolvidas em paralelo por um conjunto de threads compartilhado pelos bots deste tipo, cada uma
+ * com o seu {@link Solver}, até o prazo da jogada; com uma única tarefa, a busca roda na thread de quem chama. Cada
+ * amostra tem uma fatia de {@value #SLICE_MS} ms, então a quantidade de amostras cresce com o prazo e com o número
+ * de tarefas (até {@value #MAX_SAMPLES}). No fim da partida, quando as amostras se resolvem rapidamente, a busca
+ * termina antes do prazo.
+ * </p>
+ * <p>
+ * Por padrão, como na distribuição da interface ({@link com.tiduswr.engine.Dealer} sem reposição), cada carta
+ * existe uma única vez e as amostras excluem as cartas já vistas (tabuleiro e mão própria). Sem {@code distinct},
+ * as cartas das mãos são sorteadas do catálogo inteiro, com reposição.
+ * </p>
+ */
+public class DeterminizedBot implements Bot {
+
+    /**
+     * Prazo padrão de cada jogada, em milissegundos.
+     */
+    public static final long DEFAULT_BUDGET_MS = 200;
+
+    /**
+     * Tempo máximo de busca de cada amostra, em milissegundos.
+     */
+    public static final long SLICE_MS = 5;
+
+    /**
+     * Quantidade máxima de amostras por jogada.
+     */
+    public static final int MAX_SAMPLES = 1024;
+
+    /**
+     * Latência de cada jogada.
+     */
+    private static final LatencyHistogram moveLatency = MetricsRegistry.getInstance().histogram("ai.determinized.move");
+
+    /**
+     * Threads compartilhadas que resolvem amostras, uma por processador.
+     */
+    private static final ExecutorService SAMPLERS = createExecutor();
+
+    /**
+     * Solver de cada thread, reaproveitado entre amostras e jogadas.
+     */
+    private static final ThreadLocal<Solver> SOLVERS = ThreadLocal.withInitial(() -> new Solver(16, Evaluation::positional));
+
+    /**
+     * Gerador das amostras; cada thread recebe um gerador derivado dele a cada jogada.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Prazo de cada jogada, em nanossegundos.
+     */
+    private final long budgetNanos;
+
+    /**
+     * Quantidade de tarefas paralelas que resolvem amostras em cada jogada.
+     */
+    private final int threads;
+
+    /**
+     * Indica se as cartas são únicas (amostras sem as cartas já vistas).
+     */
+    private final boolean distinct;
+
+    /**
+     * Vetor reaproveitado para a jogada de reserva.
+     */
+    private int[] moves = new int[0];
+
+    /**
+     * Amostras resolvidas na última jogada.
+     */
+    private volatile int lastSamples;
+
+    /**
+     * Construtor da classe DeterminizedBot com o prazo padrão, uma thread por processador e cartas únicas.
+     *
+     * @param seed Semente do sorteio das amostras.
+     */
+    public DeterminizedBot(long seed) {
+        this(seed, DEFAULT_BUDGET_MS, Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Construtor da classe DeterminizedBot.
+     *
+     * @param seed     Semente do sorteio das amostras.
+     * @param budgetMs Prazo de cada jogada, em milissegundos.
+     * @param threads  Quantidade de tarefas paralelas que resolvem amostras (1 para buscar na thread de quem chama).
+     * @param distinct Se as cartas são únicas, excluindo das amostras as cartas já vistas.
+     */
+    public DeterminizedBot(long seed, long budgetMs, int threads, boolean distinct) {
+        if (budgetMs <= 0) throw new IllegalArgumentException("O prazo deve ser positivo: " + budgetMs);
+        if (threads <= 0) throw new IllegalArgumentException("Quantidade de threads inválida: " + threads);
+        this.random = new SplittableRandom(seed);
+        this.budgetNanos = budgetMs * 1_000_000L;
+        this.threads = threads;
+        this.distinct = distinct;
+    }
+
+    @Override
+    public int chooseMove(GameState state) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int[] pool = candidates(state);
+        int size = state.getHandSize() << 8;
+        AtomicIntegerArray votes = new AtomicIntegerArray(size);
+        AtomicLongArray values = new AtomicLongArray(size);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger solved = new AtomicInteger();
+
+        List<Future<?>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom workerRandom = random.split();
+            int[] workerPool = pool.clone();
+            Runnable task = () -> {
+                Solver solver = SOLVERS.get();
+                GameState sample = new GameState(state.getCatalog(), state.getRules(), state.getGeometry());
+                while (started.getAndIncrement() < MAX_SAMPLES && System.nanoTime() - deadline < 0) {
+                    sample.copyFrom(state);
+                    determinize(sample, workerPool, workerRandom);
+                    long sliceEnd = System.nanoTime() + SLICE_MS * 1_000_000L;
+                    int move = solver.deepen(sample, sliceEnd - deadline < 0 ? sliceEnd : deadline);
+                    if (move < 0) break;
+                    votes.incrementAndGet(move);
+                    values.addAndGet(move, solver.getLastValue());
+                    solved.incrementAndGet();
+                }
+            };
+            if (threads == 1) {
+                task.run();
+            } else {
+                workers.add(SAMPLERS.submit(task));
+            }
+        }
+        try {
+            for (Future<?> worker : workers) worker.get();
+        } catch (InterruptedException e) {
+            workers.forEach(w -> w.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Busca interrompida");
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        int best = -1;
+        for (int move = 0; move < size; move++) {
+            int v = votes.get(move);
+            if (v == 0) continue;
+            if (best < 0 || v > votes.get(best) || v == votes.get(best) && values.get(move) > values.get(best)) {
+                best = move;
+            }
+        }
+        if (best < 0) {
+            if (moves.length < state.maxMoves()) moves = new int[state.maxMoves()];
+            state.legalMoves(moves);
+            best = moves[0];
+        }
+        lastSamples = solved.get();
+        moveLatency.recordSince(start);
+        return best;
+    }
+
+    /**
+     * Substitui as cartas restantes na mão do adversário por cartas sorteadas do conjunto de candidatas.
+     *
+     * @param sample Cópia do estado a modificar.
+     * @param pool   Cartas candidatas (índices no catálogo); embaralhado parcialmente quando as cartas são únicas.
+     * @param random Gerador da thread.
+     */
+    private void determinize(GameState sample, int[] pool, SplittableRandom random) {
+        int opponent = 1 - sample.getToMove();
+        boolean unique = distinct && pool.length >= sample.handCount(opponent);
+        int drawn = 0;
+        for (int slot = 0; slot < sample.getHandSize(); slot++) {
+            if (sample.handCard(opponent, slot) < 0) continue;
+            int card;
+            if (unique) {
+                int j = drawn + random.nextInt(pool.length - drawn);
+                card = pool[j];
+                pool[j] = pool[drawn];
+                pool[drawn++] = card;
+            } else {
+                card = pool[random.nextInt(pool.length)];
+            }
+            sample.setHandCard(opponent, slot, card);
+        }
+    }
+
+    /**
+     * Retorna as cartas que o adversário pode ter na mão: todo o catálogo, ou, com cartas únicas, o catálogo sem
+     * as cartas do tabuleiro e da mão do jogador da vez.
+     *
+     * @param state Estado da partida.
+     * @return índices no catálogo
+     */
+    private int[] candidates(GameState state) {
+        CardQuery query = state.getCatalog().query();
+        if (distinct) {
+            for (int cell = 0; cell < state.getCells(); cell++) query.excluding(state.cardAt(cell));
+            for (int slot = 0; slot < state.getHandSize(); slot++) {
+                query.excluding(state.handCard(state.getToMove(), slot));
+            }
+        }
+        if (query.isEmpty()) {
+            // todas as cartas já foram vistas: as amostras voltam a usar o catálogo inteiro
+            query.reset();
+        }
+        return query.toArray();
+    }
+
+    /**
+     * Cria as threads compartilhadas que resolvem amostras.
+     */
+    private static ExecutorService createExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread thread = new Thread(r, "ai-determinized-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Retorna a quantidade de amostras resolvidas na última jogada.
+     *
+     * @return amostras resolvidas
+     */
+    public int getLastSamples() {
+        return this.lastSamples;
+    }
+}
@@ -0,0 +1,61 @@
+package com.tiduswr.engine.ai;
+
+import com.tiduswr.engine.GameState;
+
+/**
+ * Funções de avaliação de posições para o {@link Solver}, sempre do ponto de vista do jogador da vez.
+ */
+public final class Evaluation {
+
+    /**
+     * Peso de cada ponto de diferença na avaliação posicional.
+     */
+    public static final int POINT = 32;
+
+    /**
+     * Valor de lado considerado neutro: lados maiores virados para posições vazias contam a favor do dono da
+     * carta, e lados menores contam contra.
+     */
+    private static final int PIVOT = 5;
+
+    /**
+     * Construtor privado, pois a classe só possui métodos estáticos.
+     */
+    private Evaluation() {}
+
+    /**
+     * Diferença de pontuação (jogador da vez menos adversário).
+     *
+     * @param state Posição avaliada.
+     * @return diferença de pontuação
+     */
+    public static int score(GameState state) {
+        int player = state.getToMove();
+        return state.score(player) - state.score(1 - player);
+    }
+
+    /**
+     * Diferença de pontuação com peso {@link #POINT}, somada à exposição das cartas do tabuleiro quando a partida
+     * não terminou: cada lado virado para uma posição vazia conta o seu valor menos {@value #PIVOT}, a favor do dono
+     * da carta. Lados na borda ou encostados em outras cartas não contam.
+     *
+     * @param state Posição avaliada.
+     * @return avaliação da posição
+     */
+    public static int positional(GameState state) {
+        int player = state.getToMove();
+        int value = POINT * (state.score(player) - state.score(1 - player));
+        if (state.isOver()) return value;
+        int cells = state.getCells();
+        for (int cell = 0; cell < cells; cell++) {
+            if (state.cardAt(cell) < 0) continue;
+            int exposure = 0;
+            for (int dir = 0; dir < 4; dir++) {
+                int n = state.neighbour(cell, dir);
+                if (n >= 0 && state.cardAt(n) < 0) exposure += state.side(cell, dir) - PIVOT;
+            }
+            value += state.ownerAt(cell) == player ? exposure : -exposure;
+        }
+        return value;
+    }
+}
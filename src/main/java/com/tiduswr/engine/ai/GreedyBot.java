@@ -0,0 +1,60 @@
+package com.tiduswr.engine.ai;
+
+import java.util.SplittableRandom;
+
+import com.tiduswr.engine.GameState;
+
+/**
+ * Bot guloso: escolhe a jogada que mais captura cartas imediatamente, desempatando de forma aleatória.
+ */
+public class GreedyBot implements Bot {
+
+    /**
+     * Gerador de números aleatórios usado nos desempates.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Vetor reaproveitado para listar as jogadas válidas.
+     */
+    private int[] moves = new int[0];
+
+    /**
+     * Estado auxiliar reaproveitado para simular cada jogada.
+     */
+    private GameState scratch;
+
+    /**
+     * Construtor da classe GreedyBot.
+     *
+     * @param seed Semente do gerador aleatório.
+     */
+    public GreedyBot(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseMove(GameState state) {
+        if (scratch == null || scratch.getCatalog() != state.getCatalog() || scratch.getRules() != state.getRules()
+                || !scratch.getGeometry().equals(state.getGeometry())) {
+            scratch = new GameState(state.getCatalog(), state.getRules(), state.getGeometry());
+        }
+        if (moves.length < state.maxMoves()) moves = new int[state.maxMoves()];
+        int count = state.legalMoves(moves);
+        int best = moves[0];
+        int bestFlips = -1;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            scratch.copyFrom(state);
+            int flips = scratch.play(GameState.moveSlot(moves[i]), GameState.moveCell(moves[i]));
+            if (flips > bestFlips) {
+                bestFlips = flips;
+                best = moves[i];
+                ties = 1;
+            } else if (flips == bestFlips && random.nextInt(++ties) == 0) {
+                best = moves[i];
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,37 @@
+package com.tiduswr.engine.ai;
+
+import java.util.SplittableRandom;
+
+import com.tiduswr.engine.GameState;
+
+/**
+ * Bot que escolhe uma jogada válida de forma uniformemente aleatória.
+ */
+public class RandomBot implements Bot {
+
+    /**
+     * Gerador de números aleatórios do bot.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Vetor reaproveitado para listar as jogadas válidas.
+     */
+    private int[] moves = new int[0];
+
+    /**
+     * Construtor da classe RandomBot.
+     *
+     * @param seed Semente do gerador aleatório.
+     */
+    public RandomBot(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseMove(GameState state) {
+        if (moves.length < state.maxMoves()) moves = new int[state.maxMoves()];
+        int count = state.legalMoves(moves);
+        return moves[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,401 @@
+package com.tiduswr.engine.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.ToIntFunction;
+
+import com.tiduswr.engine.GameState;
+
+/**
+ * Busca negamax com poda alfa-beta e tabela de transposição indexada pelo hash de Zobrist do {@link GameState}.
+ * <p>
+ * O valor de uma posição é dado por uma função de avaliação do ponto de vista do jogador da vez, aplicada ao fim
+ * da partida ou no limite de profundidade; por padrão, a diferença de pontuação ({@link Evaluation#score}). A busca
+ * supõe que os dois jogadores conhecem todas as cartas (mãos abertas). Cartas repetidas na mesma mão geram apenas
+ * uma jogada, e a melhor jogada guardada na tabela é sempre tentada primeiro.
+ * </p>
+ * <p>
+ * Não é thread-safe: cada thread deve usar o seu próprio {@code Solver}. A tabela persiste entre chamadas, então
+ * posições já vistas em buscas anteriores da mesma partida são resolvidas de imediato. A busca verifica a
+ * interrupção da thread a cada {@value #CHECK_INTERVAL} nós e lança {@link CancellationException} se ela tiver
+ * sido interrompida ou se o prazo definido em {@link #setDeadline(long)} tiver passado.
+ * </p>
+ */
+public class Solver {
+
+    /** Valor da entrada: exato. */
+    private static final int EXACT = 0;
+    /** Valor da entrada: limite inferior (houve corte beta). */
+    private static final int LOWER = 1;
+    /** Valor da entrada: limite superior (nenhuma jogada superou alfa). */
+    private static final int UPPER = 2;
+
+    /** Valor maior que qualquer diferença de pontuação. */
+    private static final int INFINITY = 1 << 14;
+
+    /** Quantidade de nós entre verificações de interrupção. */
+    private static final int CHECK_INTERVAL = 1 << 10;
+
+    /**
+     * Hash completo de cada entrada da tabela de transposição.
+     */
+    private final long[] keys;
+
+    /**
+     * Entrada da tabela empacotada: valor (16 bits), tipo (2 bits), profundidade (8 bits) e jogada (16 bits).
+     */
+    private final long[] entries;
+
+    /**
+     * Máscara de índice da tabela.
+     */
+    private final int mask;
+
+    /**
+     * Função de avaliação das folhas, do ponto de vista do jogador da vez.
+     */
+    private final ToIntFunction<GameState> evaluation;
+
+    /**
+     * Instante ({@link System#nanoTime()}) em que a busca deve parar, se {@link #timed}.
+     */
+    private long deadline;
+
+    /**
+     * Indica se há prazo para a busca.
+     */
+    private boolean timed;
+
+    /**
+     * Estados reaproveitados, um por nível da busca.
+     */
+    private GameState[] stack;
+
+    /**
+     * Vetores de jogadas reaproveitados, um por nível da busca.
+     */
+    private int[][] moveStack;
+
+    /**
+     * Nós visitados desde a criação ou a última chamada de {@link #resetNodes()}.
+     */
+    private long nodes;
+
+    /**
+     * Valor da última raiz resolvida por {@link #bestMove(GameState, int, int)}.
+     */
+    private int lastValue;
+
+    /**
+     * Profundidade completa na última chamada de {@link #deepen(GameState, long)}.
+     */
+    private int lastDepth;
+
+    /**
+     * Construtor da classe Solver com uma tabela de 2^20 entradas (16 MiB), avaliando pela diferença de pontuação.
+     */
+    public Solver() {
+        this(20, Evaluation::score);
+    }
+
+    /**
+     * Construtor da classe Solver.
+     *
+     * @param tableBits  Logaritmo na base 2 da quantidade de entradas da tabela de transposição.
+     * @param evaluation Função de avaliação das folhas, do ponto de vista do jogador da vez; o resultado deve caber
+     *                   em 15 bits com sinal.
+     */
+    public Solver(int tableBits, ToIntFunction<GameState> evaluation) {
+        this.evaluation = evaluation;
+        this.keys = new long[1 << tableBits];
+        this.entries = new long[1 << tableBits];
+        this.mask = (1 << tableBits) - 1;
+    }
+
+    /**
+     * Resolve a posição até o fim da partida.
+     *
+     * @param state Posição (não é modificada).
+     * @return valor final da posição do ponto de vista do jogador da vez
+     */
+    public int solve(GameState state) {
+        prepare(state);
+        return negamax(0, remaining(state), -INFINITY, INFINITY);
+    }
+
+    /**
+     * Procura a melhor jogada da posição até o fim da partida.
+     *
+     * @param state Posição (não é modificada).
+     * @return jogada codificada por {@link GameState#move(int, int)}
+     */
+    public int bestMove(GameState state) {
+        return bestMove(state, -1, remaining(state));
+    }
+
+    /**
+     * Procura a melhor jogada da posição. O valor da jogada escolhida fica em {@link #getLastValue()}.
+     *
+     * @param state Posição (não é modificada).
+     * @param slot  Posição da mão à qual a busca se restringe, ou -1 para qualquer carta.
+     * @param depth Profundidade máxima em jogadas; quando a partida não termina nesse limite, a folha é avaliada
+     *              pela função de avaliação.
+     * @return jogada codificada por {@link GameState#move(int, int)}
+     */
+    public int bestMove(GameState state, int slot, int depth) {
+        prepare(state);
+        GameState root = stack[0];
+        int[] moves = moveStack[0];
+        int count = root.legalMoves(moves);
+        moveToFront(moves, count, probeMove(root.getHash()));
+        GameState child = stack[1];
+        int alpha = -INFINITY;
+        int best = -1;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (slot >= 0 ? GameState.moveSlot(move) != slot : isDuplicate(root, GameState.moveSlot(move))) continue;
+            child.copyFrom(root);
+            child.play(GameState.moveSlot(move), GameState.moveCell(move));
+            int value = -negamax(1, Math.max(0, depth - 1), -INFINITY, -alpha);
+            if (value > alpha) {
+                alpha = value;
+                best = move;
+            }
+        }
+        lastValue = alpha;
+        if (slot < 0 && best >= 0) store(root.getHash(), alpha, EXACT, depth, best);
+        return best;
+    }
+
+    /**
+     * Aprofundamento iterativo: resolve a posição nas profundidades 1, 2, 3... até o fim da partida ou até o prazo
+     * e devolve a melhor jogada da última profundidade completa. Cada iteração ordena a seguinte pela tabela. A
+     * profundidade alcançada fica em {@link #getLastDepth()} e o valor da jogada em {@link #getLastValue()}.
+     *
+     * @param state    Posição (não é modificada).
+     * @param deadline Instante ({@link System#nanoTime()}) em que a busca deve parar.
+     * @return jogada codificada por {@link GameState#move(int, int)}, ou -1 se nenhuma profundidade terminou no prazo
+     */
+    public int deepen(GameState state, long deadline) {
+        return deepen(state, -1, deadline);
+    }
+
+    /**
+     * Aprofundamento iterativo restrito a uma carta da mão, como em {@link #bestMove(GameState, int, int)}.
+     *
+     * @param state    Posição (não é modificada).
+     * @param slot     Posição da mão à qual a busca se restringe, ou -1 para qualquer carta.
+     * @param deadline Instante ({@link System#nanoTime()}) em que a busca deve parar.
+     * @return jogada codificada por {@link GameState#move(int, int)}, ou -1 se nenhuma profundidade terminou no prazo
+     */
+    public int deepen(GameState state, int slot, long deadline) {
+        int remaining = remaining(state);
+        int best = -1;
+        int value = 0;
+        lastDepth = 0;
+        setDeadline(deadline);
+        try {
+            while (lastDepth < remaining) {
+                int move = bestMove(state, slot, lastDepth + 1);
+                if (move < 0) break;
+                best = move;
+                value = lastValue;
+                lastDepth++;
+            }
+        } catch (CancellationException e) {
+            // prazo esgotado ou thread interrompida: fica a última profundidade completa
+        } finally {
+            clearDeadline();
+        }
+        lastValue = value;
+        return best;
+    }
+
+    /**
+     * Negamax com poda alfa-beta sobre o estado {@code stack[ply]}.
+     */
+    private int negamax(int ply, int depth, int alpha, int beta) {
+        GameState state = stack[ply];
+        if ((++nodes & (CHECK_INTERVAL - 1)) == 0) checkStop();
+        if (state.isOver() || depth == 0) return evaluation.applyAsInt(state);
+
+        long key = state.getHash();
+        int index = (int) key & mask;
+        int ttMove = -1;
+        int alphaOrig = alpha;
+        if (keys[index] == key) {
+            long entry = entries[index];
+            int value = (int) (entry & 0xFFFF) - 0x8000;
+            int type = (int) (entry >>> 16) & 3;
+            int entryDepth = (int) (entry >>> 18) & 0xFF;
+            ttMove = (int) (entry >>> 26) & 0xFFFF;
+            if (entryDepth >= depth) {
+                if (type == EXACT) return value;
+                if (type == LOWER) alpha = Math.max(alpha, value);
+                else beta = Math.min(beta, value);
+                if (alpha >= beta) return value;
+            }
+        }
+
+        int[] moves = moveStack[ply];
+        int count = state.legalMoves(moves);
+        moveToFront(moves, count, ttMove);
+
+        GameState child = stack[ply + 1];
+        int best = -INFINITY;
+        int bestMove = moves[0];
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            if (isDuplicate(state, GameState.moveSlot(move))) continue;
+            child.copyFrom(state);
+            child.play(GameState.moveSlot(move), GameState.moveCell(move));
+            int value = -negamax(ply + 1, depth - 1, -beta, -alpha);
+            if (value > best) {
+                best = value;
+                bestMove = move;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+
+        store(key, best, best <= alphaOrig ? UPPER : best >= beta ? LOWER : EXACT, depth, bestMove);
+        return best;
+    }
+
+    /**
+     * Guarda o resultado de uma posição na tabela de transposição.
+     */
+    private void store(long key, int value, int type, int depth, int move) {
+        int index = (int) key & mask;
+        keys[index] = key;
+        entries[index] = (value + 0x8000L) | ((long) type << 16) | ((long) Math.min(depth, 0xFF) << 18)
+                | ((long) (move & 0xFFFF) << 26);
+    }
+
+    /**
+     * Lança {@link CancellationException} se a thread foi interrompida ou o prazo passou.
+     */
+    private void checkStop() {
+        if (Thread.currentThread().isInterrupted()) throw new CancellationException("Busca interrompida");
+        if (timed && System.nanoTime() - deadline > 0) throw new CancellationException("Prazo da busca esgotado");
+    }
+
+    /**
+     * Verifica se a carta de uma posição da mão já aparece em uma posição anterior da mesma mão,
+     * caso em que as suas jogadas são equivalentes às da primeira.
+     */
+    private static boolean isDuplicate(GameState state, int slot) {
+        int player = state.getToMove();
+        int card = state.handCard(player, slot);
+        for (int s = 0; s < slot; s++) {
+            if (state.handCard(player, s) == card) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Move uma jogada (a melhor guardada na tabela) para o início da lista, se ela estiver presente.
+     */
+    private static void moveToFront(int[] moves, int count, int move) {
+        if (move < 0) return;
+        for (int i = 1; i < count; i++) {
+            if (moves[i] == move) {
+                moves[i] = moves[0];
+                moves[0] = move;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retorna a melhor jogada guardada na tabela para um hash, ou -1 se não houver.
+     */
+    private int probeMove(long key) {
+        int index = (int) key & mask;
+        return keys[index] == key ? (int) (entries[index] >>> 26) & 0xFFFF : -1;
+    }
+
+    /**
+     * Copia a raiz para a pilha de estados, recriando a pilha se o catálogo, as regras ou a geometria mudarem.
+     */
+    private void prepare(GameState state) {
+        if (stack == null || stack[0].getCatalog() != state.getCatalog() || stack[0].getRules() != state.getRules()
+                || !stack[0].getGeometry().equals(state.getGeometry())) {
+            int levels = state.getCells() + 2;
+            stack = new GameState[levels];
+            moveStack = new int[levels][state.maxMoves()];
+            for (int i = 0; i < levels; i++) {
+                stack[i] = new GameState(state.getCatalog(), state.getRules(), state.getGeometry());
+            }
+        }
+        stack[0].copyFrom(state);
+    }
+
+    /**
+     * Retorna a quantidade de jogadas até o fim da partida.
+     */
+    private static int remaining(GameState state) {
+        return state.getCells() - state.getPlaced();
+    }
+
+    /**
+     * Define o instante em que as buscas seguintes devem parar.
+     *
+     * @param deadline Instante em {@link System#nanoTime()}.
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+        this.timed = true;
+    }
+
+    /**
+     * Remove o prazo das buscas.
+     */
+    public void clearDeadline() {
+        this.timed = false;
+    }
+
+    /**
+     * Esvazia a tabela de transposição.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+    }
+
+    /**
+     * Zera o contador de nós visitados.
+     */
+    public void resetNodes() {
+        nodes = 0;
+    }
+
+    /**
+     * Retorna a quantidade de nós visitados.
+     *
+     * @return nós visitados
+     */
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Retorna a profundidade completa na última chamada de {@link #deepen(GameState, long)}.
+     *
+     * @return profundidade em jogadas
+     */
+    public int getLastDepth() {
+        return this.lastDepth;
+    }
+
+    /**
+     * Retorna o valor da jogada escolhida na última chamada de {@link #bestMove(GameState, int, int)} ou
+     * {@link #deepen(GameState, long)}.
+     *
+     * @return valor da avaliação do ponto de vista de quem jogou
+     */
+    public int getLastValue() {
+        return this.lastValue;
+    }
+}
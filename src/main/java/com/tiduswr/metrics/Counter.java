@@ -0,0 +1,62 @@
+package com.tiduswr.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador monotônico baseado em {@link LongAdder}, barato de incrementar a partir de várias threads.
+ */
+public class Counter {
+
+    /**
+     * Nome do contador no registro de métricas.
+     */
+    private final String name;
+
+    /**
+     * Acumulador que armazena o valor do contador.
+     */
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Construtor da classe Counter.
+     *
+     * @param name Nome do contador.
+     */
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Incrementa o contador em 1.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Incrementa o contador pelo valor informado.
+     *
+     * @param delta Valor a ser somado.
+     */
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    /**
+     * Retorna o valor atual do contador.
+     *
+     * @return valor acumulado
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    /**
+     * Retorna o nome do contador.
+     *
+     * @return nome do contador
+     */
+    public String getName() {
+        return this.name;
+    }
+}
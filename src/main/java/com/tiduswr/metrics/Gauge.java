@@ -0,0 +1,48 @@
+package com.tiduswr.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Medidor que expõe um valor instantâneo lido sob demanda de uma função fornecida pelo código instrumentado.
+ */
+public class Gauge {
+
+    /**
+     * Nome do medidor no registro de métricas.
+     */
+    private final String name;
+
+    /**
+     * Função que fornece o valor atual do medidor.
+     */
+    private final LongSupplier supplier;
+
+    /**
+     * Construtor da classe Gauge.
+     *
+     * @param name     Nome do medidor.
+     * @param supplier Função que fornece o valor atual.
+     */
+    Gauge(String name, LongSupplier supplier) {
+        this.name = name;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Lê o valor atual do medidor.
+     *
+     * @return valor atual
+     */
+    public long get() {
+        return supplier.getAsLong();
+    }
+
+    /**
+     * Retorna o nome do medidor.
+     *
+     * @return nome do medidor
+     */
+    public String getName() {
+        return this.name;
+    }
+}
@@ -0,0 +1,179 @@
+package com.tiduswr.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos no estilo HDR: cada potência de dois é dividida em
+ * {@value #SUB_BUCKETS} faixas lineares, o que mantém o erro relativo abaixo de ~6% com um número
+ * fixo de baldes. Cada balde é um {@link LongAdder}, então registrar uma amostra não aloca nem bloqueia.
+ */
+public class LatencyHistogram {
+
+    /**
+     * Quantidade de bits de precisão por potência de dois.
+     */
+    private static final int SUB_BITS = 4;
+
+    /**
+     * Quantidade de faixas lineares por potência de dois.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Maior expoente representado (2^36 ns ≈ 68 s). Valores maiores caem no último balde.
+     */
+    private static final int MAX_MAGNITUDE = 36;
+
+    /**
+     * Quantidade total de baldes.
+     */
+    private static final int BUCKET_COUNT = SUB_BUCKETS + (MAX_MAGNITUDE - SUB_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * Nome do histograma no registro de métricas.
+     */
+    private final String name;
+
+    /**
+     * Contagem de amostras por balde.
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    /**
+     * Soma de todas as amostras, usada para a média.
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Maior amostra registrada.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Construtor da classe LatencyHistogram.
+     *
+     * @param name Nome do histograma.
+     */
+    LatencyHistogram(String name) {
+        this.name = name;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra uma amostra de latência.
+     *
+     * @param nanos Duração em nanossegundos.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[bucketOf(nanos)].increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**
+     * Registra o tempo decorrido desde um instante obtido com {@link System#nanoTime()}.
+     *
+     * @param startNanos Instante inicial em nanossegundos.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Retorna a quantidade de amostras registradas.
+     *
+     * @return número de amostras
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Retorna a maior amostra registrada.
+     *
+     * @return maior latência em nanossegundos
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Retorna a média das amostras registradas.
+     *
+     * @return média em nanossegundos, ou 0 se não houver amostras
+     */
+    public long getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : total.sum() / count;
+    }
+
+    /**
+     * Estima o percentil informado a partir dos baldes.
+     *
+     * @param percentile Percentil desejado, entre 0 e 100.
+     * @return limite superior do balde que contém o percentil, em nanossegundos
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Retorna o nome do histograma.
+     *
+     * @return nome do histograma
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Calcula o índice do balde de um valor.
+     *
+     * @param value Valor em nanossegundos (não negativo).
+     * @return índice do balde
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude > MAX_MAGNITUDE) return BUCKET_COUNT - 1;
+        int sub = (int) (value >>> (magnitude - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + (magnitude - SUB_BITS) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Calcula o maior valor representado por um balde.
+     *
+     * @param index Índice do balde.
+     * @return limite superior do balde em nanossegundos
+     */
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
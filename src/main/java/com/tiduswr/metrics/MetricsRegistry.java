@@ -0,0 +1,135 @@
+package com.tiduswr.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro singleton de métricas do jogo (contadores, medidores e histogramas de latência).
+ * <p>
+ * As métricas são criadas sob demanda pelo nome e ficam ordenadas alfabeticamente, para que o
+ * overlay e o relatório exportado apresentem sempre a mesma ordem.
+ * </p>
+ */
+public class MetricsRegistry {
+
+    /**
+     * Instância única do registro.
+     */
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    /**
+     * Contadores registrados, indexados pelo nome.
+     */
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+
+    /**
+     * Medidores registrados, indexados pelo nome.
+     */
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+
+    /**
+     * Histogramas registrados, indexados pelo nome.
+     */
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Construtor privado para implementar o padrão singleton.
+     */
+    private MetricsRegistry() {}
+
+    /**
+     * Retorna a instância única do MetricsRegistry.
+     *
+     * @return A instância única do registro de métricas.
+     */
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Obtém (ou cria) o contador com o nome informado.
+     *
+     * @param name Nome do contador.
+     * @return O contador associado ao nome.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Registra um medidor com o nome informado, substituindo um medidor anterior de mesmo nome.
+     *
+     * @param name     Nome do medidor.
+     * @param supplier Função que fornece o valor atual.
+     * @return O medidor registrado.
+     */
+    public Gauge gauge(String name, LongSupplier supplier) {
+        Gauge gauge = new Gauge(name, supplier);
+        gauges.put(name, gauge);
+        return gauge;
+    }
+
+    /**
+     * Obtém (ou cria) o histograma de latência com o nome informado.
+     *
+     * @param name Nome do histograma.
+     * @return O histograma associado ao nome.
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * Gera um relatório textual com o valor atual de todas as métricas.
+     *
+     * @return O relatório, uma métrica por linha.
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        for (LatencyHistogram h : histograms.values()) {
+            sb.append(String.format("%-28s n=%-7d p50=%-9s p99=%-9s max=%s%n",
+                    h.getName(), h.getCount(), formatNanos(h.getPercentile(50)),
+                    formatNanos(h.getPercentile(99)), formatNanos(h.getMax())));
+        }
+        for (Counter c : counters.values()) {
+            sb.append(String.format("%-28s %d%n", c.getName(), c.get()));
+        }
+        for (Gauge g : gauges.values()) {
+            sb.append(String.format("%-28s %d%n", g.getName(), g.get()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Exporta o relatório de métricas para um arquivo de texto no diretório informado.
+     *
+     * @param directory Diretório onde o arquivo será criado.
+     * @return O caminho do arquivo gerado.
+     * @throws IOException Se ocorrer um erro ao escrever o arquivo.
+     */
+    public Path exportTo(Path directory) throws IOException {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = directory.resolve("metrics-" + timestamp + ".txt");
+        Files.writeString(file, report(), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    /**
+     * Formata uma duração em nanossegundos na unidade mais legível.
+     *
+     * @param nanos Duração em nanossegundos.
+     * @return A duração formatada (ns, µs ou ms).
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + "ns";
+        if (nanos < 1_000_000) return String.format("%.1fµs", nanos / 1_000.0);
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+}
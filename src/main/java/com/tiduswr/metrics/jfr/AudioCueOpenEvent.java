@@ -0,0 +1,24 @@
+package com.tiduswr.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido a cada carregamento e abertura de uma linha de áudio pelo
+ * {@link com.tiduswr.model.AudioCueManager}.
+ */
+@Name("com.tiduswr.AudioCueOpen")
+@Label("Audio Cue Open")
+@Category({ "Triple Triad", "Recursos" })
+@Description("Carregamento e abertura de um AudioCue")
+public class AudioCueOpenEvent extends Event {
+
+    /**
+     * Caminho do arquivo de áudio.
+     */
+    @Label("Path")
+    public String path;
+}
@@ -0,0 +1,29 @@
+package com.tiduswr.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido a cada pintura completa do tabuleiro (fundo e todas as cartas).
+ */
+@Name("com.tiduswr.BoardRepaint")
+@Label("Board Repaint")
+@Category({ "Triple Triad", "Renderização" })
+@Description("Pintura completa do tabuleiro")
+public class BoardRepaintEvent extends Event {
+
+    /**
+     * Largura da área pintada.
+     */
+    @Label("Width")
+    public int width;
+
+    /**
+     * Altura da área pintada.
+     */
+    @Label("Height")
+    public int height;
+}
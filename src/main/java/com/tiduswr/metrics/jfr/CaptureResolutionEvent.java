@@ -0,0 +1,35 @@
+package com.tiduswr.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido a cada aplicação das regras de captura após uma jogada.
+ */
+@Name("com.tiduswr.CaptureResolution")
+@Label("Capture Resolution")
+@Category({ "Triple Triad", "Jogo" })
+@Description("Aplicação das regras de captura após uma jogada")
+public class CaptureResolutionEvent extends Event {
+
+    /**
+     * Linha em que a carta foi jogada.
+     */
+    @Label("Row")
+    public int row;
+
+    /**
+     * Coluna em que a carta foi jogada.
+     */
+    @Label("Column")
+    public int col;
+
+    /**
+     * Quantidade de cartas que trocaram de dono.
+     */
+    @Label("Flips")
+    public int flips;
+}
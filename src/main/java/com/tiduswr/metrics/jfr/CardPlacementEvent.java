@@ -0,0 +1,42 @@
+package com.tiduswr.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido a cada carta colocada no tabuleiro, cobrindo a atualização do tabuleiro
+ * e a notificação dos ouvintes.
+ */
+@Name("com.tiduswr.CardPlacement")
+@Label("Card Placement")
+@Category({ "Triple Triad", "Jogo" })
+@Description("Colocação de uma carta no tabuleiro")
+public class CardPlacementEvent extends Event {
+
+    /**
+     * Nome da carta colocada.
+     */
+    @Label("Card")
+    public String card;
+
+    /**
+     * Jogador dono da carta.
+     */
+    @Label("Player")
+    public String player;
+
+    /**
+     * Linha do tabuleiro.
+     */
+    @Label("Row")
+    public int row;
+
+    /**
+     * Coluna do tabuleiro.
+     */
+    @Label("Column")
+    public int col;
+}
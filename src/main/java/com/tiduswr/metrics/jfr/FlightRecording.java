@@ -0,0 +1,62 @@
+package com.tiduswr.metrics.jfr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Inicia uma gravação do Java Flight Recorder com o perfil empacotado {@value #PROFILE}, quando solicitado
+ * pela propriedade de sistema {@value #PROPERTY}.
+ * <p>
+ * Exemplo: {@code java -Dtripletriad.jfr=partida.jfr -jar triple_triad.jar}. O arquivo é gravado ao
+ * encerrar a JVM. O mesmo perfil pode ser usado diretamente com
+ * {@code -XX:StartFlightRecording:settings=triple-triad.jfc} depois de extraído do JAR.
+ * </p>
+ */
+public class FlightRecording {
+
+    /**
+     * Propriedade de sistema com o caminho do arquivo de saída da gravação.
+     */
+    public static final String PROPERTY = "tripletriad.jfr";
+
+    /**
+     * Recurso com o perfil de configuração do JFR.
+     */
+    public static final String PROFILE = "jfr/triple-triad.jfc";
+
+    /**
+     * Construtor privado, pois a classe só possui métodos estáticos.
+     */
+    private FlightRecording() {}
+
+    /**
+     * Inicia a gravação caso a propriedade {@value #PROPERTY} esteja definida.
+     * A gravação é salva automaticamente quando a JVM encerra.
+     */
+    public static void startIfRequested() {
+        String destination = System.getProperty(PROPERTY);
+        if (destination == null || destination.isBlank()) return;
+
+        try (InputStream in = FlightRecording.class.getClassLoader().getResourceAsStream(PROFILE)) {
+            if (in == null) throw new IOException("Perfil não encontrado: " + PROFILE);
+            Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+            Recording recording = new Recording(Configuration.create(reader));
+            recording.setName("Triple Triad");
+            recording.setDestination(Path.of(destination));
+            recording.setToDisk(true);
+            recording.setDumpOnExit(true);
+            recording.start();
+            System.out.println("Gravação JFR iniciada: " + destination);
+        } catch (IOException | ParseException e) {
+            System.err.println("Não foi possível iniciar a gravação JFR: " + e.getLocalizedMessage());
+        }
+    }
+}
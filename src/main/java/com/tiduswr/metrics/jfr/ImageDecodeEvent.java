@@ -0,0 +1,36 @@
+package com.tiduswr.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR emitido a cada imagem lida pelo {@link com.tiduswr.model.CardsReader}, seja decodificada ou
+ * carregada do {@link com.tiduswr.model.SpriteCache}.
+ */
+@Name("com.tiduswr.ImageDecode")
+@Label("Image Decode")
+@Category({ "Triple Triad", "Recursos" })
+@Description("Decodificação de uma imagem de carta ou ícone")
+public class ImageDecodeEvent extends Event {
+
+    /**
+     * Caminho do recurso decodificado.
+     */
+    @Label("Resource")
+    public String resource;
+
+    /**
+     * Largura da imagem decodificada.
+     */
+    @Label("Width")
+    public int width;
+
+    /**
+     * Altura da imagem decodificada.
+     */
+    @Label("Height")
+    public int height;
+}
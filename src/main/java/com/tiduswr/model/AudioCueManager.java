@@ -4,22 +4,32 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 import com.adonax.audiocue.AudioCue;
+import com.tiduswr.metrics.jfr.AudioCueOpenEvent;
 
 /**
- * Gerenciador singleton de instâncias de áudio utilizando a biblioteca AudioCue.
+ * Gerenciador de instâncias de áudio de uma mesa, utilizando a biblioteca AudioCue.
  * Ele gerencia múltiplas faixas de áudio, permitindo o uso de um pool de instâncias para tocar efeitos sonoros.
+ * <p>
+ * Cada mesa tem o seu gerenciador, de modo que fechar os sons de uma mesa não interrompe os das outras. O áudio
+ * decodificado (PCM estéreo normalizado) é compartilhado entre todos os gerenciadores: cada arquivo é lido uma única
+ * vez por processo, e cada mesa apenas abre as suas próprias linhas sobre os mesmos dados.
+ * </p>
  */
 public class AudioCueManager {
 
     /**
-     * Instância única do gerenciador de áudio.
+     * Áudio decodificado de cada arquivo, compartilhado entre as mesas.
      */
-    private static AudioCueManager instance;
+    private static final Map<String, float[]> pcmCache = new ConcurrentHashMap<>();
 
     /**
      * Mapa que armazena as instâncias de AudioCue associadas a seus caminhos de arquivo.
@@ -31,27 +41,9 @@ public class AudioCueManager {
      */
     private final int POOL_SIZE = 10;
 
-    /**
-     * Construtor privado para implementar o padrão singleton.
-     */
-    private AudioCueManager() {}
-
-    /**
-     * Retorna a instância única do AudioCueManager.
-     * Se não existir, ela é criada.
-     * 
-     * @return A instância única do AudioCueManager.
-     */
-    public static AudioCueManager getInstance() {
-        if (instance == null) {
-            instance = new AudioCueManager();
-        }
-        return instance;
-    }
-
     /**
      * Obtém um AudioCue a partir do caminho especificado. Se o AudioCue ainda não foi carregado, ele será criado e armazenado.
-     * 
+     *
      * @param path O caminho do arquivo de áudio a ser carregado.
      * @return A instância de AudioCue correspondente ao caminho fornecido.
      * @throws IOException Se ocorrer um erro de entrada/saída ao carregar o arquivo de áudio.
@@ -60,17 +52,51 @@ public class AudioCueManager {
      */
     public AudioCue getAudioCue(String path) throws IOException, UnsupportedAudioFileException, LineUnavailableException {
         if (!audioCueMap.containsKey(path)) {
-            URL url = this.getClass().getResource("/" + path);
-            if (url == null) {
-                throw new RuntimeException("Arquivo de áudio não encontrado: " + path);
-            }
-            AudioCue audioCue = AudioCue.makeStereoCue(url, POOL_SIZE);
+            AudioCueOpenEvent event = new AudioCueOpenEvent();
+            event.begin();
+            AudioCue audioCue = AudioCue.makeStereoCue(pcm(path), path, POOL_SIZE);
             audioCue.open(2048);
             audioCueMap.put(path, audioCue);
+            event.path = path;
+            event.commit();
         }
         return audioCueMap.get(path);
     }
 
+    /**
+     * Obtém o áudio decodificado de um arquivo, decodificando-o apenas na primeira vez no processo.
+     *
+     * @param path O caminho do arquivo de áudio.
+     * @return As amostras estéreo intercaladas, normalizadas entre -1 e 1. Não devem ser modificadas.
+     * @throws IOException Se ocorrer um erro de entrada/saída ao ler o arquivo de áudio.
+     * @throws UnsupportedAudioFileException Se o arquivo de áudio tiver um formato não suportado.
+     */
+    private static float[] pcm(String path) throws IOException, UnsupportedAudioFileException {
+        float[] cached = pcmCache.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        URL url = AudioCueManager.class.getResource("/" + path);
+        if (url == null) {
+            throw new RuntimeException("Arquivo de áudio não encontrado: " + path);
+        }
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(url)) {
+            // mesmo formato exigido pelo AudioCue ao ler um arquivo: PCM de 16 bits, estéreo, little-endian
+            AudioFormat format = in.getFormat();
+            if (format.getEncoding() != AudioFormat.Encoding.PCM_SIGNED || format.getSampleSizeInBits() != 16
+                    || format.getChannels() != 2 || format.isBigEndian()) {
+                throw new UnsupportedAudioFileException("Formato de áudio não suportado em " + path + ": " + format);
+            }
+            byte[] bytes = in.readAllBytes();
+            float[] pcm = new float[bytes.length / 2];
+            for (int i = 0; i < pcm.length; i++) {
+                pcm[i] = ((bytes[2 * i + 1] << 8) | (bytes[2 * i] & 0xff)) / 32767f;
+            }
+            float[] previous = pcmCache.putIfAbsent(path, pcm);
+            return previous != null ? previous : pcm;
+        }
+    }
+
     /**
      * Fecha todas as instâncias de AudioCue gerenciadas e limpa o mapa.
      */
@@ -83,7 +109,7 @@ public class AudioCueManager {
 
     /**
      * Fecha uma instância específica de AudioCue e a remove do mapa.
-     * 
+     *
      * @param audioCue A instância de AudioCue a ser fechada.
      * @param pathToRemove O caminho associado à instância de AudioCue que deve ser removida.
      */
@@ -91,4 +117,4 @@ public class AudioCueManager {
         audioCue.close();
         audioCueMap.remove(pathToRemove);
     }
-}
\ No newline at end of file
+}
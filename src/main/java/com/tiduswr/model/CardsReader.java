@@ -5,15 +5,22 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import javax.imageio.ImageIO;
+import com.tiduswr.metrics.jfr.ImageDecodeEvent;
 
 /**
  * Classe responsável por ler os dados das cartas a partir de arquivos de imagem e CSV.
  */
 public class CardsReader {
 
+    /**
+     * Ícones de elemento já decodificados, indexados pelo nome do elemento.
+     */
+    private static final Map<String, BufferedImage> elementIcons = new HashMap<>();
+
     /**
      * Lê a imagem de fundo das cartas.
      * 
@@ -21,7 +28,7 @@ public class CardsReader {
      */
     public static BufferedImage cardBack(){
         try{
-            return ImageIO.read(CardsReader.class.getClassLoader().getResourceAsStream("cards/back.png"));
+            return readImage("cards/back.png");
         }catch(IOException e){
             throw new RuntimeException(e.getLocalizedMessage());
         }
@@ -34,12 +41,48 @@ public class CardsReader {
      */
     public static BufferedImage selectionIcon(){
         try{
-            return ImageIO.read(CardsReader.class.getClassLoader().getResourceAsStream("hand.png"));
+            return readImage("hand.png");
         }catch(IOException e){
             throw new RuntimeException(e.getLocalizedMessage());
         }
     } 
 
+    /**
+     * Lê o ícone de um elemento (o mesmo usado como tipo das cartas), decodificando-o apenas na primeira vez.
+     *
+     * @param element Nome do elemento, como na coluna {@code element} do CSV (por exemplo, "FIRE").
+     * @return O ícone do elemento.
+     */
+    public static BufferedImage elementIcon(String element){
+        return elementIcons.computeIfAbsent(element, name -> {
+            try{
+                return readImage("cards/" + name.toLowerCase() + ".png");
+            }catch(IOException e){
+                throw new RuntimeException(e.getLocalizedMessage());
+            }
+        });
+    }
+
+    /**
+     * Lê uma imagem do classpath através do {@link SpriteCache}, emitindo um {@link ImageDecodeEvent}.
+     *
+     * @param resource Caminho do recurso de imagem.
+     * @return A imagem decodificada, em ARGB pré-multiplicado.
+     * @throws IOException Se ocorrer um erro ao ler a imagem.
+     */
+    private static BufferedImage readImage(String resource) throws IOException {
+        ImageDecodeEvent event = new ImageDecodeEvent();
+        event.begin();
+        BufferedImage image = SpriteCache.read(resource);
+        if (event.shouldCommit()) {
+            event.resource = resource;
+            event.width = image.getWidth();
+            event.height = image.getHeight();
+            event.commit();
+        }
+        return image;
+    }
+
     /**
      * Lê os dados das cartas a partir de um arquivo CSV.
      * Cada linha do arquivo representa uma carta e seus atributos.
@@ -63,7 +106,7 @@ public class CardsReader {
                 card.setLeft(Integer.parseInt(cardData[3]));
                 card.setDown(Integer.parseInt(cardData[4]));
                 card.setRight(Integer.parseInt(cardData[5]));
-                card.setImage(ImageIO.read(CardsReader.class.getClassLoader().getResourceAsStream("cards/" + cardData[0] + ".png")));
+                card.setImage(readImage("cards/" + cardData[0] + ".png"));
                 card.setType(cardData[6]);
 
                 // Lê o ícone do tipo de carta com base no tipo definido no CSV
@@ -76,7 +119,7 @@ public class CardsReader {
                     case "ICE":
                     case "HOLY":
                     case "FIRE":
-                        card.setTypeIcon(ImageIO.read(CardsReader.class.getClassLoader().getResourceAsStream("cards/" + cardData[6].toLowerCase() + ".png")));
+                        card.setTypeIcon(readImage("cards/" + cardData[6].toLowerCase() + ".png"));
                         break;
                     default:
                         break;
@@ -14,14 +14,18 @@ public class Player {
     private String name;
 
     /**
-     * Pontos iniciais do jogador.
-     * O jogador começa com 5 pontos.
+     * Posições do tabuleiro que pertencem ao jogador (bit {@code 1L << (row * colunas + col)}).
      */
-    private int points = 5;
+    private long ownedMask = 0;
+
+    /**
+     * Quantidade de cartas ainda na mão do jogador.
+     */
+    private int handSize;
 
     /**
      * Lista de cartas que o jogador possui.
-     * O jogador deve começar com exatamente 5 cartas.
+     * O tamanho inicial da mão depende das dimensões do tabuleiro (5 cartas no 3x3).
      */
     private List<CardData> cards;
 
@@ -34,13 +38,14 @@ public class Player {
      * Construtor da classe Player.
      *
      * @param name  Nome do jogador.
-     * @param cards Lista de cartas do jogador, que deve conter exatamente 5 cartas.
+     * @param cards Lista de cartas do jogador, com o tamanho de mão do tabuleiro da partida.
      * @param color Cor associada ao jogador.
-     * @throws RuntimeException Se a lista de cartas não contiver exatamente 5 cartas.
+     * @throws RuntimeException Se a lista de cartas estiver vazia.
      */
     public Player(String name, List<CardData> cards, Color color) {
-        if (cards.size() != 5) throw new RuntimeException("A mão do jogador, inicialmente, precisa conter exatamente 5 cartas!");
+        if (cards.isEmpty()) throw new RuntimeException("A mão do jogador, inicialmente, precisa conter pelo menos uma carta!");
         this.cards = cards;
+        this.handSize = cards.size();
         this.name = name;
         this.color = color;
     }
@@ -55,12 +60,21 @@ public class Player {
     }
 
     /**
-     * Retorna os pontos iniciais do jogador.
+     * Retorna os pontos do jogador: cartas suas no tabuleiro mais cartas ainda na mão.
      *
-     * @return pontos iniciais do jogador (sempre 5)
+     * @return pontos do jogador (o tamanho da mão no início da partida)
      */
     public int getPoints() {
-        return this.points;
+        return Long.bitCount(this.ownedMask) + this.handSize;
+    }
+
+    /**
+     * Retorna as posições do tabuleiro que pertencem ao jogador.
+     *
+     * @return máscara com o bit {@code 1L << (row * colunas + col)} ligado para cada posição do jogador
+     */
+    public long getOwnedMask() {
+        return this.ownedMask;
     }
 
     /**
@@ -86,16 +100,13 @@ public class Player {
     }
 
     /**
-     * Incrementa 1 na quantidade de pontos
-     */
-    public void addPoints(){
-        points++;
-    }
-
-    /**
-     * Decrementa 1 na quantidade de pontos
+     * Atualiza as posições do tabuleiro do jogador e a quantidade de cartas na mão, das quais os pontos são derivados.
+     *
+     * @param ownedMask Máscara das posições do jogador.
+     * @param handSize  Quantidade de cartas ainda na mão.
      */
-    public void dcrPoints(){
-        points--;
+    public void setOwnership(long ownedMask, int handSize) {
+        this.ownedMask = ownedMask;
+        this.handSize = handSize;
     }
 }
\ No newline at end of file
@@ -20,13 +20,17 @@ public class SoundService {
     private float vol; 
     /**  Caminho do arquivo de áudio */
     private String path; 
+    /**  Gerenciador de áudio da mesa a que o som pertence */
+    private final AudioCueManager manager;
 
     /**
      * Construtor que inicializa o serviço de som com o caminho do arquivo de áudio.
      *
+     * @param manager Gerenciador de áudio da mesa
      * @param path Caminho do arquivo de áudio
      */
-    public SoundService(String path) {
+    public SoundService(AudioCueManager manager, String path) {
+        this.manager = manager;
         this.path = path;
         initializeAudioCue(path);
     }
@@ -34,11 +38,12 @@ public class SoundService {
     /**
      * Construtor que inicializa o serviço de som com o caminho do arquivo de áudio e o volume.
      *
+     * @param manager Gerenciador de áudio da mesa
      * @param path Caminho do arquivo de áudio
      * @param volume Volume do áudio
      */
-    public SoundService(String path, float volume) {
-        this(path);
+    public SoundService(AudioCueManager manager, String path, float volume) {
+        this(manager, path);
         this.vol = volume;
     }
 
@@ -49,7 +54,7 @@ public class SoundService {
      */
     private void initializeAudioCue(String path) {
         try {
-            audioCue = AudioCueManager.getInstance().getAudioCue(path);
+            audioCue = manager.getAudioCue(path);
         } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
             e.printStackTrace();
         }
@@ -93,7 +98,6 @@ public class SoundService {
                 switch (event.type) {
                     case STOP_INSTANCE:
                         try {                            
-                            var manager = AudioCueManager.getInstance();
                             manager.closeInstace(audioCue, path);
                             path = wavToLoopPath;
 
@@ -113,9 +117,9 @@ public class SoundService {
     }
 
     /**
-     * Fecha todos os objetos de áudio gerenciados.
+     * Fecha todos os objetos de áudio da mesa.
      */
     public void close() {
-        AudioCueManager.getInstance().closeAll();
+        manager.closeAll();
     }
 }
\ No newline at end of file
@@ -4,7 +4,8 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Classe responsável pelo gerenciamento de múltiplos serviços de som.
+ * Classe responsável pelo gerenciamento de múltiplos serviços de som de uma mesa, que compartilham o mesmo
+ * {@link AudioCueManager}.
  */
 public class SoundServices {
     
@@ -12,6 +13,8 @@ public class SoundServices {
     private Map<String, SoundService> services;
     /**  Volume padrão para os serviços de som */
     private float vol;
+    /**  Gerenciador de áudio da mesa */
+    private final AudioCueManager manager = new AudioCueManager();
 
     /**
      * Construtor que inicializa o mapa de serviços de som e define o volume padrão.
@@ -28,7 +31,7 @@ public class SoundServices {
      * @param path Caminho do arquivo de áudio
      */
     public void createSoundService(String serviceName, String path){
-        this.services.put(serviceName, new SoundService(path, vol));
+        this.services.put(serviceName, new SoundService(manager, path, vol));
     }
 
     /**
@@ -39,7 +42,7 @@ public class SoundServices {
      * @param customVol Volume customizado para o serviço de som
      */
     public void createSoundService(String serviceName, String path, float customVol){
-        this.services.put(serviceName, new SoundService(path, customVol));
+        this.services.put(serviceName, new SoundService(manager, path, customVol));
     }
 
     /**
@@ -0,0 +1,225 @@
+package com.tiduswr.model;
+
+import java.awt.Graphics2D;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Cache em disco das imagens já decodificadas e prontas para desenho.
+ * <p>
+ * Na primeira execução, cada imagem é decodificada pelo {@link ImageIO}, convertida para ARGB pré-multiplicado e
+ * gravada no diretório {@value #DEFAULT_DIRECTORY} (ou no indicado pela propriedade de sistema {@value #PROPERTY};
+ * vazia desativa o cache). Nas seguintes, o arquivo é mapeado em memória e os pixels são copiados de uma só vez para a
+ * {@link BufferedImage}, sem passar pelo decodificador de PNG nem pela conversão de cores. Cada arquivo guarda o
+ * SHA-256 do recurso de origem, e um recurso alterado é decodificado e gravado de novo.
+ * </p>
+ * <p>
+ * Formato, versão {@value #VERSION}, com cabeçalho big-endian: {@code "TS"}, versão (1 byte), ordem dos bytes dos
+ * pixels (1 byte, 1 para little-endian), largura e altura (4 + 4), SHA-256 do recurso (32) e os pixels
+ * ({@code largura * altura} inteiros na ordem indicada). Falhas de escrita ou leitura do cache nunca impedem a leitura
+ * da imagem.
+ * </p>
+ */
+public final class SpriteCache {
+
+    /**
+     * Propriedade de sistema com o diretório do cache.
+     */
+    public static final String PROPERTY = "tripletriad.spriteCache";
+
+    /**
+     * Diretório do cache quando a propriedade não é informada.
+     */
+    public static final String DEFAULT_DIRECTORY = "sprite-cache";
+
+    /**
+     * Versão atual do formato.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Assinatura no início do arquivo.
+     */
+    private static final short MAGIC = ('T' << 8) | 'S';
+
+    /**
+     * Tamanho do cabeçalho, em bytes (múltiplo de 4, para que os pixels fiquem alinhados).
+     */
+    private static final int HEADER = 2 + 1 + 1 + 4 + 4 + 32;
+
+    /**
+     * Modelo de cores de {@link BufferedImage#TYPE_INT_ARGB_PRE}.
+     */
+    private static final DirectColorModel ARGB_PRE = new DirectColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB),
+            32, 0x00ff0000, 0x0000ff00, 0x000000ff, 0xff000000, true, DataBuffer.TYPE_INT);
+
+    /**
+     * Diretório do cache, ou null se o cache estiver desativado.
+     */
+    private static final Path directory = directory();
+
+    /**
+     * Construtor privado, pois a classe só possui métodos estáticos.
+     */
+    private SpriteCache() {}
+
+    /**
+     * Lê uma imagem do classpath, usando o cache quando ele estiver atualizado.
+     *
+     * @param resource Caminho do recurso de imagem.
+     * @return A imagem em ARGB pré-multiplicado.
+     * @throws IOException Se o recurso não existir ou não puder ser decodificado.
+     */
+    public static BufferedImage read(String resource) throws IOException {
+        byte[] source;
+        try (InputStream in = SpriteCache.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Recurso não encontrado: " + resource);
+            source = in.readAllBytes();
+        }
+        byte[] hash = sha256(source);
+        Path file = directory == null ? null : directory.resolve(resource.replace('/', '_') + ".argb");
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                BufferedImage cached = load(file, hash);
+                if (cached != null) return cached;
+            } catch (IOException e) {
+                System.err.println("Cache de imagem inválido, decodificando de novo: " + file);
+            }
+        }
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(source));
+        if (decoded == null) throw new IOException("Formato de imagem não reconhecido: " + resource);
+        BufferedImage image = toPremultiplied(decoded);
+        if (file != null) {
+            try {
+                store(file, hash, image);
+            } catch (IOException e) {
+                System.err.println("Não foi possível gravar o cache de imagem " + file + ": " + e.getLocalizedMessage());
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Mapeia um arquivo do cache e monta a imagem, se ele corresponder ao recurso atual.
+     *
+     * @param file Arquivo do cache.
+     * @param hash SHA-256 do recurso atual.
+     * @return A imagem, ou null se o arquivo for de outra versão do recurso ou do formato.
+     * @throws IOException Se o arquivo não puder ser lido ou estiver truncado.
+     */
+    private static BufferedImage load(Path file, byte[] hash) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER) throw new IOException("Arquivo truncado");
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteOrder order = buffer.get(3) == 1 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            if (buffer.getShort(0) != MAGIC || buffer.get(2) != VERSION || order != ByteOrder.nativeOrder()) {
+                return null;
+            }
+            byte[] stored = new byte[32];
+            buffer.get(12, stored);
+            if (!Arrays.equals(stored, hash)) return null;
+            int width = buffer.getInt(4);
+            int height = buffer.getInt(8);
+            if (width <= 0 || height <= 0 || channel.size() != HEADER + 4L * width * height) {
+                throw new IOException("Dimensões inconsistentes");
+            }
+            int[] pixels = new int[width * height];
+            buffer.position(HEADER);
+            buffer.slice().order(order).asIntBuffer().get(pixels);
+            DataBufferInt data = new DataBufferInt(pixels, pixels.length);
+            WritableRaster raster = Raster.createPackedRaster(data, width, height, width, ARGB_PRE.getMasks(), null);
+            return new BufferedImage(ARGB_PRE, raster, true, null);
+        }
+    }
+
+    /**
+     * Grava a imagem no cache de forma atômica, através de um arquivo temporário.
+     *
+     * @param file  Arquivo do cache.
+     * @param hash  SHA-256 do recurso.
+     * @param image Imagem em ARGB pré-multiplicado.
+     * @throws IOException Se a escrita falhar.
+     */
+    private static void store(Path file, byte[] hash, BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + 4 * pixels.length);
+        buffer.putShort(0, MAGIC).put(2, (byte) VERSION)
+                .put(3, (byte) (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 0))
+                .putInt(4, width).putInt(8, height).put(12, hash);
+        // o cabeçalho é big-endian; os pixels ficam na ordem nativa, para serem copiados sem conversão
+        buffer.position(HEADER);
+        buffer.slice().order(ByteOrder.nativeOrder()).asIntBuffer().put(pixels);
+        buffer.position(0);
+
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Converte uma imagem decodificada para ARGB pré-multiplicado.
+     *
+     * @param decoded Imagem no formato entregue pelo decodificador.
+     * @return A imagem convertida.
+     */
+    private static BufferedImage toPremultiplied(BufferedImage decoded) {
+        BufferedImage image = new BufferedImage(decoded.getWidth(), decoded.getHeight(),
+                BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = image.createGraphics();
+        g2d.drawImage(decoded, 0, 0, null);
+        g2d.dispose();
+        return image;
+    }
+
+    /**
+     * Calcula o SHA-256 do conteúdo de um recurso.
+     */
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * Lê o diretório do cache da propriedade {@value #PROPERTY}.
+     */
+    private static Path directory() {
+        String value = System.getProperty(PROPERTY, DEFAULT_DIRECTORY);
+        return value.isBlank() ? null : Path.of(value);
+    }
+}
@@ -0,0 +1,276 @@
+package com.tiduswr.tools;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.GameState;
+import com.tiduswr.engine.Rule;
+import com.tiduswr.engine.RuleSet;
+import com.tiduswr.engine.ai.Bot;
+import com.tiduswr.engine.ai.Bots;
+
+/**
+ * Ferramenta em lote que joga um grande número de partidas com mãos aleatórias e atribui os resultados
+ * a cada carta do catálogo: taxa de vitória quando está na mão, taxa de captura por lado e média de
+ * capturas por jogada.
+ * <p>
+ * As partidas não são armazenadas: cada bloco de partidas acumula contadores em um vetor {@code long[]}
+ * de tamanho fixo ({@value #FIELDS} campos por carta), e os vetores dos blocos são somados ao final.
+ * </p>
+ * <p>
+ * Uso: {@code java -cp triple_triad.jar com.tiduswr.tools.BalanceAnalyzer [--games=1000000]
+ * [--bot=greedy|random] [--rules=same,plus] [--board=3x3] [--seed=1] [--format=csv|json] [--out=balance.csv]}.
+ * </p>
+ */
+public class BalanceAnalyzer {
+
+    /** Vezes em que a carta esteve na mão de um jogador. */
+    private static final int HELD = 0;
+    /** Vitórias do jogador que tinha a carta na mão. */
+    private static final int HELD_WINS = 1;
+    /** Empates do jogador que tinha a carta na mão. */
+    private static final int HELD_DRAWS = 2;
+    /** Vezes em que a carta foi jogada. */
+    private static final int PLAYED = 3;
+    /** Total de capturas causadas pelas jogadas da carta. */
+    private static final int FLIPS = 4;
+    /** Disputas por lado (vizinha adversária), quatro campos a partir deste. */
+    private static final int CONTESTS = 5;
+    /** Capturas por lado, quatro campos a partir deste. */
+    private static final int CAPTURES = 9;
+    /** Quantidade de campos por carta. */
+    private static final int FIELDS = 13;
+
+    /**
+     * Quantidade de partidas por bloco de trabalho paralelo.
+     */
+    private static final int BLOCK = 4096;
+
+    /**
+     * Catálogo de cartas.
+     */
+    private final CardCatalog catalog;
+
+    /**
+     * Tipo de bot usado pelos dois jogadores (nome registrado em {@link Bots}).
+     */
+    private final String botType;
+
+    /**
+     * Regras usadas nas partidas.
+     */
+    private final RuleSet rules;
+
+    /**
+     * Dimensões do tabuleiro usadas nas partidas.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Construtor da classe BalanceAnalyzer.
+     *
+     * @param catalog  Catálogo de cartas.
+     * @param rules    Regras usadas nas partidas.
+     * @param geometry Dimensões do tabuleiro.
+     * @param botType  Tipo de bot (nome registrado em {@link Bots}, como {@code greedy} ou {@code random}).
+     */
+    public BalanceAnalyzer(CardCatalog catalog, RuleSet rules, BoardGeometry geometry, String botType) {
+        this.catalog = catalog;
+        this.rules = rules;
+        this.geometry = geometry;
+        this.botType = botType;
+    }
+
+    /**
+     * Joga as partidas em paralelo e retorna os contadores somados.
+     *
+     * @param games Quantidade de partidas.
+     * @param seed  Semente das distribuições.
+     * @return vetor com {@value #FIELDS} campos por carta
+     */
+    public long[] run(long games, long seed) {
+        int blocks = (int) ((games + BLOCK - 1) / BLOCK);
+        return IntStream.range(0, blocks).parallel()
+                .mapToObj(block -> runBlock(Math.min(BLOCK, games - (long) block * BLOCK), seed + block * 0x9E3779B97F4A7C15L))
+                .reduce(new long[catalog.size() * FIELDS], (a, b) -> {
+                    long[] sum = new long[a.length];
+                    for (int i = 0; i < sum.length; i++) sum[i] = a[i] + b[i];
+                    return sum;
+                });
+    }
+
+    /**
+     * Joga um bloco de partidas acumulando os contadores em um vetor próprio.
+     *
+     * @param games Quantidade de partidas do bloco.
+     * @param seed  Semente do bloco.
+     * @return vetor com {@value #FIELDS} campos por carta
+     */
+    private long[] runBlock(long games, long seed) {
+        long[] acc = new long[catalog.size() * FIELDS];
+        SplittableRandom random = new SplittableRandom(seed);
+        GameState state = new GameState(catalog, rules, geometry);
+        Bot[] bots = { createBot(random.nextLong()), createBot(random.nextLong()) };
+        int[][] hands = new int[2][geometry.getHandSize()];
+
+        for (long g = 0; g < games; g++) {
+            dealRandom(random, hands[0]);
+            dealRandom(random, hands[1]);
+            int[] tiles = rules.has(Rule.ELEMENTAL) ? GameState.randomTiles(geometry, random) : null;
+            state.deal(hands[0], hands[1], random.nextInt(2), tiles);
+
+            while (!state.isOver()) {
+                int player = state.getToMove();
+                int move = bots[player].chooseMove(state);
+                int cell = GameState.moveCell(move);
+                int card = state.handCard(player, GameState.moveSlot(move));
+                for (int dir = 0; dir < 4; dir++) {
+                    int n = state.neighbour(cell, dir);
+                    if (n >= 0 && state.cardAt(n) >= 0 && state.ownerAt(n) != player) {
+                        acc[card * FIELDS + CONTESTS + dir]++;
+                    }
+                }
+                int flips = state.play(GameState.moveSlot(move), cell);
+                int mask = state.getLastCaptureMask();
+                for (int dir = 0; dir < 4; dir++) {
+                    if ((mask & (1 << dir)) != 0) acc[card * FIELDS + CAPTURES + dir]++;
+                }
+                acc[card * FIELDS + PLAYED]++;
+                acc[card * FIELDS + FLIPS] += flips;
+            }
+
+            int winner = state.winner();
+            for (int p = 0; p < 2; p++) {
+                for (int card : hands[p]) {
+                    acc[card * FIELDS + HELD]++;
+                    if (winner == p) acc[card * FIELDS + HELD_WINS]++;
+                    else if (winner == -1) acc[card * FIELDS + HELD_DRAWS]++;
+                }
+            }
+        }
+        return acc;
+    }
+
+    /**
+     * Cria um bot do tipo configurado.
+     *
+     * @param seed Semente do bot.
+     * @return O bot criado.
+     */
+    private Bot createBot(long seed) {
+        return Bots.create(botType, seed);
+    }
+
+    /**
+     * Sorteia uma mão de cartas distintas.
+     *
+     * @param random Gerador aleatório.
+     * @param hand   Vetor de saída.
+     */
+    private void dealRandom(SplittableRandom random, int[] hand) {
+        for (int i = 0; i < hand.length; i++) {
+            int card;
+            boolean repeated;
+            do {
+                card = random.nextInt(catalog.size());
+                repeated = false;
+                for (int j = 0; j < i; j++) repeated |= hand[j] == card;
+            } while (repeated);
+            hand[i] = card;
+        }
+    }
+
+    /**
+     * Escreve o relatório em CSV (separado por ponto e vírgula, como o {@code cards.csv}).
+     *
+     * @param acc Contadores acumulados.
+     * @param out Destino do relatório.
+     */
+    public void writeCsv(long[] acc, PrintWriter out) {
+        out.println("id;name;held;win_rate;draw_rate;played;avg_flips;up_capture_rate;right_capture_rate;down_capture_rate;left_capture_rate");
+        for (int card = 0; card < catalog.size(); card++) {
+            int base = card * FIELDS;
+            out.printf(Locale.ROOT, "%03d;%s;%d;%.4f;%.4f;%d;%.4f;%.4f;%.4f;%.4f;%.4f%n",
+                    catalog.id(card), catalog.name(card), acc[base + HELD],
+                    ratio(acc[base + HELD_WINS], acc[base + HELD]), ratio(acc[base + HELD_DRAWS], acc[base + HELD]),
+                    acc[base + PLAYED], ratio(acc[base + FLIPS], acc[base + PLAYED]),
+                    ratio(acc[base + CAPTURES + GameState.UP], acc[base + CONTESTS + GameState.UP]),
+                    ratio(acc[base + CAPTURES + GameState.RIGHT], acc[base + CONTESTS + GameState.RIGHT]),
+                    ratio(acc[base + CAPTURES + GameState.DOWN], acc[base + CONTESTS + GameState.DOWN]),
+                    ratio(acc[base + CAPTURES + GameState.LEFT], acc[base + CONTESTS + GameState.LEFT]));
+        }
+    }
+
+    /**
+     * Escreve o relatório em JSON, como um objeto indexado pelo {@code id} de cada carta.
+     *
+     * @param acc Contadores acumulados.
+     * @param out Destino do relatório.
+     */
+    public void writeJson(long[] acc, PrintWriter out) {
+        out.println("{");
+        for (int card = 0; card < catalog.size(); card++) {
+            int base = card * FIELDS;
+            out.printf(Locale.ROOT,
+                    "  \"%03d\": {\"name\": \"%s\", \"held\": %d, \"winRate\": %.4f, \"drawRate\": %.4f, \"played\": %d, "
+                            + "\"avgFlips\": %.4f, \"captureRate\": {\"up\": %.4f, \"right\": %.4f, \"down\": %.4f, \"left\": %.4f}}%s%n",
+                    catalog.id(card), catalog.name(card).replace("\"", "\\\""), acc[base + HELD],
+                    ratio(acc[base + HELD_WINS], acc[base + HELD]), ratio(acc[base + HELD_DRAWS], acc[base + HELD]),
+                    acc[base + PLAYED], ratio(acc[base + FLIPS], acc[base + PLAYED]),
+                    ratio(acc[base + CAPTURES + GameState.UP], acc[base + CONTESTS + GameState.UP]),
+                    ratio(acc[base + CAPTURES + GameState.RIGHT], acc[base + CONTESTS + GameState.RIGHT]),
+                    ratio(acc[base + CAPTURES + GameState.DOWN], acc[base + CONTESTS + GameState.DOWN]),
+                    ratio(acc[base + CAPTURES + GameState.LEFT], acc[base + CONTESTS + GameState.LEFT]),
+                    card == catalog.size() - 1 ? "" : ",");
+        }
+        out.println("}");
+    }
+
+    /**
+     * Divide dois contadores, tratando divisão por zero.
+     *
+     * @param num Numerador.
+     * @param den Denominador.
+     * @return a razão, ou 0 se o denominador for 0
+     */
+    private static double ratio(long num, long den) {
+        return den == 0 ? 0 : (double) num / den;
+    }
+
+    /**
+     * Ponto de entrada da ferramenta.
+     *
+     * @param args Argumentos no formato {@code --nome=valor}.
+     * @throws IOException Se ocorrer um erro ao escrever o relatório.
+     */
+    public static void main(String[] args) throws IOException {
+        ToolArgs options = new ToolArgs(args);
+        long games = options.getLong("games", 1_000_000);
+        String format = options.getString("format", "csv");
+        Path outPath = Path.of(options.getString("out", "balance." + format));
+
+        BalanceAnalyzer analyzer = new BalanceAnalyzer(CardCatalog.load(), RuleSet.parse(options.getString("rules", RuleSet.DEFAULT_RULES)),
+                BoardGeometry.parse(options.getString("board", "")), options.getString("bot", "greedy"));
+        long start = System.nanoTime();
+        long[] acc = analyzer.run(games, options.getLong("seed", System.nanoTime()));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(outPath, StandardCharsets.UTF_8))) {
+            if ("json".equals(format)) {
+                analyzer.writeJson(acc, out);
+            } else {
+                analyzer.writeCsv(acc, out);
+            }
+        }
+        System.out.printf("%d partidas em %.1fs (%.0f partidas/s). Relatório: %s%n",
+                games, seconds, games / seconds, outPath.toAbsolutePath());
+    }
+}
@@ -0,0 +1,394 @@
+package com.tiduswr.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.GameRunner;
+import com.tiduswr.engine.GameState;
+import com.tiduswr.engine.Rule;
+import com.tiduswr.engine.RuleSet;
+import com.tiduswr.engine.ai.GreedyBot;
+
+/**
+ * Ferramenta que procura as mãos de 5 cartas mais fortes do catálogo com um algoritmo genético.
+ * <p>
+ * A aptidão de uma mão é a sua taxa de vitória (empates valem meia vitória) contra um conjunto fixo de
+ * mãos de referência, com cada confronto jogado duas vezes, alternando quem começa, por bots gulosos no
+ * motor sem interface. A aptidão é guardada por mão canônica (cartas ordenadas), então indivíduos repetidos
+ * não são reavaliados, e as mãos novas de cada geração são avaliadas em paralelo.
+ * </p>
+ * <p>
+ * Uso: {@code java -cp triple_triad.jar com.tiduswr.tools.DeckOptimizer [--population=64] [--generations=40]
+ * [--pool=48] [--budget=30] [--rules=same,plus] [--seed=1] [--top=10]}. O {@code --budget} limita a soma dos níveis das cartas
+ * (nível 1 a 10); sem ele, qualquer mão é permitida.
+ * </p>
+ */
+public class DeckOptimizer {
+
+    /**
+     * Quantidade de indivíduos preservados sem alteração entre gerações.
+     */
+    private static final int ELITE = 2;
+
+    /**
+     * Quantidade de participantes de cada torneio de seleção.
+     */
+    private static final int TOURNAMENT = 3;
+
+    /**
+     * Tamanho das mãos otimizadas. A ferramenta usa sempre o tabuleiro clássico, pois a chave do cache
+     * de aptidão guarda 8 bits por carta em um {@code long}.
+     */
+    private static final int HAND_SIZE = BoardGeometry.CLASSIC.getHandSize();
+
+    /**
+     * Catálogo de cartas.
+     */
+    private final CardCatalog catalog;
+
+    /**
+     * Mãos de referência contra as quais a aptidão é medida.
+     */
+    private final int[][] referencePool;
+
+    /**
+     * Limite para a soma dos níveis das cartas de uma mão ({@link Integer#MAX_VALUE} sem limite).
+     */
+    private final int levelBudget;
+
+    /**
+     * Gerador aleatório do algoritmo genético (usado apenas na thread principal).
+     */
+    private final SplittableRandom random;
+
+    /**
+     * Aptidão já calculada de cada mão canônica.
+     */
+    private final Map<Long, Double> fitnessCache = new ConcurrentHashMap<>();
+
+    /**
+     * Estado de jogo reaproveitado por thread durante as avaliações.
+     */
+    private final ThreadLocal<GameState> states;
+
+    /**
+     * Quantidade de partidas simuladas.
+     */
+    private final LongAdder gamesPlayed = new LongAdder();
+
+    /**
+     * Construtor da classe DeckOptimizer.
+     *
+     * @param catalog     Catálogo de cartas.
+     * @param poolSize    Quantidade de mãos de referência.
+     * @param rules       Regras usadas nas partidas simuladas.
+     * @param levelBudget Limite da soma dos níveis, ou {@link Integer#MAX_VALUE} sem limite.
+     * @param seed        Semente do algoritmo e do conjunto de referência.
+     */
+    public DeckOptimizer(CardCatalog catalog, RuleSet rules, int poolSize, int levelBudget, long seed) {
+        if (levelBudget < HAND_SIZE) {
+            throw new IllegalArgumentException("O limite de níveis precisa ser de pelo menos " + HAND_SIZE);
+        }
+        this.catalog = catalog;
+        this.levelBudget = levelBudget;
+        this.random = new SplittableRandom(seed);
+        this.states = ThreadLocal.withInitial(() -> new GameState(catalog, rules));
+        this.referencePool = new int[poolSize][];
+        SplittableRandom poolRandom = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        for (int i = 0; i < poolSize; i++) {
+            referencePool[i] = randomHand(poolRandom, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Executa o algoritmo genético.
+     *
+     * @param populationSize Quantidade de indivíduos por geração.
+     * @param generations    Quantidade de gerações.
+     * @return As melhores mãos encontradas, da mais forte para a mais fraca, com sua aptidão.
+     */
+    public Map<int[], Double> run(int populationSize, int generations) {
+        List<int[]> population = new ArrayList<>();
+        for (int i = 0; i < populationSize; i++) {
+            population.add(randomHand(random, levelBudget));
+        }
+
+        for (int gen = 0; gen < generations; gen++) {
+            evaluate(population);
+            population.sort(Comparator.comparingDouble(this::fitness).reversed());
+            int[] best = population.get(0);
+            System.out.printf("Geração %3d: melhor %.3f %s (cache: %d mãos, %d partidas)%n",
+                    gen, fitness(best), catalog.describe(best), fitnessCache.size(), gamesPlayed.sum());
+
+            List<int[]> next = new ArrayList<>(population.subList(0, Math.min(ELITE, population.size())));
+            while (next.size() < populationSize) {
+                int[] child = crossover(select(population), select(population));
+                mutate(child);
+                next.add(canonical(child));
+            }
+            population = next;
+        }
+        evaluate(population);
+
+        Map<int[], Double> ranking = new LinkedHashMap<>();
+        fitnessCache.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .forEach(e -> ranking.put(unpack(e.getKey()), e.getValue()));
+        return ranking;
+    }
+
+    /**
+     * Avalia, em paralelo, as mãos da população que ainda não estão no cache.
+     *
+     * @param population População a ser avaliada.
+     */
+    private void evaluate(List<int[]> population) {
+        Map<Long, int[]> pending = new LinkedHashMap<>();
+        for (int[] hand : population) {
+            long key = pack(hand);
+            if (!fitnessCache.containsKey(key)) pending.putIfAbsent(key, hand);
+        }
+        pending.entrySet().parallelStream()
+                .forEach(e -> fitnessCache.put(e.getKey(), simulate(e.getValue(), e.getKey())));
+    }
+
+    /**
+     * Retorna a aptidão já calculada de uma mão.
+     *
+     * @param hand Mão canônica.
+     * @return aptidão entre 0 e 1
+     */
+    private double fitness(int[] hand) {
+        return fitnessCache.get(pack(hand));
+    }
+
+    /**
+     * Joga a mão contra todo o conjunto de referência, duas vezes por confronto, alternando quem começa.
+     *
+     * @param hand Mão avaliada (jogador 0).
+     * @param key  Chave canônica da mão, usada como semente para que o resultado não dependa da thread.
+     * @return taxa de vitória, com empates valendo meia vitória
+     */
+    private double simulate(int[] hand, long key) {
+        GameState state = states.get();
+        GreedyBot bot0 = new GreedyBot(key);
+        GreedyBot bot1 = new GreedyBot(~key);
+        SplittableRandom tileRandom = new SplittableRandom(key);
+        boolean elemental = state.getRules().has(Rule.ELEMENTAL);
+        double points = 0;
+        for (int[] opponent : referencePool) {
+            // Os dois jogos de um confronto usam o mesmo tabuleiro, trocando apenas quem começa
+            int[] tiles = elemental ? GameState.randomTiles(BoardGeometry.CLASSIC, tileRandom) : null;
+            for (int first = 0; first < 2; first++) {
+                state.deal(hand, opponent, first, tiles);
+                int winner = GameRunner.playOut(state, bot0, bot1);
+                points += winner == 0 ? 1 : winner == -1 ? 0.5 : 0;
+            }
+        }
+        gamesPlayed.add(referencePool.length * 2L);
+        return points / (referencePool.length * 2);
+    }
+
+    /**
+     * Seleciona um indivíduo por torneio.
+     *
+     * @param population População ordenada e avaliada.
+     * @return O vencedor do torneio.
+     */
+    private int[] select(List<int[]> population) {
+        int[] best = null;
+        for (int i = 0; i < TOURNAMENT; i++) {
+            int[] candidate = population.get(random.nextInt(population.size()));
+            if (best == null || fitness(candidate) > fitness(best)) best = candidate;
+        }
+        return best;
+    }
+
+    /**
+     * Cruza dois pais sorteando 5 cartas distintas da união das suas mãos, respeitando o limite de níveis.
+     *
+     * @param a Primeiro pai.
+     * @param b Segundo pai.
+     * @return O filho (não canônico).
+     */
+    private int[] crossover(int[] a, int[] b) {
+        int[] genes = Arrays.stream(new int[][] { a, b }).flatMapToInt(Arrays::stream).distinct().toArray();
+        for (int attempt = 0; attempt < 20; attempt++) {
+            shuffle(genes);
+            int[] child = Arrays.copyOf(genes, HAND_SIZE);
+            if (levels(child) <= levelBudget) return child;
+        }
+        return a.clone();
+    }
+
+    /**
+     * Substitui uma carta aleatória por outra ausente da mão, respeitando o limite de níveis.
+     *
+     * @param hand Mão a ser modificada.
+     */
+    private void mutate(int[] hand) {
+        if (random.nextInt(3) != 0) return;
+        int slot = random.nextInt(hand.length);
+        int original = hand[slot];
+        for (int attempt = 0; attempt < 50; attempt++) {
+            int card = random.nextInt(catalog.size());
+            if (contains(hand, card)) continue;
+            hand[slot] = card;
+            if (levels(hand) <= levelBudget) return;
+        }
+        hand[slot] = original;
+    }
+
+    /**
+     * Sorteia uma mão canônica de cartas distintas dentro do limite de níveis.
+     *
+     * @param random Gerador aleatório.
+     * @param budget Limite da soma dos níveis.
+     * @return A mão sorteada.
+     */
+    private int[] randomHand(SplittableRandom random, int budget) {
+        int[] hand = new int[HAND_SIZE];
+        do {
+            for (int i = 0; i < hand.length; i++) {
+                int card;
+                do {
+                    card = random.nextInt(catalog.size());
+                } while (contains(hand, i, card));
+                hand[i] = card;
+            }
+            // Troca a carta de maior nível por uma de nível 1 até caber no limite
+            while (levels(hand) > budget) {
+                int worst = 0;
+                for (int i = 1; i < hand.length; i++) {
+                    if (catalog.level(hand[i]) > catalog.level(hand[worst])) worst = i;
+                }
+                hand[worst] = random.nextInt(CardCatalog.CARDS_PER_LEVEL);
+            }
+        } while (Arrays.stream(hand).distinct().count() != hand.length);
+        return canonical(hand);
+    }
+
+    /**
+     * Soma os níveis das cartas de uma mão.
+     *
+     * @param hand Mão.
+     * @return soma dos níveis
+     */
+    private int levels(int[] hand) {
+        int sum = 0;
+        for (int card : hand) sum += catalog.level(card);
+        return sum;
+    }
+
+    /**
+     * Embaralha um vetor no lugar.
+     *
+     * @param values Vetor a ser embaralhado.
+     */
+    private void shuffle(int[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+
+    /**
+     * Ordena as cartas de uma mão, produzindo sua forma canônica.
+     *
+     * @param hand Mão.
+     * @return A própria mão, ordenada.
+     */
+    private static int[] canonical(int[] hand) {
+        Arrays.sort(hand);
+        return hand;
+    }
+
+    /**
+     * Verifica se a mão contém uma carta.
+     *
+     * @param hand Mão.
+     * @param card Carta procurada.
+     * @return {@code true} se a carta está na mão
+     */
+    private static boolean contains(int[] hand, int card) {
+        return contains(hand, hand.length, card);
+    }
+
+    /**
+     * Verifica se as primeiras posições de uma mão contêm uma carta.
+     *
+     * @param hand  Mão.
+     * @param count Quantidade de posições consideradas.
+     * @param card  Carta procurada.
+     * @return {@code true} se a carta está entre as posições consideradas
+     */
+    private static boolean contains(int[] hand, int count, int card) {
+        for (int i = 0; i < count; i++) {
+            if (hand[i] == card) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Empacota uma mão canônica em um {@code long} (8 bits por carta).
+     *
+     * @param hand Mão canônica.
+     * @return chave da mão
+     */
+    private static long pack(int[] hand) {
+        long key = 0;
+        for (int card : hand) key = (key << 8) | card;
+        return key;
+    }
+
+    /**
+     * Desempacota uma chave gerada por {@link #pack(int[])}.
+     *
+     * @param key Chave da mão.
+     * @return A mão canônica.
+     */
+    private static int[] unpack(long key) {
+        int[] hand = new int[HAND_SIZE];
+        for (int i = hand.length - 1; i >= 0; i--) {
+            hand[i] = (int) (key & 0xFF);
+            key >>>= 8;
+        }
+        return hand;
+    }
+
+    /**
+     * Ponto de entrada da ferramenta.
+     *
+     * @param args Argumentos no formato {@code --nome=valor}.
+     */
+    public static void main(String[] args) {
+        ToolArgs options = new ToolArgs(args);
+        CardCatalog catalog = CardCatalog.load();
+        DeckOptimizer optimizer = new DeckOptimizer(catalog,
+                RuleSet.parse(options.getString("rules", RuleSet.DEFAULT_RULES)),
+                options.getInt("pool", 48),
+                options.getInt("budget", Integer.MAX_VALUE),
+                options.getLong("seed", System.nanoTime()));
+
+        long start = System.nanoTime();
+        Map<int[], Double> ranking = optimizer.run(options.getInt("population", 64), options.getInt("generations", 40));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%nMelhores mãos (%d partidas em %.1fs, %.0f partidas/s, %d threads):%n",
+                optimizer.gamesPlayed.sum(), seconds, optimizer.gamesPlayed.sum() / seconds,
+                Runtime.getRuntime().availableProcessors());
+        ranking.entrySet().stream().limit(options.getInt("top", 10)).forEach(e ->
+                System.out.printf("%.3f  nível %2d  %s%n", e.getValue(), optimizer.levels(e.getKey()), catalog.describe(e.getKey())));
+    }
+}
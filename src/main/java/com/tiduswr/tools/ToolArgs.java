@@ -0,0 +1,78 @@
+package com.tiduswr.tools;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leitor simples de argumentos de linha de comando no formato {@code --nome=valor} para as ferramentas em lote.
+ */
+public class ToolArgs {
+
+    /**
+     * Valores lidos, indexados pelo nome (sem o prefixo {@code --}).
+     */
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * Construtor que interpreta os argumentos recebidos pelo {@code main}.
+     *
+     * @param args Argumentos de linha de comando.
+     * @throws IllegalArgumentException Se algum argumento não estiver no formato esperado.
+     */
+    public ToolArgs(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Argumento inválido: " + arg);
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+    }
+
+    /**
+     * Retorna um argumento inteiro.
+     *
+     * @param name         Nome do argumento.
+     * @param defaultValue Valor usado quando o argumento não foi informado.
+     * @return valor do argumento
+     */
+    public int getInt(String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /**
+     * Retorna um argumento inteiro longo.
+     *
+     * @param name         Nome do argumento.
+     * @param defaultValue Valor usado quando o argumento não foi informado.
+     * @return valor do argumento
+     */
+    public long getLong(String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    /**
+     * Retorna um argumento textual.
+     *
+     * @param name         Nome do argumento.
+     * @param defaultValue Valor usado quando o argumento não foi informado.
+     * @return valor do argumento
+     */
+    public String getString(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Verifica se um argumento foi informado.
+     *
+     * @param name Nome do argumento.
+     * @return {@code true} se o argumento está presente
+     */
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+}
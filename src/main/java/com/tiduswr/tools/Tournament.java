@@ -0,0 +1,484 @@
+package com.tiduswr.tools;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.Dealer;
+import com.tiduswr.engine.GameRunner;
+import com.tiduswr.engine.GameState;
+import com.tiduswr.engine.Rule;
+import com.tiduswr.engine.RuleSet;
+import com.tiduswr.engine.ai.Bot;
+import com.tiduswr.engine.ai.Bots;
+
+/**
+ * Ferramenta em lote que coloca bots para jogar entre si em um torneio todos contra todos ou no sistema suíço,
+ * e escreve uma tabela cruzada com a pontuação de cada confronto e o seu intervalo de confiança de 95%.
+ * <p>
+ * Cada distribuição (mãos, tabuleiro da regra Elemental e quem começa) é jogada duas vezes, trocando os bots
+ * de assento, para que nenhum deles seja favorecido pela mão ou pela ordem de jogo. As mãos saem de um
+ * {@link Dealer} sem reposição, como na interface: nenhuma carta se repete entre os dois jogadores. As
+ * distribuições de um confronto são divididas em blocos de {@value #CHUNK} e executadas em um
+ * {@link ForkJoinPool} (roubo de tarefas); cada thread reaproveita o seu {@link GameState}, e as sementes
+ * dependem apenas do bloco, então o resultado não depende do escalonamento.
+ * </p>
+ * <p>
+ * Uso: {@code java -cp triple_triad.jar com.tiduswr.tools.Tournament [--bots=greedy,random]
+ * [--format=roundrobin|swiss] [--rounds=4] [--deals=2000] [--rules=same,plus] [--board=3x3] [--threads=8]
+ * [--seed=1] [--out=tournament.csv]}.
+ * </p>
+ */
+public class Tournament {
+
+    /**
+     * Quantidade de distribuições por tarefa.
+     */
+    private static final int CHUNK = 256;
+
+    /**
+     * Valor crítico da normal para o intervalo de confiança de 95%.
+     */
+    private static final double Z95 = 1.96;
+
+    /**
+     * Distribuidor das mãos, sem reposição.
+     */
+    private final Dealer dealer;
+
+    /**
+     * Regras usadas nas partidas.
+     */
+    private final RuleSet rules;
+
+    /**
+     * Dimensões do tabuleiro.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Nomes dos bots participantes (registrados em {@link Bots}).
+     */
+    private final String[] bots;
+
+    /**
+     * Rótulos dos participantes na tabela (o nome, numerado quando o mesmo bot aparece mais de uma vez).
+     */
+    private final String[] labels;
+
+    /**
+     * Pool de threads com roubo de tarefas onde as partidas são executadas.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Estado reaproveitado por cada thread do pool.
+     */
+    private final ThreadLocal<GameState> states;
+
+    /**
+     * Resultados de cada confronto do ponto de vista do participante da linha ({@code results[a][b]}).
+     */
+    private final Score[][] results;
+
+    /**
+     * Semente base do torneio.
+     */
+    private final long seed;
+
+    /**
+     * Quantidade de partidas jogadas.
+     */
+    private long gamesPlayed;
+
+    /**
+     * Construtor da classe Tournament.
+     *
+     * @param catalog  Catálogo de cartas.
+     * @param rules    Regras usadas nas partidas.
+     * @param geometry Dimensões do tabuleiro.
+     * @param bots     Nomes dos bots participantes.
+     * @param threads  Quantidade de threads do pool.
+     * @param seed     Semente do torneio.
+     */
+    public Tournament(CardCatalog catalog, RuleSet rules, BoardGeometry geometry, List<String> bots, int threads, long seed) {
+        if (bots.size() < 2) throw new IllegalArgumentException("O torneio precisa de pelo menos dois bots!");
+        this.dealer = Dealer.uniform(catalog, false);
+        this.rules = rules;
+        this.geometry = geometry;
+        this.bots = new String[bots.size()];
+        this.labels = new String[bots.size()];
+        for (int i = 0; i < this.bots.length; i++) {
+            String name = bots.get(i).trim().toLowerCase();
+            Bots.create(name, 0); // valida o nome antes de iniciar
+            long repeats = bots.subList(0, i).stream().filter(b -> b.trim().equalsIgnoreCase(name)).count();
+            this.bots[i] = name;
+            this.labels[i] = repeats == 0 ? name : name + "#" + (repeats + 1);
+        }
+        this.pool = new ForkJoinPool(threads);
+        this.states = ThreadLocal.withInitial(() -> new GameState(catalog, rules, geometry));
+        this.results = new Score[this.bots.length][this.bots.length];
+        for (Score[] row : results) {
+            for (int j = 0; j < row.length; j++) row[j] = new Score();
+        }
+        this.seed = seed;
+    }
+
+    /**
+     * Joga todos os confrontos possíveis de uma só vez.
+     *
+     * @param deals Distribuições por confronto (cada uma vale duas partidas).
+     */
+    public void roundRobin(int deals) {
+        List<int[]> pairings = new ArrayList<>();
+        for (int a = 0; a < bots.length; a++) {
+            for (int b = a + 1; b < bots.length; b++) pairings.add(new int[] { a, b });
+        }
+        playRound(pairings, deals, 0);
+    }
+
+    /**
+     * Joga um torneio no sistema suíço: a cada rodada, os participantes são ordenados pela pontuação e
+     * emparelhados com o vizinho de tabela que ainda não enfrentaram. Com um número ímpar de participantes,
+     * o último colocado que ainda não folgou fica de fora da rodada.
+     *
+     * @param rounds Quantidade de rodadas.
+     * @param deals  Distribuições por confronto.
+     */
+    public void swiss(int rounds, int deals) {
+        boolean[] hadBye = new boolean[bots.length];
+        for (int round = 0; round < rounds; round++) {
+            Integer[] order = standings();
+            List<Integer> waiting = new ArrayList<>(Arrays.asList(order));
+            if (waiting.size() % 2 == 1) {
+                int index = waiting.size() - 1;
+                while (index > 0 && hadBye[waiting.get(index)]) index--;
+                if (hadBye[waiting.get(index)]) index = waiting.size() - 1;
+                int bye = waiting.remove(index);
+                hadBye[bye] = true;
+                System.out.printf("Rodada %d: %s folga%n", round + 1, labels[bye]);
+            }
+            List<int[]> pairings = new ArrayList<>();
+            while (!waiting.isEmpty()) {
+                int a = waiting.remove(0);
+                int pick = 0;
+                for (int i = 0; i < waiting.size(); i++) {
+                    if (results[a][waiting.get(i)].pairs == 0) {
+                        pick = i;
+                        break;
+                    }
+                }
+                pairings.add(new int[] { a, waiting.remove(pick) });
+            }
+            playRound(pairings, deals, round);
+            System.out.printf("Rodada %d: %s%n", round + 1, describe(pairings));
+        }
+    }
+
+    /**
+     * Agenda todas as partidas de uma rodada no pool e soma os resultados de cada confronto.
+     *
+     * @param pairings Confrontos da rodada ({@code {a, b}}).
+     * @param deals    Distribuições por confronto.
+     * @param round    Número da rodada, usado nas sementes.
+     */
+    private void playRound(List<int[]> pairings, int deals, int round) {
+        List<ForkJoinTask<Score>> tasks = new ArrayList<>();
+        List<int[]> owners = new ArrayList<>();
+        for (int[] pairing : pairings) {
+            int a = pairing[0];
+            int b = pairing[1];
+            for (int from = 0; from < deals; from += CHUNK) {
+                int start = from;
+                int end = Math.min(deals, from + CHUNK);
+                long chunkSeed = mix(seed, round, a, b, start);
+                tasks.add(pool.submit(() -> playChunk(a, b, end - start, chunkSeed)));
+                owners.add(pairing);
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            Score score = tasks.get(i).join();
+            int a = owners.get(i)[0];
+            int b = owners.get(i)[1];
+            results[a][b].add(score);
+            results[b][a].add(score.mirrored());
+            gamesPlayed += score.games();
+        }
+    }
+
+    /**
+     * Joga um bloco de distribuições de um confronto, cada uma duas vezes com os assentos trocados.
+     *
+     * @param a         Participante cujo ponto de vista é registrado.
+     * @param b         Adversário.
+     * @param deals     Quantidade de distribuições.
+     * @param chunkSeed Semente do bloco.
+     * @return resultado do bloco do ponto de vista de {@code a}
+     */
+    private Score playChunk(int a, int b, int deals, long chunkSeed) {
+        GameState state = states.get();
+        SplittableRandom random = new SplittableRandom(chunkSeed);
+        Bot botA = Bots.create(bots[a], random.nextLong());
+        Bot botB = Bots.create(bots[b], random.nextLong());
+        boolean elemental = rules.has(Rule.ELEMENTAL);
+        int handSize = geometry.getHandSize();
+        int[] cards = new int[2 * handSize];
+        int[] hand0 = new int[handSize];
+        int[] hand1 = new int[handSize];
+        Score score = new Score();
+
+        for (int d = 0; d < deals; d++) {
+            dealer.deal(random, cards, 0, cards.length);
+            System.arraycopy(cards, 0, hand0, 0, handSize);
+            System.arraycopy(cards, handSize, hand1, 0, handSize);
+            int first = random.nextInt(2);
+            int[] tiles = elemental ? GameState.randomTiles(geometry, random) : null;
+
+            state.deal(hand0, hand1, first, tiles);
+            double seated0 = points(GameRunner.playOut(state, botA, botB), 0);
+            state.deal(hand0, hand1, first, tiles);
+            double seated1 = points(GameRunner.playOut(state, botB, botA), 1);
+            score.record(seated0);
+            score.record(seated1);
+            score.recordPair((seated0 + seated1) / 2);
+        }
+        return score;
+    }
+
+    /**
+     * Converte o vencedor de uma partida em pontos para um assento.
+     *
+     * @param winner Vencedor (0, 1 ou -1 para empate).
+     * @param seat   Assento avaliado.
+     * @return 1 pela vitória, 0,5 pelo empate e 0 pela derrota
+     */
+    private static double points(int winner, int seat) {
+        return winner == seat ? 1 : winner == -1 ? 0.5 : 0;
+    }
+
+    /**
+     * Combina a semente do torneio com a posição de um bloco no calendário.
+     */
+    private static long mix(long seed, int round, int a, int b, int from) {
+        long h = seed;
+        for (long v : new long[] { round, a, b, from }) {
+            h = (h ^ v) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+
+    /**
+     * Ordena os participantes pela pontuação total, do primeiro para o último.
+     *
+     * @return índices dos participantes
+     */
+    private Integer[] standings() {
+        Integer[] order = new Integer[bots.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> total(i).rate()).reversed());
+        return order;
+    }
+
+    /**
+     * Soma os resultados de um participante contra todos os adversários.
+     *
+     * @param a Participante.
+     * @return resultado total
+     */
+    private Score total(int a) {
+        Score total = new Score();
+        for (int b = 0; b < bots.length; b++) {
+            if (b != a) total.add(results[a][b]);
+        }
+        return total;
+    }
+
+    /**
+     * Descreve os confrontos de uma rodada.
+     */
+    private String describe(List<int[]> pairings) {
+        StringBuilder sb = new StringBuilder();
+        for (int[] p : pairings) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(labels[p[0]]).append(String.format(Locale.ROOT, " %.3f x ", results[p[0]][p[1]].rate()))
+                    .append(labels[p[1]]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escreve a tabela cruzada em texto: cada célula é a pontuação do participante da linha contra o da coluna
+     * (empates valem meio ponto), com o intervalo de confiança de 95%.
+     *
+     * @param out Destino da tabela.
+     */
+    public void writeTable(PrintWriter out) {
+        int width = Math.max(8, Arrays.stream(labels).mapToInt(String::length).max().orElse(0) + 1);
+        out.printf("%-" + width + "s", "");
+        for (String label : labels) out.printf("%15s", label);
+        out.printf("%15s%10s  %s%n", "total", "partidas", "V/E/D");
+        for (Integer a : standings()) {
+            out.printf("%-" + width + "s", labels[a]);
+            for (int b = 0; b < bots.length; b++) {
+                Score s = results[a][b];
+                out.printf("%15s", a == b || s.pairs == 0 ? "-" : String.format(Locale.ROOT, "%.3f±%.3f", s.rate(), s.margin()));
+            }
+            Score t = total(a);
+            out.printf(Locale.ROOT, "%15s%10d  %d/%d/%d%n", String.format(Locale.ROOT, "%.3f±%.3f", t.rate(), t.margin()),
+                    t.games(), t.wins, t.draws, t.losses);
+        }
+        out.flush();
+    }
+
+    /**
+     * Escreve a tabela cruzada em CSV (separado por ponto e vírgula), com uma linha por confronto.
+     *
+     * @param out Destino da tabela.
+     */
+    public void writeCsv(PrintWriter out) {
+        out.println("bot;opponent;games;wins;draws;losses;score;ci95");
+        for (int a = 0; a < bots.length; a++) {
+            for (int b = 0; b < bots.length; b++) {
+                Score s = results[a][b];
+                if (a == b || s.pairs == 0) continue;
+                out.printf(Locale.ROOT, "%s;%s;%d;%d;%d;%d;%.4f;%.4f%n",
+                        labels[a], labels[b], s.games(), s.wins, s.draws, s.losses, s.rate(), s.margin());
+            }
+        }
+    }
+
+    /**
+     * Encerra o pool de threads.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Retorna a quantidade de partidas jogadas.
+     *
+     * @return número de partidas
+     */
+    public long getGamesPlayed() {
+        return this.gamesPlayed;
+    }
+
+    /**
+     * Resultado acumulado de um participante contra um adversário. O intervalo de confiança usa a média
+     * de cada par de partidas espelhadas como amostra, já que as duas partidas de uma distribuição não
+     * são independentes.
+     */
+    private static final class Score {
+
+        /** Vitórias, empates e derrotas. */
+        long wins, draws, losses;
+        /** Quantidade de pares espelhados. */
+        long pairs;
+        /** Soma e soma dos quadrados da pontuação de cada par. */
+        double sum, sumSq;
+
+        void record(double points) {
+            if (points == 1) wins++;
+            else if (points == 0) losses++;
+            else draws++;
+        }
+
+        void recordPair(double points) {
+            pairs++;
+            sum += points;
+            sumSq += points * points;
+        }
+
+        void add(Score other) {
+            wins += other.wins;
+            draws += other.draws;
+            losses += other.losses;
+            pairs += other.pairs;
+            sum += other.sum;
+            sumSq += other.sumSq;
+        }
+
+        Score mirrored() {
+            Score m = new Score();
+            m.wins = losses;
+            m.draws = draws;
+            m.losses = wins;
+            m.pairs = pairs;
+            m.sum = pairs - sum;
+            m.sumSq = pairs - 2 * sum + sumSq; // soma de (1 - x)²
+            return m;
+        }
+
+        long games() {
+            return wins + draws + losses;
+        }
+
+        double rate() {
+            return pairs == 0 ? 0 : sum / pairs;
+        }
+
+        double margin() {
+            if (pairs < 2) return 0;
+            double mean = sum / pairs;
+            double variance = Math.max(0, (sumSq - pairs * mean * mean) / (pairs - 1));
+            return Z95 * Math.sqrt(variance / pairs);
+        }
+    }
+
+    /**
+     * Ponto de entrada da ferramenta.
+     *
+     * @param args Argumentos no formato {@code --nome=valor}.
+     * @throws IOException Se ocorrer um erro ao escrever o CSV.
+     */
+    public static void main(String[] args) throws IOException {
+        ToolArgs options = new ToolArgs(args);
+        List<String> bots = Arrays.asList(options.getString("bots", String.join(",", Bots.names())).split(","));
+        String format = options.getString("format", "roundrobin");
+        int deals = options.getInt("deals", 2000);
+
+        Tournament tournament = new Tournament(CardCatalog.load(), RuleSet.parse(options.getString("rules", RuleSet.DEFAULT_RULES)),
+                BoardGeometry.parse(options.getString("board", "")), bots,
+                options.getInt("threads", Runtime.getRuntime().availableProcessors()),
+                options.getLong("seed", System.nanoTime()));
+        long start = System.nanoTime();
+        try {
+            if ("swiss".equals(format)) {
+                int rounds = options.getInt("rounds", 32 - Integer.numberOfLeadingZeros(bots.size() - 1) + 1);
+                tournament.swiss(rounds, deals);
+            } else {
+                tournament.roundRobin(deals);
+            }
+        } finally {
+            tournament.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        PrintWriter console = new PrintWriter(System.out);
+        console.println();
+        tournament.writeTable(console);
+        System.out.printf("%n%d partidas em %.1fs (%.0f partidas/s)%n",
+                tournament.getGamesPlayed(), seconds, tournament.getGamesPlayed() / seconds);
+
+        if (options.has("out")) {
+            Path outPath = Path.of(options.getString("out", "tournament.csv"));
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(outPath, StandardCharsets.UTF_8))) {
+                tournament.writeCsv(out);
+            }
+            System.out.println("Tabela: " + outPath.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.tiduswr.view;
+
+import javax.swing.JComponent;
+
+/**
+ * Animação de um componente, avançada quadro a quadro pelo {@link FrameClock}.
+ */
+public interface Animation {
+
+    /**
+     * Avança a animação até o instante informado, ajustando o estado do componente.
+     *
+     * @param now Instante atual ({@link System#nanoTime()}).
+     * @return true enquanto a animação não terminou
+     */
+    boolean advance(long now);
+
+    /**
+     * Leva o componente imediatamente ao estado final da animação.
+     */
+    void finish();
+
+    /**
+     * Retorna o componente animado, que precisa ser redesenhado a cada quadro.
+     *
+     * @return O componente animado.
+     */
+    JComponent getTarget();
+}
@@ -1,45 +1,217 @@
 package com.tiduswr.view;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Insets;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 
 import javax.imageio.ImageIO;
 import javax.swing.JPanel;
 
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+
 /**
  * Classe que representa um painel com um fundo personalizado.
+ * <p>
+ * O fundo é montado no tamanho do painel (esticado, ladrilhado ou em 9 partes) em uma imagem compatível com a
+ * tela, refeita apenas quando o tamanho do painel ou a tela mudam; cada pintura apenas copia essa imagem.
+ * </p>
  */
 public class BackgroundPanel extends JPanel {
 
-    /** 
+    /**
+     * Formas de ajustar a imagem de fundo ao tamanho do painel.
+     */
+    public enum Scaling {
+        /** Estica a imagem inteira para o tamanho do painel. */
+        STRETCH,
+        /** Repete a imagem no tamanho original a partir do canto superior esquerdo. */
+        TILE,
+        /** Mantém os cantos, estica as bordas em uma direção e o centro nas duas. */
+        NINE_SLICE
+    }
+
+    /**
+     * Latência de montagem do fundo no tamanho do painel.
+     */
+    private static final LatencyHistogram scaleLatency = MetricsRegistry.getInstance().histogram("background.scale");
+
+    /**
      * Imagem de fundo
      */
     private BufferedImage backgroundImage;
 
     /**
-     * Construtor que carrega a imagem de fundo a partir do nome do arquivo fornecido.
+     * Forma de ajuste da imagem de fundo.
+     */
+    private final Scaling scaling;
+
+    /**
+     * Tamanho dos cantos na imagem original, usado em {@link Scaling#NINE_SLICE}.
+     */
+    private final Insets slices;
+
+    /**
+     * Fundo montado no tamanho atual do painel, ou null se ainda não foi montado.
+     */
+    private Image scaledImage;
+
+    /**
+     * Configuração da tela para a qual o fundo foi montado.
+     */
+    private GraphicsConfiguration scaledConfiguration;
+
+    /**
+     * Construtor que carrega a imagem de fundo a partir do nome do arquivo fornecido, esticada no painel.
      *
      * @param fileName O nome do arquivo da imagem de fundo.
      */
     public BackgroundPanel(String fileName) {
+        this(fileName, Scaling.STRETCH, null);
+    }
+
+    /**
+     * Construtor que carrega a imagem de fundo e a ajusta ao painel esticada ou ladrilhada.
+     *
+     * @param fileName O nome do arquivo da imagem de fundo.
+     * @param scaling  {@link Scaling#STRETCH} ou {@link Scaling#TILE}.
+     */
+    public BackgroundPanel(String fileName, Scaling scaling) {
+        this(fileName, scaling, null);
+    }
+
+    /**
+     * Construtor que carrega a imagem de fundo e a ajusta ao painel em 9 partes.
+     *
+     * @param fileName O nome do arquivo da imagem de fundo.
+     * @param slices   Tamanho dos cantos na imagem original (em pixels).
+     */
+    public BackgroundPanel(String fileName, Insets slices) {
+        this(fileName, Scaling.NINE_SLICE, slices);
+    }
+
+    /**
+     * Construtor comum.
+     *
+     * @param fileName O nome do arquivo da imagem de fundo.
+     * @param scaling  Forma de ajuste da imagem.
+     * @param slices   Tamanho dos cantos na imagem original, obrigatório apenas em {@link Scaling#NINE_SLICE}.
+     */
+    private BackgroundPanel(String fileName, Scaling scaling, Insets slices) {
+        if (scaling == Scaling.NINE_SLICE && slices == null) {
+            throw new IllegalArgumentException("O fundo em 9 partes precisa do tamanho dos cantos");
+        }
+        this.scaling = scaling;
+        this.slices = slices;
         try {
             backgroundImage = ImageIO.read(getClass().getResourceAsStream(fileName));
         } catch (IOException e) {
             e.printStackTrace();
         }
+        if (backgroundImage != null && slices != null && (slices.left + slices.right >= backgroundImage.getWidth()
+                || slices.top + slices.bottom >= backgroundImage.getHeight())) {
+            throw new IllegalArgumentException("Os cantos " + slices + " não cabem na imagem " + fileName);
+        }
     }
 
     /**
-     * Método que pinta o componente, desenhando a imagem de fundo.
+     * Método que pinta o componente, copiando o fundo já montado no tamanho do painel.
      *
      * @param g O objeto Graphics utilizado para desenhar no painel.
      */
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+        Image image = getScaledImage();
+        if (image != null) {
+            g.drawImage(image, 0, 0, this);
+        }
+    }
+
+    /**
+     * Obtém o fundo montado no tamanho atual do painel, montando-o se o tamanho ou a tela mudaram.
+     *
+     * @return O fundo no tamanho do painel, ou null se não houver imagem ou o painel não tiver tamanho.
+     */
+    public Image getScaledImage() {
+        int width = getWidth();
+        int height = getHeight();
+        if (backgroundImage == null || width <= 0 || height <= 0) {
+            return null;
+        }
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (scaledImage == null || scaledImage.getWidth(null) != width || scaledImage.getHeight(null) != height
+                || gc != scaledConfiguration) {
+            long start = System.nanoTime();
+            scaledImage = CardImages.paint(gc, width, height, g2d -> paintBackground(g2d, width, height));
+            scaledConfiguration = gc;
+            scaleLatency.recordSince(start);
         }
+        return scaledImage;
+    }
+
+    /**
+     * Desenha a imagem de fundo ajustada ao tamanho informado.
+     *
+     * @param g2d    O objeto Graphics2D do destino.
+     * @param width  Largura do destino.
+     * @param height Altura do destino.
+     */
+    private void paintBackground(Graphics2D g2d, int width, int height) {
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        int sw = backgroundImage.getWidth();
+        int sh = backgroundImage.getHeight();
+        switch (scaling) {
+            case STRETCH:
+                g2d.drawImage(backgroundImage, 0, 0, width, height, null);
+                break;
+            case TILE:
+                for (int y = 0; y < height; y += sh) {
+                    for (int x = 0; x < width; x += sw) {
+                        g2d.drawImage(backgroundImage, x, y, null);
+                    }
+                }
+                break;
+            case NINE_SLICE:
+                // os cantos mantêm o tamanho original, a menos que o painel seja menor que eles
+                double fx = Math.min(1.0, (double) width / (slices.left + slices.right));
+                double fy = Math.min(1.0, (double) height / (slices.top + slices.bottom));
+                int[] dx = { 0, (int) Math.round(slices.left * fx), width - (int) Math.round(slices.right * fx), width };
+                int[] dy = { 0, (int) Math.round(slices.top * fy), height - (int) Math.round(slices.bottom * fy), height };
+                int[] sx = { 0, slices.left, sw - slices.right, sw };
+                int[] sy = { 0, slices.top, sh - slices.bottom, sh };
+                for (int row = 0; row < 3; row++) {
+                    for (int col = 0; col < 3; col++) {
+                        if (dx[col + 1] > dx[col] && dy[row + 1] > dy[row]) {
+                            g2d.drawImage(backgroundImage, dx[col], dy[row], dx[col + 1], dy[row + 1], sx[col],
+                                    sy[row], sx[col + 1], sy[row + 1], null);
+                        }
+                    }
+                }
+                break;
+        }
+    }
+
+    /**
+     * Obtém a imagem de fundo original, sem redimensionamento.
+     *
+     * @return A imagem de fundo, ou null se não pôde ser carregada.
+     */
+    public BufferedImage getBackgroundImage() {
+        return backgroundImage;
+    }
+
+    /**
+     * Obtém a forma de ajuste da imagem de fundo.
+     *
+     * @return A forma de ajuste.
+     */
+    public Scaling getScaling() {
+        return scaling;
     }
-}
\ No newline at end of file
+}
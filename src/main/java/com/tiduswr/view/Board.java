@@ -1,10 +1,17 @@
 package com.tiduswr.view;
 
+import java.awt.Graphics;
 import java.awt.GridLayout;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.tiduswr.metrics.Counter;
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+import com.tiduswr.metrics.jfr.BoardRepaintEvent;
+import com.tiduswr.metrics.jfr.CardPlacementEvent;
 import com.tiduswr.model.CardData;
+import com.tiduswr.model.CardsReader;
 import com.tiduswr.model.PlayerCardData;
 import com.tiduswr.view.listeners.CardAddedListener;
 import com.tiduswr.view.listeners.PositionListener;
@@ -14,11 +21,31 @@ import com.tiduswr.view.listeners.PositionListener;
  * e os eventos de interação com o campo são tratados.
  */
 public class Board extends BackgroundPanel {
+
+    /**
+     * Latência de {@link #addCard(PlayerCardData, int, int)}, incluindo a notificação dos ouvintes.
+     */
+    private static final LatencyHistogram addCardLatency = MetricsRegistry.getInstance().histogram("board.addCard");
+
+    /**
+     * Quantidade de jogadas rejeitadas por posição ocupada.
+     */
+    private static final Counter rejectedPlacements = MetricsRegistry.getInstance().counter("board.addCard.rejected");
     
     /**
      * Matriz de componentes de cartas que representa as posições do tabuleiro.
      */
     private CardComponent[][] boardButtons;
+
+    /**
+     * Quantidade de linhas do tabuleiro.
+     */
+    private final int rows;
+
+    /**
+     * Quantidade de colunas do tabuleiro.
+     */
+    private final int cols;
     
     /**
      * Lista contendo todas as cartas carregadas do arquivo CSV.
@@ -36,15 +63,34 @@ public class Board extends BackgroundPanel {
     private List<PositionListener> positionListeners;
 
     /**
-     * Construtor da classe Board que inicializa o tabuleiro com um fundo e uma lista de cartas.
+     * Indica se o tabuleiro é desenhado pelo {@link BoardRenderer} em vez da hierarquia do Swing.
+     */
+    private boolean renderedExternally;
+
+    /**
+     * Construtor da classe Board que inicializa um tabuleiro 3x3 com um fundo e uma lista de cartas.
      *
      * @param filename O nome do arquivo da imagem de fundo do tabuleiro.
      * @param allCards A lista de todas as cartas disponíveis.
      */
     public Board(String filename, List<CardData> allCards) {
+        this(filename, allCards, 3, 3);
+    }
+
+    /**
+     * Construtor da classe Board que inicializa o tabuleiro com um fundo, uma lista de cartas e as dimensões informadas.
+     *
+     * @param filename O nome do arquivo da imagem de fundo do tabuleiro.
+     * @param allCards A lista de todas as cartas disponíveis.
+     * @param rows Quantidade de linhas do tabuleiro.
+     * @param cols Quantidade de colunas do tabuleiro.
+     */
+    public Board(String filename, List<CardData> allCards, int rows, int cols) {
         super(filename);
-        boardButtons = new CardComponent[3][3];
-        setLayout(new GridLayout(3, 3));
+        this.rows = rows;
+        this.cols = cols;
+        boardButtons = new CardComponent[rows][cols];
+        setLayout(new GridLayout(rows, cols));
         this.allCards = allCards;
         this.cardAddedListeners = new ArrayList<>();
         this.positionListeners = new ArrayList<>();
@@ -78,20 +124,55 @@ public class Board extends BackgroundPanel {
      * @return True se a carta foi adicionada com sucesso, false caso contrário.
      */
     public boolean addCard(PlayerCardData cardData, int row, int col) {
-        if (boardButtons[row][col].getInfo() != null) return false;
+        if (boardButtons[row][col].getInfo() != null) {
+            rejectedPlacements.increment();
+            return false;
+        }
+        long start = System.nanoTime();
+        CardPlacementEvent event = new CardPlacementEvent();
+        event.begin();
         boardButtons[row][col].setInfo(cardData);
         configureCardAddedListeners(cardData, row, col);
         redrawCards();
+        FrameClock.getInstance().start(CardAnimation.place(boardButtons[row][col]));
+        addCardLatency.recordSince(start);
+        if (event.shouldCommit()) {
+            event.card = cardData.getCardData().getName();
+            event.player = cardData.getOwner().getName();
+            event.row = row;
+            event.col = col;
+            event.commit();
+        }
         return true;
     }
 
+    /**
+     * Pinta o tabuleiro completo (fundo e cartas), emitindo um {@link BoardRepaintEvent}.
+     *
+     * @param g O objeto Graphics utilizado para desenhar.
+     */
+    @Override
+    public void paint(Graphics g) {
+        if (renderedExternally)
+            return;
+        BoardRepaintEvent event = new BoardRepaintEvent();
+        event.begin();
+        super.paint(g);
+        InputLatencyTracker.getInstance().framePainted();
+        if (event.shouldCommit()) {
+            event.width = getWidth();
+            event.height = getHeight();
+            event.commit();
+        }
+    }
+
     /**
      * Atualiza a exibição das cartas no tabuleiro.
      */
     private void redrawCards() {
         removeAll();
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
                 add(boardButtons[i][j]);
             }
         }
@@ -131,18 +212,73 @@ public class Board extends BackgroundPanel {
      */
     private CardAddedEvent createCardAddedEvent(PlayerCardData card, int row, int col) {
         PlayerCardData top = (row > 0) ? boardButtons[row - 1][col].getInfo() : null;
-        PlayerCardData bottom = (row < 2) ? boardButtons[row + 1][col].getInfo() : null;
+        PlayerCardData bottom = (row < rows - 1) ? boardButtons[row + 1][col].getInfo() : null;
         PlayerCardData left = (col > 0) ? boardButtons[row][col - 1].getInfo() : null;
-        PlayerCardData right = (col < 2) ? boardButtons[row][col + 1].getInfo() : null;
-        return new CardAddedEvent(card, top, bottom, left, right);
+        PlayerCardData right = (col < cols - 1) ? boardButtons[row][col + 1].getInfo() : null;
+        return new CardAddedEvent(card, row, col, top, bottom, left, right);
+    }
+
+    /**
+     * Define os elementos das posições do tabuleiro (regra Elemental), exibidos nas posições vazias.
+     *
+     * @param elements Nome do elemento de cada posição, linha a linha, ou null para posições sem elemento.
+     */
+    public void setTileElements(String[] elements) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                var element = elements[i * cols + j];
+                boardButtons[i][j].setTileIcon(element == null ? null : CardsReader.elementIcon(element));
+            }
+        }
+        repaint();
+    }
+
+    /**
+     * Substitui todas as cartas do tabuleiro, sem notificar os ouvintes (usado ao restaurar uma jogada anterior).
+     *
+     * @param cards Carta de cada posição, linha a linha, ou null para posições vazias.
+     */
+    public void setCards(PlayerCardData[] cards) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                boardButtons[i][j].setInfo(cards[i * cols + j]);
+                boardButtons[i][j].setHint(null);
+            }
+        }
+        redrawCards();
+    }
+
+    /**
+     * Destaca uma posição do tabuleiro como a jogada sugerida, removendo o destaque anterior.
+     *
+     * @param row A linha sugerida.
+     * @param col A coluna sugerida.
+     * @param text Texto exibido na posição (pontuação esperada).
+     */
+    public void showHint(int row, int col, String text) {
+        clearHint();
+        boardButtons[row][col].setHint(text);
+        boardButtons[row][col].repaint();
+    }
+
+    /**
+     * Remove o destaque de jogada sugerida.
+     */
+    public void clearHint() {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                boardButtons[i][j].setHint(null);
+            }
+        }
+        repaint();
     }
 
     /**
      * Reinicia o tabuleiro, removendo todas as cartas.
      */
     public void resetBoard() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
                 if (boardButtons[i][j] != null) {
                     boardButtons[i][j].setInfo(null);
                 }
@@ -155,8 +291,8 @@ public class Board extends BackgroundPanel {
      * Inicializa o tabuleiro criando os componentes de carta para cada posição.
      */
     public void initializeBoard() {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
                 final int row = i;
                 final int col = j;
                 var card = new CardComponent(null, e -> notifyPositionListeners(row, col), 10);
@@ -167,6 +303,16 @@ public class Board extends BackgroundPanel {
         revalidate();
     }
 
+    /**
+     * Define se o tabuleiro é desenhado pelo {@link BoardRenderer}. Nesse caso o Swing deixa de pintar o fundo e
+     * as cartas, mas os componentes continuam recebendo os cliques.
+     *
+     * @param renderedExternally True se o tabuleiro for desenhado pelo renderizador ativo.
+     */
+    public void setRenderedExternally(boolean renderedExternally) {
+        this.renderedExternally = renderedExternally;
+    }
+
     /**
      * Obtém a matriz de componentes de cartas do tabuleiro.
      *
@@ -204,8 +350,8 @@ public class Board extends BackgroundPanel {
     }
 
     public boolean isFull(){
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
                 if (boardButtons[i][j].getInfo() == null) {
                     return false;
                 }
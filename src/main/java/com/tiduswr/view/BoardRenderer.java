@@ -0,0 +1,293 @@
+package com.tiduswr.view;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.image.VolatileImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+import com.tiduswr.model.CardData;
+
+/**
+ * Renderizador ativo do tabuleiro e das mãos dos jogadores: desenha tudo em uma única {@link VolatileImage}, que
+ * fica na memória de vídeo quando o pipeline do Java2D é acelerado, e copia para a tela apenas as áreas do
+ * tabuleiro e das mãos.
+ * <p>
+ * É instalado na camada de paleta da janela, sobre o conteúdo, e não registra ouvintes de mouse: os cliques
+ * continuam chegando aos {@link CardComponent}s do {@link Board} e das {@link PlayerCards}, que deixam de ser
+ * pintados pelo Swing e servem apenas de modelo (posição, carta, dono e seleção). O fundo do tabuleiro e as imagens
+ * das cartas, já com a cor do dono e os valores, são convertidos uma vez para imagens compatíveis com a tela e
+ * reaproveitados entre quadros; a cada quadro são desenhados apenas os detalhes que mudam (modificador, seleção,
+ * elemento e dica), com o quadro de animação de cada carta.
+ * </p>
+ * <p>
+ * {@link #renderFrame()} desenha e exibe um quadro imediatamente, sem passar pelo {@code RepaintManager} (usado
+ * pelo {@link FrameClock} nas animações); as pinturas do Swing que atingem a área do renderizador, como a exposição da janela ou a atualização
+ * de uma carta, também redesenham o quadro. Deve ser usado apenas na thread de eventos.
+ * </p>
+ */
+public class BoardRenderer extends JComponent {
+
+    /**
+     * Latência de desenho de um quadro na imagem de fundo (sem a cópia para a tela).
+     */
+    private static final LatencyHistogram frameLatency = MetricsRegistry.getInstance().histogram("renderer.frame");
+
+    /**
+     * Quantidade máxima de imagens de cartas mantidas em cache.
+     */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * Identificador usado na chave do cache para o verso das cartas.
+     */
+    private static final int BACK_ID = 0xffff;
+
+    /**
+     * Interface do jogo, de onde vêm o tabuleiro e as mãos da partida atual.
+     */
+    private final TripleTriadUI father;
+
+    /**
+     * Imagem em que os quadros são desenhados antes de irem para a tela.
+     */
+    private VolatileImage buffer;
+
+    /**
+     * Configuração da tela para a qual as imagens em cache foram convertidas.
+     */
+    private GraphicsConfiguration configuration;
+
+    /**
+     * Escala da interface com que as imagens em cache foram desenhadas.
+     */
+    private float scale = 1f;
+
+    /**
+     * Imagens convertidas das cartas e do verso, por carta, cor do dono e tamanho (a menos usada sai primeiro).
+     */
+    private final Map<Long, Image> images = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Image> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Áreas do tabuleiro e das mãos dos jogadores 1 e 2 no último quadro, nas coordenadas do renderizador.
+     */
+    private final Rectangle[] regions = { new Rectangle(), new Rectangle(), new Rectangle() };
+
+    /**
+     * Construtor da classe BoardRenderer.
+     *
+     * @param father A interface do jogo cujo tabuleiro e mãos serão desenhados.
+     */
+    public BoardRenderer(TripleTriadUI father) {
+        this.father = father;
+        setOpaque(false);
+    }
+
+    /**
+     * Desenha um quadro e o exibe imediatamente (renderização ativa).
+     */
+    public void renderFrame() {
+        if (!isShowing())
+            return;
+        render();
+        Graphics g = getGraphics();
+        if (g == null)
+            return;
+        present(g);
+        g.dispose();
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        render();
+        present(g);
+    }
+
+    /**
+     * Desenha o tabuleiro e as mãos na imagem de fundo, recriando-a se o seu conteúdo for perdido.
+     */
+    private void render() {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null || father.getBoard() == null || getWidth() <= 0 || getHeight() <= 0)
+            return;
+        long start = System.nanoTime();
+        if (gc != configuration) {
+            // outra tela: as imagens convertidas para a anterior deixam de ser compatíveis
+            configuration = gc;
+            images.clear();
+            buffer = null;
+        }
+        if (father.getUiScale() != scale) {
+            // os valores das cartas são desenhados na escala da interface
+            scale = father.getUiScale();
+            images.clear();
+        }
+        do {
+            if (buffer == null || buffer.getWidth() != getWidth() || buffer.getHeight() != getHeight()
+                    || buffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (buffer != null)
+                    buffer.flush();
+                buffer = gc.createCompatibleVolatileImage(getWidth(), getHeight());
+            }
+            Graphics2D g2d = buffer.createGraphics();
+            drawBoard(g2d, father.getBoard(), regions[0]);
+            drawHand(g2d, father.getP1(), regions[1]);
+            drawHand(g2d, father.getP2(), regions[2]);
+            g2d.dispose();
+        } while (buffer.contentsLost());
+        frameLatency.recordSince(start);
+    }
+
+    /**
+     * Copia as áreas do tabuleiro e das mãos da imagem de fundo para a tela.
+     *
+     * @param g O objeto Graphics do destino.
+     */
+    private void present(Graphics g) {
+        if (buffer == null)
+            return;
+        for (Rectangle r : regions) {
+            if (!r.isEmpty()) {
+                g.drawImage(buffer, r.x, r.y, r.x + r.width, r.y + r.height, r.x, r.y, r.x + r.width,
+                        r.y + r.height, null);
+            }
+        }
+        if (buffer.contentsLost()) {
+            repaint();
+        }
+        InputLatencyTracker.getInstance().framePainted();
+    }
+
+    /**
+     * Desenha o fundo e as posições do tabuleiro.
+     *
+     * @param g2d    O objeto Graphics2D da imagem de fundo.
+     * @param board  O tabuleiro.
+     * @param region Área do tabuleiro, atualizada por este método.
+     */
+    private void drawBoard(Graphics2D g2d, Board board, Rectangle region) {
+        if (board.getParent() == null) {
+            region.setSize(0, 0);
+            return;
+        }
+        region.setBounds(SwingUtilities.convertRectangle(board.getParent(), board.getBounds(), this));
+        if (region.isEmpty())
+            return;
+        // o fundo já redimensionado fica em cache no próprio tabuleiro
+        g2d.setColor(board.getBackground());
+        g2d.fillRect(region.x, region.y, region.width, region.height);
+        Image background = board.getScaledImage();
+        if (background != null) {
+            g2d.drawImage(background, region.x, region.y, null);
+        }
+        for (CardComponent[] row : board.getBoardCards()) {
+            for (CardComponent card : row) {
+                drawCard(g2d, card, region.x + card.getX(), region.y + card.getY());
+            }
+        }
+    }
+
+    /**
+     * Desenha as cartas da mão de um jogador, dentro da borda com o seu nome.
+     *
+     * @param g2d    O objeto Graphics2D da imagem de fundo.
+     * @param hand   A mão do jogador.
+     * @param region Área interna da mão, atualizada por este método.
+     */
+    private void drawHand(Graphics2D g2d, PlayerCards hand, Rectangle region) {
+        if (hand == null || hand.getParent() == null) {
+            region.setSize(0, 0);
+            return;
+        }
+        Rectangle bounds = SwingUtilities.convertRectangle(hand.getParent(), hand.getBounds(), this);
+        Insets insets = hand.getInsets();
+        region.setBounds(bounds.x + insets.left, bounds.y + insets.top, bounds.width - insets.left - insets.right,
+                bounds.height - insets.top - insets.bottom);
+        if (region.isEmpty())
+            return;
+        g2d.setColor(hand.getBackground());
+        g2d.fill(region);
+        for (Component component : hand.getComponents()) {
+            drawCard(g2d, (CardComponent) component, bounds.x + component.getX(), bounds.y + component.getY());
+        }
+    }
+
+    /**
+     * Desenha uma carta (ou posição vazia do tabuleiro) com a imagem convertida e os detalhes do componente.
+     *
+     * @param g2d  O objeto Graphics2D da imagem de fundo.
+     * @param card O componente da carta.
+     * @param x    Posição X do componente na imagem de fundo.
+     * @param y    Posição Y do componente na imagem de fundo.
+     */
+    private void drawCard(Graphics2D g2d, CardComponent card, int x, int y) {
+        var info = card.getInfo();
+        int offset = card.getOFFSET();
+        int width = card.getWidth() - 2 * offset;
+        int height = card.getHeight() - 2 * offset;
+        if (width <= 0 || height <= 0)
+            return;
+        Graphics2D cg = (Graphics2D) g2d.create(x, y, card.getWidth(), card.getHeight());
+        card.applyAnimation(cg);
+        if (info != null && info.isFlipped()) {
+            cg.drawImage(cardImage(null, null, width, height, card.getCOMPENSATION()), offset, offset, null);
+        } else {
+            if (info != null) {
+                cg.drawImage(cardImage(info.getCardData(), card.getOwnerColor(), width, height,
+                        card.getCOMPENSATION()), offset, offset, null);
+            }
+            card.paintDecorations(cg, false);
+        }
+        cg.dispose();
+    }
+
+    /**
+     * Obtém do cache, ou cria, a imagem convertida de uma carta com a cor do dono e os valores (na escala da
+     * interface), ou do verso.
+     *
+     * @param card         Dados da carta, ou null para o verso.
+     * @param owner        Cor do dono da carta (ignorada no verso).
+     * @param width        Largura da imagem.
+     * @param height       Altura da imagem.
+     * @param compensation Compensação da moldura do sprite.
+     * @return A imagem compatível com a tela, também na resolução física em telas HiDPI.
+     */
+    private Image cardImage(CardData card, Color owner, int width, int height, int compensation) {
+        int id = card == null ? BACK_ID : card.getCardId();
+        int rgb = card == null ? 0 : owner.getRGB();
+        long key = (long) (id & 0xffff) << 48 | (long) (rgb & 0xffffff) << 24 | (width & 0xfff) << 12
+                | (height & 0xfff);
+        Image image = images.get(key);
+        if (image == null) {
+            image = CardImages.paint(configuration, width, height, g2d -> {
+                if (card == null) {
+                    CardComponent.drawBack(g2d, width, height, compensation);
+                } else {
+                    CardComponent.drawCardImage(g2d, card.getImage(), owner, width, height, compensation);
+                    g2d.scale(scale, scale);
+                    CardComponent.drawCardValues(g2d, card, 0, 0, Math.round(width / scale));
+                }
+            });
+            images.put(key, image);
+        }
+        return image;
+    }
+}
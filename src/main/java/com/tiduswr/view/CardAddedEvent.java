@@ -35,18 +35,32 @@ public class CardAddedEvent {
      */
     private PlayerCardData right;
 
+    /**
+     * A linha onde a carta foi adicionada.
+     */
+    private int row;
+
+    /**
+     * A coluna onde a carta foi adicionada.
+     */
+    private int col;
+
     /**
      * Construtor da classe `CardAddedEvent`.
-     * Inicializa o evento com a carta adicionada e suas cartas adjacentes.
+     * Inicializa o evento com a carta adicionada, sua posição e suas cartas adjacentes.
      *
      * @param card A carta que foi adicionada ao tabuleiro.
+     * @param row A linha onde a carta foi adicionada.
+     * @param col A coluna onde a carta foi adicionada.
      * @param top A carta que está acima, ou null se não houver.
      * @param bottom A carta que está abaixo, ou null se não houver.
      * @param left A carta que está à esquerda, ou null se não houver.
      * @param right A carta que está à direita, ou null se não houver.
      */
-    public CardAddedEvent(final PlayerCardData card, final PlayerCardData top, final PlayerCardData bottom, final PlayerCardData left, final PlayerCardData right) {
+    public CardAddedEvent(final PlayerCardData card, final int row, final int col, final PlayerCardData top, final PlayerCardData bottom, final PlayerCardData left, final PlayerCardData right) {
         this.card = card;
+        this.row = row;
+        this.col = col;
         this.top = top;
         this.bottom = bottom;
         this.left = left;
@@ -142,4 +156,22 @@ public class CardAddedEvent {
     public void setRight(final PlayerCardData right) {
         this.right = right;
     }
+
+    /**
+     * Obtém a linha onde a carta foi adicionada.
+     *
+     * @return A linha da carta adicionada.
+     */
+    public int getRow() {
+        return this.row;
+    }
+
+    /**
+     * Obtém a coluna onde a carta foi adicionada.
+     *
+     * @return A coluna da carta adicionada.
+     */
+    public int getCol() {
+        return this.col;
+    }
 }
\ No newline at end of file
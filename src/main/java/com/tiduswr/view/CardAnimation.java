@@ -0,0 +1,110 @@
+package com.tiduswr.view;
+
+import java.awt.Color;
+
+import javax.swing.JComponent;
+
+/**
+ * Animações de uma carta do tabuleiro: a virada, quando a carta muda de dono, e a colocação, quando ela é jogada.
+ * <p>
+ * Na virada, a carta encolhe na horizontal ainda com a cor do dono anterior e volta a abrir com a cor do novo dono.
+ * Na colocação, ela surge um pouco maior e transparente e assenta na posição. As animações apenas ajustam o quadro de
+ * animação do {@link CardComponent}; o dono e os dados da carta já estão no estado final desde o início.
+ * </p>
+ */
+public class CardAnimation implements Animation {
+
+    /**
+     * Duração da virada, em milissegundos.
+     */
+    public static final long FLIP_MS = 320;
+
+    /**
+     * Duração da colocação, em milissegundos.
+     */
+    public static final long PLACE_MS = 180;
+
+    /**
+     * Escala inicial da carta na colocação.
+     */
+    private static final float PLACE_SCALE = 1.2f;
+
+    /**
+     * Carta animada.
+     */
+    private final CardComponent card;
+
+    /**
+     * Cor do dono anterior na virada, ou null na colocação.
+     */
+    private final Color from;
+
+    /**
+     * Instante de início da animação.
+     */
+    private final long start;
+
+    /**
+     * Duração da animação, em nanossegundos.
+     */
+    private final long duration;
+
+    /**
+     * Construtor privado; use {@link #flip(CardComponent, Color)} e {@link #place(CardComponent)}.
+     */
+    private CardAnimation(CardComponent card, Color from, long durationMs) {
+        this.card = card;
+        this.from = from;
+        this.start = System.nanoTime();
+        this.duration = durationMs * 1_000_000L;
+    }
+
+    /**
+     * Cria a animação de virada de uma carta que acabou de mudar de dono.
+     *
+     * @param card A carta, já com o novo dono.
+     * @param from Cor do dono anterior.
+     * @return A animação.
+     */
+    public static CardAnimation flip(CardComponent card, Color from) {
+        return new CardAnimation(card, from, FLIP_MS);
+    }
+
+    /**
+     * Cria a animação de colocação de uma carta que acabou de ser jogada.
+     *
+     * @param card A carta.
+     * @return A animação.
+     */
+    public static CardAnimation place(CardComponent card) {
+        return new CardAnimation(card, null, PLACE_MS);
+    }
+
+    @Override
+    public boolean advance(long now) {
+        float progress = Math.min(1f, Math.max(0f, (float) (now - start) / duration));
+        if (progress >= 1f) {
+            finish();
+            return false;
+        }
+        // desacelera no fim (ease-out quadrático)
+        float eased = 1f - (1f - progress) * (1f - progress);
+        if (from != null) {
+            card.setAnimationFrame(Math.abs(1f - 2f * progress), 1f, 1f, progress < 0.5f ? from : null);
+        } else {
+            float scale = PLACE_SCALE - (PLACE_SCALE - 1f) * eased;
+            card.setAnimationFrame(scale, scale, eased, null);
+        }
+        return true;
+    }
+
+    @Override
+    public void finish() {
+        card.clearAnimationFrame();
+    }
+
+    @Override
+    public JComponent getTarget() {
+        return card;
+    }
+}
@@ -1,17 +1,26 @@
 // Generated by delombok at Sat Oct 12 00:30:19 BRT 2024
 package com.tiduswr.view;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.image.BufferedImage;
+import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.SwingUtilities;
 
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+import com.tiduswr.model.CardData;
 import com.tiduswr.model.CardsReader;
 import com.tiduswr.model.PlayerCardData;
 
@@ -41,6 +50,14 @@ public class CardComponent extends JButton {
      * Fonte usada para desenhar valores
      */
     private static final Font font = new Font("sans", Font.BOLD, 18);
+    /**
+     * Latência de pintura do componente
+     */
+    private static final LatencyHistogram paintLatency = MetricsRegistry.getInstance().histogram("card.paintComponent");
+    /**
+     * Latência de montagem do ícone da carta
+     */
+    private static final LatencyHistogram loadLatency = MetricsRegistry.getInstance().histogram("card.loadCard");
     /**
      * Deslocamento para renderização
      */
@@ -57,6 +74,42 @@ public class CardComponent extends JButton {
      * Posição do clique em Y
      */
     private int clickY = -1;
+    /**
+     * Ícone do elemento da posição do tabuleiro (regra Elemental), exibido enquanto ela estiver vazia
+     */
+    private BufferedImage tileIcon;
+    /**
+     * Texto da dica de jogada exibida nesta posição vazia do tabuleiro, ou null sem dica
+     */
+    private String hint;
+    /**
+     * Cor de destaque da dica de jogada
+     */
+    private static final Color hintColor = new Color(8, 168, 51, 90);
+    /**
+     * Indica se há um quadro de animação aplicado à carta
+     */
+    private boolean animating;
+    /**
+     * Escala horizontal do quadro de animação
+     */
+    private float scaleX = 1f;
+    /**
+     * Escala vertical do quadro de animação
+     */
+    private float scaleY = 1f;
+    /**
+     * Opacidade do quadro de animação
+     */
+    private float alpha = 1f;
+    /**
+     * Cor do dono exibida no quadro de animação, ou null para a cor do dono atual
+     */
+    private Color animationOwner;
+    /**
+     * Carta, dono, tamanho e escala de tela do ícone atual, para não remontá-lo sem necessidade
+     */
+    private List<Object> iconKey;
 
     /**
      * Construtor da classe CardComponent.
@@ -70,6 +123,7 @@ public class CardComponent extends JButton {
         this.info = info;
         this.cardIsSelected = false;
         setFocusPainted(false);
+        addActionListener(e -> InputLatencyTracker.getInstance().resultRequested());
         addActionListener(listener);
         setOpaque(false);
         setContentAreaFilled(false);
@@ -77,10 +131,16 @@ public class CardComponent extends JButton {
         addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(java.awt.event.MouseEvent e) {
+                InputLatencyTracker.getInstance().mousePressed(e);
                 clickX = e.getX();
                 clickY = e.getY();
                 repaint();
             }
+
+            @Override
+            public void mouseReleased(java.awt.event.MouseEvent e) {
+                InputLatencyTracker.getInstance().mouseReleased(e);
+            }
         });
     }
 
@@ -97,6 +157,7 @@ public class CardComponent extends JButton {
         this.info = info;
         this.cardIsSelected = false;
         setFocusPainted(false);
+        addActionListener(e -> InputLatencyTracker.getInstance().resultRequested());
         addActionListener(listener);
         setOpaque(false);
         setContentAreaFilled(false);
@@ -104,10 +165,16 @@ public class CardComponent extends JButton {
         addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(java.awt.event.MouseEvent e) {
+                InputLatencyTracker.getInstance().mousePressed(e);
                 clickX = e.getX();
                 clickY = e.getY();
                 repaint();
             }
+
+            @Override
+            public void mouseReleased(java.awt.event.MouseEvent e) {
+                InputLatencyTracker.getInstance().mouseReleased(e);
+            }
         });
     }
 
@@ -118,38 +185,146 @@ public class CardComponent extends JButton {
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        if (!isEnabled())
+        long start = System.nanoTime();
+        if (!animating) {
+            super.paintComponent(g);
+        }
+        if (!isEnabled()) {
+            paintLatency.recordSince(start);
             return;
+        }
         Graphics2D g2d = (Graphics2D) g.create();
+        applyAnimation(g2d);
         if (info != null && info.isFlipped()) {
-            var w = getWidth() - 2 * OFFSET;
-            var h = getHeight() - 2 * OFFSET;
-            g2d.drawImage(backCard, OFFSET, OFFSET, w - COMPENSATION * 2, h - COMPENSATION * 2, this);
+            g2d.translate(OFFSET, OFFSET);
+            drawBack(g2d, getWidth() - 2 * OFFSET, getHeight() - 2 * OFFSET, COMPENSATION);
         } else {
-            // Desenha o ícone de seleção no canto inferior esquerdo se a carta estiver
-            // selecionada
-            if (cardIsSelected) {
-                g2d.drawImage(selectedIcon, OFFSET, getHeight() - 32 - OFFSET, 40, 25, this);
-            }
-            if (info != null) {
-                drawCardValues(g2d);
-                // Desenha o valor de modificador (Ascend ou Descend)
-                if (info.getModifier() != 0) {
-                    var strModifier = info.getModifier() > 0 ? "+" + Integer.toString(info.getModifier())
-                            : Integer.toString(info.getModifier());
-                    var color = info.getModifier() < 0 ? Color.RED : Color.decode("#08a833");
-                    var metrics = g.getFontMetrics(font);
-                    var fontWidth = metrics.stringWidth(strModifier);
-                    var fontHeight = metrics.getHeight();
-                    var xOffset = 15;
-                    drawValue(g2d, strModifier, getWidth() - (fontWidth + xOffset) - OFFSET,
-                            getHeight() - fontHeight - OFFSET, color);
-                }
+            if (animating && info != null) {
+                // durante a animação a carta é desenhada diretamente, com a cor do quadro em vez do ícone
+                Graphics2D card = (Graphics2D) g2d.create(OFFSET, OFFSET, getWidth() - 2 * OFFSET,
+                        getHeight() - 2 * OFFSET);
+                drawCardImage(card, info.getCardData().getImage(), getOwnerColor(), getWidth() - 2 * OFFSET,
+                        getHeight() - 2 * OFFSET, COMPENSATION);
+                card.dispose();
             }
-            drawSelection(g2d);
+            paintDecorations(g2d, true);
         }
         g2d.dispose();
+        paintLatency.recordSince(start);
+        InputLatencyTracker.getInstance().framePainted();
+    }
+
+    /**
+     * Define o quadro de animação aplicado à carta, em torno do seu centro.
+     *
+     * @param scaleX Escala horizontal.
+     * @param scaleY Escala vertical.
+     * @param alpha  Opacidade, de 0 a 1.
+     * @param owner  Cor do dono a exibir, ou null para a cor do dono atual.
+     */
+    void setAnimationFrame(float scaleX, float scaleY, float alpha, Color owner) {
+        this.animating = true;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.alpha = alpha;
+        this.animationOwner = owner;
+    }
+
+    /**
+     * Remove o quadro de animação, voltando a exibir a carta no estado atual.
+     */
+    void clearAnimationFrame() {
+        this.animating = false;
+        this.scaleX = 1f;
+        this.scaleY = 1f;
+        this.alpha = 1f;
+        this.animationOwner = null;
+    }
+
+    /**
+     * Aplica o quadro de animação (escala em torno do centro e opacidade) ao objeto Graphics2D.
+     *
+     * @param g2d O objeto Graphics2D na origem do componente.
+     */
+    void applyAnimation(Graphics2D g2d) {
+        if (!animating)
+            return;
+        double cx = getWidth() / 2.0;
+        double cy = getHeight() / 2.0;
+        g2d.translate(cx, cy);
+        // evita uma transformação degenerada no meio da virada
+        g2d.scale(Math.max(scaleX, 0.02f), Math.max(scaleY, 0.02f));
+        g2d.translate(-cx, -cy);
+        if (alpha < 1f)
+            g2d.setComposite(AlphaComposite.SrcOver.derive(alpha));
+    }
+
+    /**
+     * Obtém a cor do dono exibida: a do quadro de animação, se houver, ou a do dono atual.
+     *
+     * @return A cor do dono, ou null se a posição estiver vazia.
+     */
+    Color getOwnerColor() {
+        if (animationOwner != null)
+            return animationOwner;
+        return info == null ? null : info.getOwner().getColor();
+    }
+
+    /**
+     * Obtém a escala da interface da janela que contém a carta, aplicada às posições e tamanhos fixos dos detalhes
+     * da carta (valores, ícones e textos).
+     *
+     * @return A escala da interface, ou 1 fora de uma {@link TripleTriadUI}.
+     */
+    float getUiScale() {
+        return SwingUtilities.getWindowAncestor(this) instanceof TripleTriadUI ui ? ui.getUiScale() : 1f;
+    }
+
+    /**
+     * Desenha tudo o que fica sobre a imagem da carta: ícone de seleção, elemento e dica da posição vazia, valores
+     * e modificador da carta e a seleção do clique. Usado por {@link #paintComponent(Graphics)} e pelo
+     * {@link BoardRenderer}, que já desenha os valores junto da imagem da carta.
+     *
+     * @param g2d    O objeto Graphics2D usado para desenhar, na origem do componente.
+     * @param values Se os valores e o ícone do tipo da carta devem ser desenhados.
+     */
+    void paintDecorations(Graphics2D g2d, boolean values) {
+        // As posições são constantes da janela no tamanho padrão: desenha na origem da carta, na escala da interface
+        float scale = getUiScale();
+        Graphics2D card = (Graphics2D) g2d.create();
+        card.translate(OFFSET, OFFSET);
+        card.scale(scale, scale);
+        int width = Math.round((getWidth() - 2 * OFFSET) / scale);
+        int height = Math.round((getHeight() - 2 * OFFSET) / scale);
+        // Desenha o ícone de seleção no canto inferior esquerdo se a carta estiver
+        // selecionada
+        if (cardIsSelected) {
+            card.drawImage(selectedIcon, 0, height - 32, 40, 25, null);
+        }
+        if (info == null && tileIcon != null) {
+            drawTile(card, width, height);
+        }
+        if (info == null && hint != null) {
+            drawHint(card, width, height);
+        }
+        if (info != null) {
+            if (values) {
+                drawCardValues(card, info.getCardData(), 0, 0, width);
+            }
+            // Desenha o valor de modificador (Ascend ou Descend)
+            if (info.getModifier() != 0) {
+                var strModifier = info.getModifier() > 0 ? "+" + Integer.toString(info.getModifier())
+                        : Integer.toString(info.getModifier());
+                var color = info.getModifier() < 0 ? Color.RED : Color.decode("#08a833");
+                var metrics = card.getFontMetrics(font);
+                var fontWidth = metrics.stringWidth(strModifier);
+                var fontHeight = metrics.getHeight();
+                var xOffset = 15;
+                drawValue(card, strModifier, width - (fontWidth + xOffset), height - fontHeight, color);
+            }
+        }
+        drawSelection(card, scale);
+        card.dispose();
     }
 
     @Override
@@ -166,41 +341,69 @@ public class CardComponent extends JButton {
      * @param height Altura do componente.
      */
     public void loadCard(int width, int height) {
-        BufferedImage sprite = info.getCardData().getImage();
         int newWidth = width - 2 * OFFSET;
         int newHeight = height - 2 * OFFSET;
-        // Criar a imagem cortada com o tamanho do componente
-        BufferedImage croppedImage = new BufferedImage(newWidth + 2, newHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2d = croppedImage.createGraphics();
-        g2d.drawImage(sprite, -COMPENSATION, -COMPENSATION, newWidth - COMPENSATION * 2, newHeight - COMPENSATION * 2,
-                2, 2, sprite.getWidth() - 2, sprite.getHeight() - 2, null);
-        g2d.dispose();
-        // Criar uma imagem de fundo colorida com o tamanho do componente
-        Color backgroundColor = info.getOwner().getColor();
-        BufferedImage background = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2dBackground = background.createGraphics();
-        g2dBackground.setColor(backgroundColor);
-        g2dBackground.fillRect(0, 0, newWidth - 6, newHeight - 6);
-        g2dBackground.dispose();
-        // Mesclar a imagem de fundo com a imagem cortada
-        BufferedImage mergedImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2dMerged = mergedImage.createGraphics();
-        g2dMerged.drawImage(background, 0, 0, null);
-        g2dMerged.drawImage(croppedImage, 0, 0, null);
-        g2dMerged.dispose();
+        if (newWidth <= 0 || newHeight <= 0)
+            return;
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        Color owner = info.getOwner().getColor();
+        BufferedImage sprite = info.getCardData().getImage();
+        // Mesma carta, dono, tamanho e escala de tela: o ícone atual continua válido
+        List<Object> key = List.of(info.getCardData(), owner, newWidth, newHeight, CardImages.scaleOf(gc));
+        if (key.equals(iconKey))
+            return;
+        long start = System.nanoTime();
+        Image mergedImage = CardImages.paint(gc, newWidth, newHeight,
+                g2d -> drawCardImage(g2d, sprite, owner, newWidth, newHeight, COMPENSATION));
+        iconKey = key;
         // Definir a imagem mesclada como o ícone do botão
         setIcon(new ImageIcon(mergedImage));
+        loadLatency.recordSince(start);
+    }
+
+    /**
+     * Desenha a imagem da carta sobre a cor do dono, recortando a moldura do sprite.
+     *
+     * @param g2d          O objeto Graphics2D usado para desenhar, na origem da imagem.
+     * @param sprite       Sprite da carta.
+     * @param owner        Cor do dono da carta.
+     * @param width        Largura da imagem.
+     * @param height       Altura da imagem.
+     * @param compensation Compensação da moldura do sprite.
+     */
+    static void drawCardImage(Graphics2D g2d, BufferedImage sprite, Color owner, int width, int height,
+            int compensation) {
+        g2d.setColor(owner);
+        g2d.fillRect(0, 0, width - 6, height - 6);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(CardImages.mipmaps(sprite), -compensation, -compensation, width - compensation * 2, height - compensation * 2,
+                2, 2, sprite.getWidth() - 2, sprite.getHeight() - 2, null);
+    }
+
+    /**
+     * Desenha o verso da carta.
+     *
+     * @param g2d          O objeto Graphics2D usado para desenhar, na origem da imagem.
+     * @param width        Largura da área da carta.
+     * @param height       Altura da área da carta.
+     * @param compensation Compensação da moldura do sprite.
+     */
+    static void drawBack(Graphics2D g2d, int width, int height, int compensation) {
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(CardImages.mipmaps(backCard), 0, 0, width - compensation * 2, height - compensation * 2, null);
     }
 
     /**
      * Desenha a seleção no componente quando pressionado.
      *
-     * @param g2d O objeto Graphics2D usado para desenhar.
+     * @param g2d   O objeto Graphics2D usado para desenhar, na origem e na escala da carta.
+     * @param scale A escala da interface.
      */
-    private void drawSelection(Graphics2D g2d) {
+    private void drawSelection(Graphics2D g2d, float scale) {
         if (getModel().isPressed()) {
             if (clickX >= 0 && clickY >= 0) {
-                g2d.drawImage(selectedIcon, clickX - 40, clickY - 10, 40, 25, this);
+                g2d.drawImage(selectedIcon, Math.round((clickX - OFFSET) / scale) - 40,
+                        Math.round((clickY - OFFSET) / scale) - 10, 40, 25, this);
             }
         }
     }
@@ -211,39 +414,55 @@ public class CardComponent extends JButton {
      * @param value O valor da carta.
      * @return A representação em string do valor.
      */
-    private String convertSideValue(int value) {
+    private static String convertSideValue(int value) {
         return value == 10 ? "A" : String.valueOf(value);
     }
 
     /**
-     * Desenha os valores da carta no componente.
+     * Desenha os valores e o ícone do tipo da carta.
      *
-     * @param g O objeto Graphics usado para desenhar.
-     */
-    private void drawCardValues(Graphics g) {
-        Graphics2D g2d = (Graphics2D) g;
-        String upValue = convertSideValue(info.getCardData().getUp());
-        String downValue = convertSideValue(info.getCardData().getDown());
-        String leftValue = convertSideValue(info.getCardData().getLeft());
-        String rightValue = convertSideValue(info.getCardData().getRight());
-        drawValue(g2d, upValue, 24 + OFFSET, 23 + OFFSET, Color.BLACK);
-        drawValue(g2d, downValue, 24 + OFFSET, 46 + OFFSET, Color.BLACK);
-        drawValue(g2d, leftValue, 9 + OFFSET, 38 + OFFSET, Color.BLACK);
-        drawValue(g2d, rightValue, 39 + OFFSET, 38 + OFFSET, Color.BLACK);
-        if (info.getCardData().getTypeIcon() != null)
-            drawType(g2d);
+     * @param g2d   O objeto Graphics2D usado para desenhar.
+     * @param card  Dados da carta.
+     * @param x     Posição X da imagem da carta.
+     * @param y     Posição Y da imagem da carta.
+     * @param width Largura da imagem da carta.
+     */
+    static void drawCardValues(Graphics2D g2d, CardData card, int x, int y, int width) {
+        drawValue(g2d, convertSideValue(card.getUp()), 24 + x, 23 + y, Color.BLACK);
+        drawValue(g2d, convertSideValue(card.getDown()), 24 + x, 46 + y, Color.BLACK);
+        drawValue(g2d, convertSideValue(card.getLeft()), 9 + x, 38 + y, Color.BLACK);
+        drawValue(g2d, convertSideValue(card.getRight()), 39 + x, 38 + y, Color.BLACK);
+        var icon = card.getTypeIcon();
+        if (icon != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(icon, x + width - (icon.getWidth() + 15), 10 + y, 25, 25, null);
+        }
     }
 
     /**
-     * Desenha o ícone do tipo de carta no componente.
+     * Desenha o ícone do elemento da posição, centralizado, em uma posição vazia do tabuleiro.
      *
-     * @param g2d O objeto Graphics2D usado para desenhar.
+     * @param g2d    O objeto Graphics2D usado para desenhar, na origem e na escala da carta.
+     * @param width  Largura da carta.
+     * @param height Altura da carta.
      */
-    private void drawType(Graphics2D g2d) {
-        var icon = info.getCardData().getTypeIcon();
-        var y = 10 + OFFSET;
-        var x = getWidth() - (icon.getWidth() + 15 + OFFSET);
-        g2d.drawImage(info.getCardData().getTypeIcon(), x, y, 25, 25, this);
+    private void drawTile(Graphics2D g2d, int width, int height) {
+        var size = 40;
+        g2d.drawImage(tileIcon, (width - size) / 2, (height - size) / 2, size, size, this);
+    }
+
+    /**
+     * Desenha o destaque da dica de jogada e a pontuação esperada em uma posição vazia do tabuleiro.
+     *
+     * @param g2d    O objeto Graphics2D usado para desenhar, na origem e na escala da carta.
+     * @param width  Largura da carta.
+     * @param height Altura da carta.
+     */
+    private void drawHint(Graphics2D g2d, int width, int height) {
+        g2d.setColor(hintColor);
+        g2d.fillRoundRect(0, 0, width, height, 12, 12);
+        var metrics = g2d.getFontMetrics(font);
+        drawValue(g2d, hint, (width - metrics.stringWidth(hint)) / 2, height - 12, Color.decode("#08a833"));
     }
 
     /**
@@ -255,7 +474,7 @@ public class CardComponent extends JButton {
      * @param y     A posição Y onde o valor deve ser desenhado.
      * @param color A cor do texto.
      */
-    private void drawValue(Graphics2D g2d, String value, int x, int y, Color color) {
+    private static void drawValue(Graphics2D g2d, String value, int x, int y, Color color) {
         g2d.setFont(font);
         g2d.setColor(Color.WHITE); // Cor da borda
         float outlineThickness = 1.5F;
@@ -278,6 +497,24 @@ public class CardComponent extends JButton {
         this.info = info;
     }
 
+    /**
+     * Define o ícone do elemento da posição do tabuleiro.
+     *
+     * @param tileIcon O ícone do elemento, ou null se a posição não tiver elemento.
+     */
+    public void setTileIcon(final BufferedImage tileIcon) {
+        this.tileIcon = tileIcon;
+    }
+
+    /**
+     * Define a dica de jogada exibida enquanto a posição estiver vazia.
+     *
+     * @param hint O texto da dica (pontuação esperada), ou null para remover o destaque.
+     */
+    public void setHint(final String hint) {
+        this.hint = hint;
+    }
+
     /**
      * Define se a carta está selecionada.
      *
@@ -315,4 +552,13 @@ public class CardComponent extends JButton {
         return this.OFFSET;
     }
 
+    /**
+     * Obtém a compensação da moldura do sprite usada para renderizar a carta.
+     *
+     * @return O valor da compensação.
+     */
+    public int getCOMPENSATION() {
+        return this.COMPENSATION;
+    }
+
 }
@@ -0,0 +1,124 @@
+package com.tiduswr.view;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Imagens das cartas em várias resoluções.
+ * <p>
+ * Os sprites são reduzidos uma única vez a níveis de metade do tamanho ({@link #mipmaps(BufferedImage)}) e
+ * agrupados em uma {@link BaseMultiResolutionImage}: ao desenhar, o Java2D escolhe o menor nível que cobre o tamanho
+ * de destino já multiplicado pela escala da tela, e só esse nível é redimensionado. Assim, redimensionar a janela não
+ * reduz o sprite inteiro a cada carta, e telas HiDPI usam os níveis maiores.
+ * </p>
+ * <p>
+ * As imagens montadas a partir dos sprites ({@link #paint(GraphicsConfiguration, int, int, Consumer)}) são criadas
+ * no tamanho lógico e, em telas HiDPI, também na resolução física, para que o Swing não amplie a imagem lógica.
+ * </p>
+ */
+final class CardImages {
+
+    /**
+     * Menor lado de um nível de redução.
+     */
+    private static final int MIN_LEVEL = 48;
+
+    /**
+     * Níveis de redução já gerados, por sprite.
+     */
+    private static final Map<BufferedImage, Image> mipmaps = new ConcurrentHashMap<>();
+
+    /**
+     * Construtor privado; classe utilitária.
+     */
+    private CardImages() {
+    }
+
+    /**
+     * Obtém o sprite com os seus níveis de redução, gerados na primeira chamada.
+     *
+     * @param sprite O sprite original.
+     * @return Imagem com o sprite e as suas reduções, com as dimensões do sprite.
+     */
+    static Image mipmaps(BufferedImage sprite) {
+        return mipmaps.computeIfAbsent(sprite, CardImages::createMipmaps);
+    }
+
+    /**
+     * Gera os níveis de redução de um sprite, cada um com metade do tamanho do anterior.
+     *
+     * @param sprite O sprite original.
+     * @return Imagem com os níveis do menor para o maior (o sprite original é o nível base).
+     */
+    private static Image createMipmaps(BufferedImage sprite) {
+        List<Image> levels = new ArrayList<>();
+        levels.add(sprite);
+        BufferedImage level = sprite;
+        while (Math.min(level.getWidth(), level.getHeight()) / 2 >= MIN_LEVEL) {
+            BufferedImage half = new BufferedImage(level.getWidth() / 2, level.getHeight() / 2,
+                    BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = half.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(level, 0, 0, half.getWidth(), half.getHeight(), null);
+            g2d.dispose();
+            levels.add(0, half);
+            level = half;
+        }
+        return new BaseMultiResolutionImage(levels.size() - 1, levels.toArray(new Image[0]));
+    }
+
+    /**
+     * Cria uma imagem translúcida no tamanho lógico informado e, se a tela tiver escala maior que 1, também na
+     * resolução física.
+     *
+     * @param gc      Configuração da tela, ou null para uma imagem simples de escala 1.
+     * @param width   Largura lógica.
+     * @param height  Altura lógica.
+     * @param painter Desenha o conteúdo em coordenadas lógicas.
+     * @return A imagem, com as dimensões lógicas.
+     */
+    static Image paint(GraphicsConfiguration gc, int width, int height, Consumer<Graphics2D> painter) {
+        double scale = scaleOf(gc);
+        BufferedImage base = create(gc, width, height);
+        Graphics2D g2d = base.createGraphics();
+        painter.accept(g2d);
+        g2d.dispose();
+        if (scale <= 1.0) {
+            return base;
+        }
+        BufferedImage physical = create(gc, (int) Math.ceil(width * scale), (int) Math.ceil(height * scale));
+        g2d = physical.createGraphics();
+        g2d.scale(scale, scale);
+        painter.accept(g2d);
+        g2d.dispose();
+        return new BaseMultiResolutionImage(base, physical);
+    }
+
+    /**
+     * Retorna a escala da tela (1 em telas comuns, 2 em telas HiDPI de densidade dupla).
+     *
+     * @param gc Configuração da tela, ou null.
+     * @return A escala horizontal da tela.
+     */
+    static double scaleOf(GraphicsConfiguration gc) {
+        return gc == null ? 1.0 : gc.getDefaultTransform().getScaleX();
+    }
+
+    /**
+     * Cria uma imagem translúcida compatível com a tela, ou ARGB se não houver tela.
+     */
+    private static BufferedImage create(GraphicsConfiguration gc, int width, int height) {
+        return gc == null ? new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB)
+                : gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+}
@@ -0,0 +1,221 @@
+package com.tiduswr.view;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JComponent;
+import javax.swing.JRootPane;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import com.tiduswr.metrics.Counter;
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+
+/**
+ * Relógio de quadros compartilhado por todas as animações da interface.
+ * <p>
+ * Um único {@link Timer} de {@value #FPS} quadros por segundo, ativo apenas enquanto houver animações, avança todas
+ * as {@link Animation}s em andamento no mesmo instante e, em seguida, pede um único redesenho por janela: a união
+ * das áreas animadas via {@code repaint}, ou um quadro do {@link BoardRenderer} quando a janela usa a renderização
+ * ativa. Uma nova animação de um componente substitui a que ele já tinha.
+ * </p>
+ * <p>
+ * Se o orçamento do quadro for estourado ({@value #MAX_OVERRUNS} quadros perdidos em sequência, por atraso da
+ * thread de eventos ou porque o próprio avanço levou mais que um quadro), as animações em andamento são levadas ao
+ * estado final e as que começarem no segundo seguinte são puladas, para que a interface não fique para trás do
+ * jogo. Deve ser usado apenas na thread de eventos.
+ * </p>
+ */
+public class FrameClock {
+
+    /**
+     * Quadros por segundo desejados.
+     */
+    public static final int FPS = 60;
+
+    /**
+     * Orçamento de cada quadro, em nanossegundos.
+     */
+    public static final long FRAME_NANOS = 1_000_000_000L / FPS;
+
+    /**
+     * Quantidade de quadros perdidos em sequência que faz as animações serem puladas.
+     */
+    private static final int MAX_OVERRUNS = 3;
+
+    /**
+     * Tempo, em nanossegundos, durante o qual novas animações são puladas depois de estourar o orçamento.
+     */
+    private static final long SKIP_NANOS = 1_000_000_000L;
+
+    /**
+     * Instância única do relógio.
+     */
+    private static final FrameClock instance = new FrameClock();
+
+    /**
+     * Intervalo entre quadros consecutivos.
+     */
+    private final LatencyHistogram frameInterval = MetricsRegistry.getInstance().histogram("animation.frame");
+
+    /**
+     * Quantidade de animações puladas por estouro do orçamento.
+     */
+    private final Counter skipped = MetricsRegistry.getInstance().counter("animation.skipped");
+
+    /**
+     * Animações em andamento.
+     */
+    private final List<Animation> animations = new ArrayList<>();
+
+    /**
+     * Temporizador que dispara os quadros.
+     */
+    private final Timer timer;
+
+    /**
+     * Instante do último quadro.
+     */
+    private long lastFrame;
+
+    /**
+     * Quadros perdidos desde o último quadro dentro do orçamento.
+     */
+    private long overruns;
+
+    /**
+     * Instante até o qual novas animações são puladas.
+     */
+    private long skipUntil;
+
+    /**
+     * Construtor privado para implementar o padrão singleton.
+     */
+    private FrameClock() {
+        timer = new Timer(1000 / FPS, e -> tick());
+        timer.setCoalesce(true);
+        skipUntil = System.nanoTime();
+    }
+
+    /**
+     * Retorna a instância única do FrameClock.
+     *
+     * @return A instância única do relógio.
+     */
+    public static FrameClock getInstance() {
+        return instance;
+    }
+
+    /**
+     * Inicia uma animação, substituindo a animação em andamento do mesmo componente.
+     *
+     * @param animation A animação.
+     */
+    public void start(Animation animation) {
+        for (Iterator<Animation> it = animations.iterator(); it.hasNext();) {
+            Animation running = it.next();
+            if (running.getTarget() == animation.getTarget()) {
+                running.finish();
+                it.remove();
+            }
+        }
+        long now = System.nanoTime();
+        if (now - skipUntil < 0) {
+            animation.finish();
+            skipped.increment();
+            return;
+        }
+        animations.add(animation);
+        if (!timer.isRunning()) {
+            lastFrame = now;
+            overruns = 0;
+            timer.start();
+        }
+    }
+
+    /**
+     * Verifica se há animações em andamento.
+     *
+     * @return true se alguma animação ainda não terminou
+     */
+    public boolean isAnimating() {
+        return !animations.isEmpty();
+    }
+
+    /**
+     * Avança todas as animações e redesenha as áreas animadas uma única vez.
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        long missed = (now - lastFrame) / FRAME_NANOS - 1;
+        frameInterval.record(now - lastFrame);
+        lastFrame = now;
+
+        Map<JRootPane, Rectangle> dirty = new HashMap<>();
+        for (Iterator<Animation> it = animations.iterator(); it.hasNext();) {
+            Animation animation = it.next();
+            if (!animation.advance(now)) it.remove();
+            addDirty(dirty, animation.getTarget());
+        }
+        present(dirty);
+
+        if (missed > 0 || System.nanoTime() - now > FRAME_NANOS) {
+            overruns += Math.max(missed, 1);
+            if (overruns >= MAX_OVERRUNS) skipAll(now);
+        } else {
+            overruns = 0;
+        }
+        if (animations.isEmpty()) timer.stop();
+    }
+
+    /**
+     * Leva todas as animações em andamento ao estado final e pula as novas por {@link #SKIP_NANOS}.
+     *
+     * @param now Instante atual.
+     */
+    private void skipAll(long now) {
+        Map<JRootPane, Rectangle> dirty = new HashMap<>();
+        for (Animation animation : animations) {
+            animation.finish();
+            addDirty(dirty, animation.getTarget());
+        }
+        skipped.add(animations.size());
+        animations.clear();
+        skipUntil = now + SKIP_NANOS;
+        present(dirty);
+    }
+
+    /**
+     * Acrescenta a área de um componente à área a redesenhar da sua janela.
+     *
+     * @param dirty  Áreas a redesenhar, por janela.
+     * @param target Componente animado.
+     */
+    private void addDirty(Map<JRootPane, Rectangle> dirty, JComponent target) {
+        JRootPane root = SwingUtilities.getRootPane(target);
+        if (root == null || !target.isShowing())
+            return;
+        Rectangle bounds = SwingUtilities.convertRectangle(target.getParent(), target.getBounds(), root);
+        dirty.merge(root, bounds, Rectangle::union);
+    }
+
+    /**
+     * Redesenha as áreas animadas: um quadro do renderizador ativo ou um único {@code repaint} por janela.
+     *
+     * @param dirty Áreas a redesenhar, por janela.
+     */
+    private void present(Map<JRootPane, Rectangle> dirty) {
+        dirty.forEach((root, area) -> {
+            if (SwingUtilities.getWindowAncestor(root) instanceof TripleTriadUI ui && ui.getBoardRenderer() != null) {
+                ui.getBoardRenderer().renderFrame();
+            } else {
+                root.repaint(area);
+            }
+        });
+    }
+}
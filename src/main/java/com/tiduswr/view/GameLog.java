@@ -13,11 +13,17 @@ import javax.swing.text.Style;
 import javax.swing.text.StyleConstants;
 import javax.swing.text.StyledDocument;
 
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+
 /**
  * Componente que representa o registro de mensagens do jogo.
  * Exibe mensagens de log com timestamp em um painel com rolagem.
  */
 public class GameLog extends JPanel {
+    /** Latência de inserção de uma mensagem no log */
+    private static final LatencyHistogram addLatency = MetricsRegistry.getInstance().histogram("log.addLogMessage");
+
     /** Área onde as mensagens de log são exibidas */
     private JTextPane logArea; 
     
@@ -42,6 +48,7 @@ public class GameLog extends JPanel {
      * @param message A mensagem a ser adicionada ao log.
      */
     public void addLogMessage(String message) {
+        long start = System.nanoTime();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         String timestamp = LocalDateTime.now().format(formatter);
 
@@ -60,5 +67,6 @@ public class GameLog extends JPanel {
 
         // Rola para a última linha
         logArea.setCaretPosition(doc.getLength());
+        addLatency.recordSince(start);
     }
 }
\ No newline at end of file
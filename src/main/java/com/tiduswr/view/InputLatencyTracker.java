@@ -0,0 +1,203 @@
+package com.tiduswr.view;
+
+import java.awt.Toolkit;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+
+import javax.swing.SwingUtilities;
+
+import com.tiduswr.metrics.LatencyHistogram;
+import com.tiduswr.metrics.MetricsRegistry;
+
+/**
+ * Mede a latência percebida pelo jogador entre o clique em uma {@link CardComponent} e o quadro
+ * que exibe o resultado da jogada.
+ * <p>
+ * O clique é marcado no {@code mousePressed} (descontando o tempo em que o evento ficou na fila do
+ * AWT), o resultado é marcado quando a ação do botão dispara, e a medição termina quando a primeira
+ * pintura posterior é concluída e descarregada na tela via {@link Toolkit#sync()}. São publicados
+ * dois histogramas: a partir do pressionar (inclui o tempo que o jogador segura o botão) e a partir
+ * do soltar (latência do próprio jogo), além dos percentis das últimas {@value #WINDOW} amostras.
+ * </p>
+ */
+public class InputLatencyTracker {
+
+    /**
+     * Instância única do rastreador.
+     */
+    private static final InputLatencyTracker instance = new InputLatencyTracker();
+
+    /**
+     * Quantidade de amostras consideradas na janela móvel.
+     */
+    private static final int WINDOW = 256;
+
+    /**
+     * Limite padrão, em milissegundos, a partir do qual uma medição é registrada como anomalia.
+     */
+    private static final long DEFAULT_OUTLIER_MS = 50;
+
+    /**
+     * Latência entre pressionar o botão e o quadro com o resultado.
+     */
+    private final LatencyHistogram pressToPixel = MetricsRegistry.getInstance().histogram("input.pressToPixel");
+
+    /**
+     * Latência entre soltar o botão e o quadro com o resultado.
+     */
+    private final LatencyHistogram releaseToPixel = MetricsRegistry.getInstance().histogram("input.releaseToPixel");
+
+    /**
+     * Últimas medições a partir do soltar, em nanossegundos (buffer circular).
+     */
+    private final long[] window = new long[WINDOW];
+
+    /**
+     * Quantidade total de medições feitas na janela móvel.
+     */
+    private long windowCount;
+
+    /**
+     * Limite de anomalia em nanossegundos.
+     */
+    private long outlierNanos = DEFAULT_OUTLIER_MS * 1_000_000;
+
+    /**
+     * Instante (nanoTime) do último pressionar, ou -1 se não houver.
+     */
+    private long pressNanos = -1;
+
+    /**
+     * Instante (nanoTime) do último soltar, ou -1 se não houver.
+     */
+    private long releaseNanos = -1;
+
+    /**
+     * Indica que a ação do clique já disparou e o próximo quadro mostra seu resultado.
+     */
+    private boolean resultPending;
+
+    /**
+     * Indica que o descarregamento do quadro já foi agendado.
+     */
+    private boolean flushScheduled;
+
+    /**
+     * Construtor privado para implementar o padrão singleton.
+     */
+    private InputLatencyTracker() {
+        MetricsRegistry.getInstance().gauge("input.releaseToPixel.rollingP50Us", () -> windowPercentile(50) / 1_000);
+        MetricsRegistry.getInstance().gauge("input.releaseToPixel.rollingP99Us", () -> windowPercentile(99) / 1_000);
+    }
+
+    /**
+     * Retorna a instância única do InputLatencyTracker.
+     *
+     * @return A instância única do rastreador.
+     */
+    public static InputLatencyTracker getInstance() {
+        return instance;
+    }
+
+    /**
+     * Define o limite a partir do qual uma medição é registrada como anomalia.
+     *
+     * @param millis Limite em milissegundos.
+     */
+    public void setOutlierThreshold(long millis) {
+        this.outlierNanos = millis * 1_000_000;
+    }
+
+    /**
+     * Marca o pressionar do mouse sobre uma carta. Deve ser chamado na EDT.
+     *
+     * @param e O evento de mouse recebido.
+     */
+    public void mousePressed(MouseEvent e) {
+        pressNanos = eventNanos(e);
+        releaseNanos = -1;
+        resultPending = false;
+    }
+
+    /**
+     * Marca o soltar do mouse sobre uma carta. Deve ser chamado na EDT.
+     *
+     * @param e O evento de mouse recebido.
+     */
+    public void mouseReleased(MouseEvent e) {
+        if (pressNanos >= 0) {
+            releaseNanos = eventNanos(e);
+        }
+    }
+
+    /**
+     * Marca que a ação do clique foi executada, de modo que o próximo quadro pintado mostra seu resultado.
+     */
+    public void resultRequested() {
+        if (pressNanos >= 0) {
+            resultPending = true;
+        }
+    }
+
+    /**
+     * Notifica que um componente do jogo terminou de pintar. Se houver um resultado pendente,
+     * agenda o descarregamento do quadro para depois do ciclo de pintura atual.
+     */
+    public void framePainted() {
+        if (!resultPending || flushScheduled) return;
+        flushScheduled = true;
+        SwingUtilities.invokeLater(this::flush);
+    }
+
+    /**
+     * Descarrega o quadro na tela e registra as latências da interação pendente.
+     */
+    private void flush() {
+        Toolkit.getDefaultToolkit().sync();
+        long now = System.nanoTime();
+        pressToPixel.record(now - pressNanos);
+        if (releaseNanos >= 0) {
+            long latency = now - releaseNanos;
+            releaseToPixel.record(latency);
+            synchronized (window) {
+                window[(int) (windowCount++ % WINDOW)] = latency;
+            }
+            if (latency > outlierNanos) {
+                System.err.println("Latência de clique acima do limite: " + MetricsRegistry.formatNanos(latency));
+            }
+        }
+        pressNanos = -1;
+        releaseNanos = -1;
+        resultPending = false;
+        flushScheduled = false;
+    }
+
+    /**
+     * Calcula um percentil das medições da janela móvel.
+     *
+     * @param percentile Percentil desejado, entre 0 e 100.
+     * @return O percentil em nanossegundos, ou 0 se não houver medições.
+     */
+    private long windowPercentile(double percentile) {
+        long[] samples;
+        synchronized (window) {
+            samples = Arrays.copyOf(window, (int) Math.min(windowCount, WINDOW));
+        }
+        if (samples.length == 0) return 0;
+        Arrays.sort(samples);
+        int index = (int) Math.ceil(samples.length * percentile / 100.0) - 1;
+        return samples[Math.max(0, index)];
+    }
+
+    /**
+     * Converte o instante de um evento para a base do {@link System#nanoTime()}, descontando o tempo
+     * em que o evento aguardou na fila do AWT.
+     *
+     * @param e O evento de mouse.
+     * @return O instante estimado do evento em nanossegundos.
+     */
+    private static long eventNanos(MouseEvent e) {
+        long queuedMillis = Math.max(0, System.currentTimeMillis() - e.getWhen());
+        return System.nanoTime() - queuedMillis * 1_000_000;
+    }
+}
@@ -0,0 +1,88 @@
+package com.tiduswr.view;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+import com.tiduswr.metrics.MetricsRegistry;
+
+/**
+ * Overlay transparente que exibe, sobre a janela do jogo, o relatório do {@link MetricsRegistry}
+ * (p50/p99 de cada histograma, contadores e medidores).
+ * <p>
+ * É instalado como glass pane da janela e não registra ouvintes de mouse, portanto não intercepta
+ * os cliques destinados ao jogo. Enquanto visível, é atualizado periodicamente.
+ * </p>
+ */
+public class MetricsOverlay extends JPanel {
+
+    /**
+     * Intervalo de atualização do overlay em milissegundos.
+     */
+    private static final int REFRESH_MS = 500;
+
+    /**
+     * Fonte monoespaçada usada para alinhar as colunas do relatório.
+     */
+    private static final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    /**
+     * Cor de fundo semitransparente do quadro de métricas.
+     */
+    private static final Color background = new Color(0, 0, 0, 170);
+
+    /**
+     * Temporizador que redesenha o overlay enquanto ele estiver visível.
+     */
+    private final Timer refreshTimer;
+
+    /**
+     * Construtor da classe MetricsOverlay.
+     */
+    public MetricsOverlay() {
+        setOpaque(false);
+        setVisible(false);
+        refreshTimer = new Timer(REFRESH_MS, e -> repaint());
+    }
+
+    /**
+     * Alterna a visibilidade do overlay, iniciando ou parando a atualização periódica.
+     */
+    public void toggle() {
+        setVisible(!isVisible());
+        if (isVisible()) {
+            refreshTimer.start();
+        } else {
+            refreshTimer.stop();
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        String[] lines = MetricsRegistry.getInstance().report().split("\n");
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setFont(font);
+        FontMetrics metrics = g2d.getFontMetrics();
+        int lineHeight = metrics.getHeight();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+        int padding = 8;
+        g2d.setColor(background);
+        g2d.fillRect(padding, padding, width + padding * 2, lines.length * lineHeight + padding * 2);
+        g2d.setColor(Color.GREEN);
+        int y = padding * 2 + metrics.getAscent();
+        for (String line : lines) {
+            g2d.drawString(line, padding * 2, y);
+            y += lineHeight;
+        }
+        g2d.dispose();
+    }
+}
@@ -2,6 +2,7 @@
 package com.tiduswr.view;
 
 import java.awt.Dimension;
+import java.awt.Graphics;
 import java.awt.GridLayout;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -21,6 +22,10 @@ import com.tiduswr.model.PlayerCardData;
  * Permite a seleção e a interação com as cartas na mão do jogador.
  */
 public class PlayerCards extends JPanel {
+    /**
+     * Interface do jogo que contém este componente
+     */
+    private final TripleTriadUI father;
     /**
      * Jogador associado a estas cartas
      */
@@ -28,7 +33,7 @@ public class PlayerCards extends JPanel {
     /**
      * Número de cartas na mão
      */
-    private int handSize = 5;
+    private int handSize;
     /**
      * Indica se as cartas estão ativas para seleção
      */
@@ -37,6 +42,10 @@ public class PlayerCards extends JPanel {
      * Índice da carta selecionada
      */
     private int selectedIndex;
+    /**
+     * Indica se as cartas são desenhadas pelo {@link BoardRenderer} em vez da hierarquia do Swing
+     */
+    private boolean renderedExternally;
 
     /**
      * Construtor da classe PlayerCards.
@@ -49,24 +58,15 @@ public class PlayerCards extends JPanel {
      * @param height Altura preferida do painel.
      */
     public PlayerCards(TripleTriadUI father, Player player, int width, int height) {
+        this.father = father;
         this.player = player;
         selectedIndex = -1;
-        setLayout(new GridLayout(5, 1)); // Layout em grade para as cartas
-        setPreferredSize(new Dimension(width, height)); // Define o tamanho preferido
         List<CardData> cards = player.getCards();
-        for (int i = 0; i < 5; i++) {
-            var index = i;
-            var cardData = cards.get(index);
-            var playerCardData = new PlayerCardData(cardData, player, 0, false);
-            var cardComponent = new CardComponent(playerCardData, e -> {
-                if (!cardsActive || playerCardData.isFlipped())
-                    return;
-                father.getGameLog().addLogMessage(String.format("A carta \'%s\' foi selecionada!", cardData.getName()));
-                father.getSoundServices().getSoundService("selection").play();
-                selectedIndex = player.getCards().indexOf(cardData);
-                updateBorders();
-            });
-            add(cardComponent);
+        handSize = cards.size();
+        setLayout(new GridLayout(handSize, 1)); // Layout em grade para as cartas
+        setPreferredSize(new Dimension(width, height)); // Define o tamanho preferido
+        for (CardData cardData : cards) {
+            add(createCard(cardData));
         }
         setBorder(BorderFactory.createTitledBorder(getPlayer().getName()));
         // Listener para resetar seleção ao clicar fora das cartas
@@ -76,6 +76,7 @@ public class PlayerCards extends JPanel {
                 if (!contains(e.getPoint()) && selectedIndex != -1 && cardsActive) {
                     selectedIndex = -1;
                     updateBorders();
+                    father.getHintController().cancel();
                 }
             }
         });
@@ -83,6 +84,7 @@ public class PlayerCards extends JPanel {
         father.getBoard().addPositionListener((row, col) -> {
             var selected = getSelected();
             if (selected != null) {
+                father.getHintController().cancel();
                 if (!father.getBoard().addCard(selected, row, col)) {
                     father.getSoundServices().getSoundService("error").play();
                     father.getGameLog()
@@ -94,7 +96,6 @@ public class PlayerCards extends JPanel {
                     father.addTurn();
                     father.switchTurn();
                 }
-                rules(father, row, col, selected);
 
                 if (father.getBoard().isFull()) {
                     father.showEndGameDialog();
@@ -103,6 +104,43 @@ public class PlayerCards extends JPanel {
         });
     }
 
+    /**
+     * Cria o componente de uma carta da mão, que a seleciona ao ser clicado.
+     *
+     * @param cardData Dados da carta.
+     * @return O componente da carta.
+     */
+    private CardComponent createCard(CardData cardData) {
+        var playerCardData = new PlayerCardData(cardData, player, 0, false);
+        return new CardComponent(playerCardData, e -> {
+            if (!cardsActive || playerCardData.isFlipped())
+                return;
+            father.getGameLog().addLogMessage(String.format("A carta \'%s\' foi selecionada!", cardData.getName()));
+            father.getSoundServices().getSoundService("selection").play();
+            selectedIndex = player.getCards().indexOf(cardData);
+            updateBorders();
+            father.getHintController().request(playerCardData);
+        });
+    }
+
+    /**
+     * Substitui as cartas da mão, sem seleção (usado ao restaurar uma jogada anterior). O espaço de cada carta
+     * continua o da mão inicial.
+     *
+     * @param cards Cartas restantes na mão, na ordem original.
+     */
+    public void setCards(List<CardData> cards) {
+        player.setCards(cards);
+        selectedIndex = -1;
+        handSize = cards.size();
+        removeAll();
+        for (CardData cardData : cards) {
+            add(createCard(cardData));
+        }
+        revalidate();
+        repaint();
+    }
+
     /**
      * Define se as cartas estão ativas para seleção.
      *
@@ -112,6 +150,22 @@ public class PlayerCards extends JPanel {
         this.cardsActive = enabled;
     }
 
+    /**
+     * Define se as cartas são desenhadas pelo {@link BoardRenderer}. Nesse caso o Swing pinta apenas o painel e a
+     * borda com o nome do jogador, mas os componentes das cartas continuam recebendo os cliques.
+     *
+     * @param renderedExternally True se as cartas forem desenhadas pelo renderizador ativo.
+     */
+    public void setRenderedExternally(boolean renderedExternally) {
+        this.renderedExternally = renderedExternally;
+    }
+
+    @Override
+    protected void paintChildren(Graphics g) {
+        if (!renderedExternally)
+            super.paintChildren(g);
+    }
+
     /**
      * Atualiza as bordas das cartas com base na seleção atual.
      */
@@ -146,7 +200,8 @@ public class PlayerCards extends JPanel {
         if (selected == null)
             return false;
         CardComponent selectedCard = (CardComponent) getComponent(selectedIndex);
-        player.getCards().removeIf(card -> card.equals(selectedCard.getInfo().getCardData()));
+        // remove uma única ocorrência: mãos antigas ou com reposição podem ter a mesma carta mais de uma vez
+        player.getCards().remove(selectedCard.getInfo().getCardData());
         selectedIndex = -1;
         handSize--;
         remove(selectedCard);
@@ -220,117 +275,4 @@ public class PlayerCards extends JPanel {
     public int getSelectedIndex() {
         return this.selectedIndex;
     }
-    
-    /**
-     * Função que define como as regras vão funcionar.
-     * @param father A interface do jogo que contem o componente.
-     * @param row   Linha em que a carta foi jogada.
-     * @param col   Coluna em que a carta foi jogada.
-     * @param card  Carta que foi jogada.
-     */
-    public void rules(TripleTriadUI father, int row, int col, PlayerCardData card) {
-    
-        int sumRg = 0;
-        int sumLf = 0;
-        int sumUp = 0;
-        int sumDw = 0;
-    
-        
-        if (col + 1 < father.getBoard().getBoardCards()[row].length 
-            && father.getBoard().getBoardCards()[row][col + 1] != null 
-            && father.getBoard().getBoardCards()[row][col + 1].getInfo() != null) {
-            sumRg = card.getCardData().getRight() + father.getBoard().getBoardCards()[row][col + 1].getInfo().getCardData().getLeft();
-        }
-    
-        
-        if (col - 1 >= 0 
-            && father.getBoard().getBoardCards()[row][col - 1] != null 
-            && father.getBoard().getBoardCards()[row][col - 1].getInfo() != null) {
-            sumLf = card.getCardData().getLeft() + father.getBoard().getBoardCards()[row][col - 1].getInfo().getCardData().getRight();
-        }
-    
-        
-        if (row - 1 >= 0 
-            && father.getBoard().getBoardCards()[row - 1][col] != null 
-            && father.getBoard().getBoardCards()[row - 1][col].getInfo() != null) {
-            sumUp = card.getCardData().getUp() + father.getBoard().getBoardCards()[row - 1][col].getInfo().getCardData().getDown();
-        }
-    
-        
-        if (row + 1 < father.getBoard().getBoardCards().length 
-            && father.getBoard().getBoardCards()[row + 1][col] != null 
-            && father.getBoard().getBoardCards()[row + 1][col].getInfo() != null) {
-            sumDw = card.getCardData().getDown() + father.getBoard().getBoardCards()[row + 1][col].getInfo().getCardData().getUp();
-        }
-    
-        
-        if (sumRg == sumUp && sumRg != 0 && sumUp != 0) {
-            if (father.getBoard().getBoardCards()[row - 1][col].getInfo() != null && father.getBoard().getBoardCards()[row - 1][col].getInfo().getOwner() != player) {
-                father.getBoard().getBoardCards()[row - 1][col].getInfo().setOwner(player);
-            }    
-            if (father.getBoard().getBoardCards()[row][col + 1].getInfo() != null && father.getBoard().getBoardCards()[row][col + 1].getInfo().getOwner() != player) {
-                father.getBoard().getBoardCards()[row][col + 1].getInfo().setOwner(player);
-            }
-        }
-        if (sumLf == sumDw && sumLf != 0 && sumDw != 0) {
-            if (father.getBoard().getBoardCards()[row][col - 1].getInfo() != null && father.getBoard().getBoardCards()[row][col - 1].getInfo().getOwner() != player) {
-                father.getBoard().getBoardCards()[row][col - 1].getInfo().setOwner(player);
-            }
-            if (father.getBoard().getBoardCards()[row + 1][col].getInfo() != null && father.getBoard().getBoardCards()[row + 1][col].getInfo().getOwner() != player) {
-                father.getBoard().getBoardCards()[row + 1][col].getInfo().setOwner(player);
-            }
-        }
-    
-        
-        if (col + 1 < father.getBoard().getBoardCards()[row].length 
-            && father.getBoard().getBoardCards()[row][col + 1] != null 
-            && father.getBoard().getBoardCards()[row][col + 1].getInfo() != null
-            && card.getCardData().getRight() > father.getBoard().getBoardCards()[row][col + 1].getInfo().getCardData().getLeft() 
-            && player != father.getBoard().getBoardCards()[row][col + 1].getInfo().getOwner()) {
-    
-            father.getBoard().getBoardCards()[row][col + 1].getInfo().setOwner(player);
-            attScores(father, player);
-        }
-    
-        if (col - 1 >= 0 
-            && father.getBoard().getBoardCards()[row][col - 1] != null 
-            && father.getBoard().getBoardCards()[row][col - 1].getInfo() != null
-            && card.getCardData().getLeft() > father.getBoard().getBoardCards()[row][col - 1].getInfo().getCardData().getRight() 
-            && player != father.getBoard().getBoardCards()[row][col - 1].getInfo().getOwner()) {
-    
-            father.getBoard().getBoardCards()[row][col - 1].getInfo().setOwner(player);
-            attScores(father, player);
-        }
-    
-        if (row - 1 >= 0 
-            && father.getBoard().getBoardCards()[row - 1][col] != null 
-            && father.getBoard().getBoardCards()[row - 1][col].getInfo() != null
-            && card.getCardData().getUp() > father.getBoard().getBoardCards()[row - 1][col].getInfo().getCardData().getDown() 
-            && player != father.getBoard().getBoardCards()[row - 1][col].getInfo().getOwner()) {
-    
-            father.getBoard().getBoardCards()[row - 1][col].getInfo().setOwner(player);
-            attScores(father, player);
-        }
-    
-        if (row + 1 < father.getBoard().getBoardCards().length 
-            && father.getBoard().getBoardCards()[row + 1][col] != null 
-            && father.getBoard().getBoardCards()[row + 1][col].getInfo() != null
-            && card.getCardData().getDown() > father.getBoard().getBoardCards()[row + 1][col].getInfo().getCardData().getUp() 
-            && player != father.getBoard().getBoardCards()[row + 1][col].getInfo().getOwner()) {
-    
-            father.getBoard().getBoardCards()[row + 1][col].getInfo().setOwner(player);
-            attScores(father, player);
-        }
-    }
-
-    private void attScores(TripleTriadUI father, Player player) {
-        if (player == father.getP1().getPlayer()) {
-            player.addPoints();
-            father.getP2().getPlayer().dcrPoints();
-        } else {
-            player.addPoints();
-            father.getP1().getPlayer().dcrPoints();
-        }
-        father.getScore().updateScores();
-    }
 }
@@ -71,7 +71,8 @@ public class ScorePanel extends JPanel {
     }
 
     /**
-     * Atualiza o rótulo de pontuação para refletir os pontos atuais dos jogadores.
+     * Atualiza o rótulo de pontuação para refletir os pontos atuais dos jogadores, derivados das
+     * posições de cada um no tabuleiro e das cartas ainda na mão.
      * <p>
      * Este método deve ser chamado sempre que a pontuação de um dos jogadores mudar, 
      * para garantir que o placar exibido esteja atualizado.
@@ -3,17 +3,38 @@ package com.tiduswr.view;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
+import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
+import javax.swing.JComponent;
 import javax.swing.JFrame;
+import javax.swing.JLayeredPane;
 import javax.swing.JPanel;
-
+import javax.swing.KeyStroke;
+
+import com.tiduswr.controller.HintController;
+import com.tiduswr.controller.RulesController;
+import com.tiduswr.controller.SaveController;
+import com.tiduswr.engine.BoardGeometry;
+import com.tiduswr.engine.CardCatalog;
+import com.tiduswr.engine.Dealer;
+import com.tiduswr.engine.RuleSet;
+import com.tiduswr.engine.SavedMatch;
+import com.tiduswr.metrics.MetricsRegistry;
 import com.tiduswr.model.CardData;
 import com.tiduswr.model.Player;
 import com.tiduswr.model.SoundServices;
@@ -26,8 +47,13 @@ import com.tiduswr.model.SoundServices;
  * Também gerencia os serviços de som e interações do jogador com a interface.
  * </p>
  * <p>
- * A interface foi projetada para uma resolução de tela fixa (800x700), onde cada componente é ajustado para se
- * adequar ao espaço disponível.
+ * A interface foi projetada para uma janela de 800x700, que é o tamanho inicial. A janela pode ser redimensionada:
+ * os painéis acompanham as proporções da janela e os detalhes das cartas (valores, ícones e textos), posicionados em
+ * pixels para o tamanho inicial, são desenhados na escala da interface ({@link #getUiScale()}).
+ * </p>
+ * <p>
+ * Cada janela é uma mesa independente: o turno, a partida, os sons e os arquivos de salvamento pertencem à janela, e
+ * várias mesas podem ser abertas no mesmo processo compartilhando a lista de cartas e o catálogo.
  * </p>
  */
 public class TripleTriadUI extends JFrame {
@@ -52,9 +78,14 @@ public class TripleTriadUI extends JFrame {
      */
     private PlayerCards p2;
     /**
-     * Variavel que controla o turno
+     * Variavel que controla o turno desta mesa
+     */
+    private int turn = 0;
+
+    /**
+     * Número desta mesa no processo (a partir de 1).
      */
-    private static int turn = 0;
+    private final int table;
 
     /**
      * Painel de pontuação dos jogadores
@@ -74,35 +105,40 @@ public class TripleTriadUI extends JFrame {
     /**
      * Largura do log de jogadas.
      */
-    private final int glW;
+    private int glW;
 
     /**
      * Altura do log de jogadas.
      */
-    private final int glH;
+    private int glH;
 
     /**
      * Largura do painel de cartas dos jogadores.
      */
-    private final int plW;
+    private int plW;
 
     /**
      * Altura do painel de cartas dos jogadores.
      */
-    private final int plH;
+    private int plH;
 
     /**
      * Largura do painel de pontuação.
      */
-    private final int spW;
+    private int spW;
 
     /**
      * Altura do painel de pontuação.
      */
-    private final int spH;
+    private int spH;
 
     /**
-     * Dimensões fixas da janela do jogo.
+     * Escala da interface: tamanho atual da janela em relação ao tamanho inicial.
+     */
+    private float uiScale = 1f;
+
+    /**
+     * Dimensões iniciais da janela do jogo, nas quais a escala da interface é 1.
      */
     private final Dimension SCREEN_SIZE = new Dimension(800, 700);
 
@@ -111,6 +147,51 @@ public class TripleTriadUI extends JFrame {
      */
     private final SoundServices soundServices;
 
+    /**
+     * Overlay de métricas de desempenho, alternado com F3.
+     */
+    private final MetricsOverlay metricsOverlay;
+
+    /**
+     * Catálogo de cartas usado pelo motor de regras.
+     */
+    private final CardCatalog catalog;
+
+    /**
+     * Distribuidor das mãos, sem reposição: nenhuma carta se repete entre as mãos de uma partida.
+     */
+    private final Dealer dealer;
+
+    /**
+     * Regras escolhidas para as partidas desta janela.
+     */
+    private final RuleSet rules;
+
+    /**
+     * Dimensões do tabuleiro das partidas desta janela.
+     */
+    private final BoardGeometry geometry;
+
+    /**
+     * Controlador que aplica as regras a cada carta adicionada ao tabuleiro.
+     */
+    private RulesController rulesController;
+
+    /**
+     * Controlador das dicas de jogada, calculadas em segundo plano para a carta selecionada.
+     */
+    private final HintController hintController;
+
+    /**
+     * Controlador que grava as partidas em segundo plano.
+     */
+    private final SaveController saveController;
+
+    /**
+     * Renderizador ativo do tabuleiro e das mãos, ou null quando eles são pintados pelo Swing.
+     */
+    private final BoardRenderer boardRenderer;
+
     /**
      * Construtor da interface gráfica Triple Triad.
      * <p>
@@ -119,45 +200,302 @@ public class TripleTriadUI extends JFrame {
      * </p>
      * 
      * @param cards Lista contendo as informações das cartas que serão utilizadas no jogo.
+     * @param catalog Catálogo com os atributos das cartas, usado pelo motor de regras.
+     * @param rules Regras das partidas.
+     * @param geometry Dimensões do tabuleiro, que também definem o tamanho das mãos.
      * @param soundServices Serviços de som para gerenciar a música de fundo e os efeitos sonoros.
      * @throws IOException Caso ocorra um erro ao carregar os recursos de som.
      */
-    public TripleTriadUI(List<CardData> cards, SoundServices soundServices) throws IOException {
+    public TripleTriadUI(List<CardData> cards, CardCatalog catalog, RuleSet rules, BoardGeometry geometry,
+            SoundServices soundServices) throws IOException {
+        this(cards, catalog, rules, geometry, soundServices, false);
+    }
+
+    /**
+     * Construtor da interface gráfica Triple Triad, com a escolha do renderizador do tabuleiro.
+     *
+     * @param cards Lista contendo as informações das cartas que serão utilizadas no jogo.
+     * @param catalog Catálogo com os atributos das cartas, usado pelo motor de regras.
+     * @param rules Regras das partidas.
+     * @param geometry Dimensões do tabuleiro, que também definem o tamanho das mãos.
+     * @param soundServices Serviços de som para gerenciar a música de fundo e os efeitos sonoros.
+     * @param activeRendering Se o tabuleiro e as mãos devem ser desenhados pelo {@link BoardRenderer}.
+     * @throws IOException Caso ocorra um erro ao carregar os recursos de som.
+     */
+    public TripleTriadUI(List<CardData> cards, CardCatalog catalog, RuleSet rules, BoardGeometry geometry,
+            SoundServices soundServices, boolean activeRendering) throws IOException {
+        this(cards, catalog, rules, geometry, soundServices, activeRendering, 1);
+    }
+
+    /**
+     * Construtor da interface gráfica Triple Triad para uma das mesas do processo.
+     *
+     * @param cards Lista contendo as informações das cartas, compartilhada entre as mesas.
+     * @param catalog Catálogo com os atributos das cartas, compartilhado entre as mesas.
+     * @param rules Regras das partidas.
+     * @param geometry Dimensões do tabuleiro, que também definem o tamanho das mãos.
+     * @param soundServices Serviços de som desta mesa.
+     * @param activeRendering Se o tabuleiro e as mãos devem ser desenhados pelo {@link BoardRenderer}.
+     * @param table Número da mesa (a partir de 1), usado no título, nas métricas e nos arquivos de salvamento.
+     * @throws IOException Caso ocorra um erro ao carregar os recursos de som.
+     */
+    public TripleTriadUI(List<CardData> cards, CardCatalog catalog, RuleSet rules, BoardGeometry geometry,
+            SoundServices soundServices, boolean activeRendering, int table) throws IOException {
+        this.table = table;
         this.soundServices = soundServices;
+        this.catalog = catalog;
+        this.dealer = Dealer.uniform(catalog, false);
+        this.rules = rules;
+        this.geometry = geometry;
+        this.hintController = new HintController(this, catalog);
+        this.saveController = new SaveController(this, table);
 
         // Configura o comportamento ao fechar a janela (encerra a música tema principal)
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
                 soundServices.getSoundService("main-theme").close();
+                hintController.shutdown();
+                saveController.shutdown();
             }
         });
 
         // Configurações da janela
-        setTitle("Triple Triad");
+        setTitle(table == 1 ? "Triple Triad" : "Triple Triad - Mesa " + table);
         setSize(SCREEN_SIZE);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        setResizable(false);
+        setResizable(true);
+        setMinimumSize(new Dimension(SCREEN_SIZE.width * 3 / 4, SCREEN_SIZE.height * 3 / 4));
         setLayout(new BorderLayout());
 
         // Cálculo das dimensões dos componentes
-        plW = (int) (getWidth() * 0.17);
-        plH = getHeight();
-        glW = getWidth();
-        glH = (int) (getHeight() * 0.12);
-        spW = getWidth();
-        spH = (int) (getHeight() * 0.04);
+        computeSizes();
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                resizeComponents();
+            }
+        });
 
         // Inicializa o log de jogadas
         gameLog = new GameLog();
         gameLog.setPreferredSize(new Dimension(glW, glH)); 
         gameLog.setBorder(BorderFactory.createTitledBorder("Log de Jogadas"));
 
+        // Overlay de métricas (F3 alterna, F4 exporta para arquivo)
+        metricsOverlay = new MetricsOverlay();
+        setGlassPane(metricsOverlay);
+
+        // Renderizador ativo opcional, sobre o conteúdo e do tamanho da janela
+        boardRenderer = activeRendering ? new BoardRenderer(this) : null;
+        if (boardRenderer != null) {
+            getLayeredPane().add(boardRenderer, JLayeredPane.PALETTE_LAYER);
+            getLayeredPane().addComponentListener(new ComponentAdapter() {
+                @Override
+                public void componentResized(ComponentEvent e) {
+                    boardRenderer.setBounds(0, 0, getLayeredPane().getWidth(), getLayeredPane().getHeight());
+                }
+            });
+        }
+        configureMetricsKeys();
+        configureHistoryKeys();
+        configureSaveKeys();
+        MetricsRegistry.getInstance().gauge(table == 1 ? "turn" : "turn." + table, () -> turn);
+        MetricsRegistry.getInstance().gauge("jvm.heap.usedKb",
+                () -> (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / 1024);
+
         // Configurações finais da janela
         setLocationRelativeTo(null);
-        soundServices.getSoundService("main-theme").playThenLoop("theme-loop.wav");
+        // a música tema toca só na primeira mesa, para que as mesas não toquem o tema umas sobre as outras
+        if (table == 1) soundServices.getSoundService("main-theme").playThenLoop("theme-loop.wav");
 
-        initialize(cards, null, null);
+        if (!resumeAutosave(cards)) {
+            initialize(cards, null, null);
+        }
+    }
+
+    /**
+     * Calcula as dimensões dos painéis e a escala da interface a partir do tamanho atual da janela.
+     */
+    private void computeSizes() {
+        plW = (int) (getWidth() * 0.17);
+        plH = getHeight();
+        glW = getWidth();
+        glH = (int) (getHeight() * 0.12);
+        spW = getWidth();
+        spH = (int) (getHeight() * 0.04);
+        uiScale = (float) Math.min(getWidth() / SCREEN_SIZE.getWidth(), getHeight() / SCREEN_SIZE.getHeight());
+    }
+
+    /**
+     * Ajusta os painéis ao novo tamanho da janela. Os ícones das cartas são remontados no novo tamanho a partir dos
+     * níveis de redução dos sprites ({@link CardImages}).
+     */
+    private void resizeComponents() {
+        computeSizes();
+        gameLog.setPreferredSize(new Dimension(glW, glH));
+        if (p1 != null) {
+            p1.setPreferredSize(new Dimension(plW, plH));
+            p2.setPreferredSize(new Dimension(plW, plH));
+        }
+        if (scorePanel != null) {
+            scorePanel.setPreferredSize(new Dimension(spW, spH));
+        }
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Registra os atalhos de teclado do salvamento rápido: F5 salva a partida e F9 a carrega.
+     */
+    private void configureSaveKeys() {
+        var inputMap = getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        var actionMap = getRootPane().getActionMap();
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_F5, 0), "quickSave");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_F9, 0), "quickLoad");
+        actionMap.put("quickSave", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                saveController.save(rulesController.toSavedMatch(), saveController.getQuicksavePath());
+                gameLog.addLogMessage("Partida salva em " + saveController.getQuicksavePath());
+            }
+        });
+        actionMap.put("quickLoad", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                try {
+                    loadMatch(board.getAllCards(), SavedMatch.read(saveController.getQuicksavePath()));
+                } catch (IOException ex) {
+                    gameLog.addLogMessage("Falha ao carregar a partida: " + ex.getLocalizedMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Retoma a partida do salvamento automático, se houver uma partida em andamento com as mesmas regras e
+     * dimensões desta janela.
+     *
+     * @param cards Lista com todas as cartas.
+     * @return true se a partida foi retomada
+     */
+    private boolean resumeAutosave(List<CardData> cards) {
+        if (!Files.exists(saveController.getAutosavePath())) return false;
+        try {
+            SavedMatch match = SavedMatch.read(saveController.getAutosavePath());
+            if (match.getCursor() == match.getMoves().length && match.replay(catalog).isOver()) return false;
+            return loadMatch(cards, match);
+        } catch (IOException | IllegalArgumentException e) {
+            gameLog.addLogMessage("Salvamento automático ignorado: " + e.getLocalizedMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Carrega uma partida salva, recriando os jogadores, o tabuleiro e o histórico de jogadas.
+     *
+     * @param cards Lista com todas as cartas.
+     * @param match Partida salva.
+     * @return true se a partida foi carregada; false se as regras ou as dimensões forem diferentes das desta
+     *         janela ou se a partida não conferir com o catálogo
+     */
+    public boolean loadMatch(List<CardData> cards, SavedMatch match) {
+        if (!match.getRules().getRules().equals(rules.getRules()) || !match.getGeometry().equals(geometry)) {
+            gameLog.addLogMessage("A partida salva usa regras " + match.getRules().getRules() + " e tabuleiro "
+                    + match.getGeometry() + ", diferentes desta janela");
+            return false;
+        }
+        try {
+            match.replay(catalog);
+        } catch (IllegalArgumentException e) {
+            gameLog.addLogMessage("Falha ao carregar a partida: " + e.getLocalizedMessage());
+            return false;
+        }
+        Player[] players = new Player[2];
+        String[] names = match.getNames();
+        int[] colors = match.getColors();
+        for (int p = 0; p < 2; p++) {
+            List<CardData> hand = new ArrayList<>();
+            for (int id : match.getHand(p)) {
+                for (CardData card : cards) {
+                    if (card.getCardId() == id) {
+                        hand.add(card);
+                        break;
+                    }
+                }
+            }
+            players[p] = new Player(names[p], hand, new Color(colors[p]));
+        }
+        if (turn % 2 != match.getFirst()) turn++;
+        initialize(cards, players[0], players[1], match.getSeed());
+        rulesController.replay(match);
+        gameLog.addLogMessage("Partida carregada (jogada " + match.getCursor() + ")");
+        return true;
+    }
+
+    /**
+     * Registra os atalhos de teclado do overlay de métricas: F3 alterna sua exibição e F4 exporta
+     * o relatório para um arquivo de texto no diretório de trabalho.
+     */
+    private void configureMetricsKeys() {
+        var inputMap = getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        var actionMap = getRootPane().getActionMap();
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "toggleMetrics");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_F4, 0), "exportMetrics");
+        actionMap.put("toggleMetrics", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                metricsOverlay.toggle();
+            }
+        });
+        actionMap.put("exportMetrics", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                try {
+                    Path file = MetricsRegistry.getInstance().exportTo(Path.of("."));
+                    gameLog.addLogMessage("Métricas exportadas para " + file.toAbsolutePath().normalize());
+                } catch (IOException ex) {
+                    gameLog.addLogMessage("Falha ao exportar métricas: " + ex.getLocalizedMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Registra os atalhos de teclado do histórico da partida: Ctrl+Z desfaz, Ctrl+Y refaz, Home volta ao início
+     * e End vai para a última jogada.
+     */
+    private void configureHistoryKeys() {
+        var inputMap = getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        var actionMap = getRootPane().getActionMap();
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), "undo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), "redo");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_HOME, 0), "firstPly");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_END, 0), "lastPly");
+        actionMap.put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!rulesController.undo()) gameLog.addLogMessage("Não há jogada para desfazer!");
+            }
+        });
+        actionMap.put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (!rulesController.redo()) gameLog.addLogMessage("Não há jogada para refazer!");
+            }
+        });
+        actionMap.put("firstPly", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                rulesController.jumpTo(0);
+            }
+        });
+        actionMap.put("lastPly", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                rulesController.jumpTo(rulesController.getHistory().getLastPly());
+            }
+        });
     }
 
     /**
@@ -251,14 +589,32 @@ public class TripleTriadUI extends JFrame {
     }
 
     /**
-     * Retorna as dimensões fixas da tela do jogo.
+     * Retorna as dimensões iniciais da tela do jogo.
      * 
-     * @return As dimensões {@link Dimension} da janela do jogo.
+     * @return As dimensões {@link Dimension} iniciais da janela do jogo.
      */
     public Dimension getSCREEN_SIZE() {
         return this.SCREEN_SIZE;
     }
 
+    /**
+     * Retorna a escala da interface, usada nos detalhes das cartas posicionados em pixels.
+     *
+     * @return O tamanho atual da janela em relação ao inicial (1 no tamanho inicial).
+     */
+    public float getUiScale() {
+        return this.uiScale;
+    }
+
+    /**
+     * Retorna o número desta mesa no processo.
+     *
+     * @return O número da mesa (a partir de 1).
+     */
+    public int getTable() {
+        return this.table;
+    }
+
     /**
      * Retorna os serviços de som utilizados no jogo.
      * 
@@ -302,6 +658,71 @@ public class TripleTriadUI extends JFrame {
         turn++;
     }
 
+    /**
+     * Ajusta o turno para que seja a vez do jogador informado e vira as cartas de acordo (usado ao restaurar
+     * uma jogada anterior).
+     *
+     * @param player Jogador da vez no motor (0 para o jogador 1, 1 para o jogador 2).
+     */
+    public void setTurnPlayer(int player) {
+        if (turn % 2 != player) turn++;
+        switchTurn();
+    }
+
+    /**
+     * Retorna o controlador que aplica as regras da partida atual.
+     *
+     * @return O controlador de regras.
+     */
+    public RulesController getRulesController() {
+        return rulesController;
+    }
+
+    /**
+     * Retorna o controlador das dicas de jogada.
+     *
+     * @return O controlador de dicas.
+     */
+    public HintController getHintController() {
+        return hintController;
+    }
+
+    /**
+     * Retorna o controlador que grava as partidas.
+     *
+     * @return O controlador de salvamento.
+     */
+    public SaveController getSaveController() {
+        return saveController;
+    }
+
+    /**
+     * Retorna o renderizador ativo do tabuleiro e das mãos.
+     *
+     * @return O renderizador, ou null quando o tabuleiro é pintado pelo Swing.
+     */
+    public BoardRenderer getBoardRenderer() {
+        return boardRenderer;
+    }
+
+    /**
+     * Retorna as regras das partidas.
+     *
+     * @return O conjunto de regras.
+     */
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    /**
+     * Retorna as dimensões do tabuleiro das partidas.
+     *
+     * @return A geometria do tabuleiro.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
     /**
      * Retorna o painel de pontos
      */
@@ -322,41 +743,64 @@ public class TripleTriadUI extends JFrame {
         Player player1 = p1.getPlayer();
         Player player2 = p2.getPlayer();
 
-        // MUDAR ESSA PARTE, POIS É APENAS PARA TESTES!!!
-        //Seleção aleatória de 5 cartas para cada jogador
-        List<CardData> cardsP1 = new ArrayList<>();
-        List<CardData> cardsP2 = new ArrayList<>();
-        Random random = new Random();        
-        for (int i = 0; i < 5; i++) {
-            cardsP1.add(cards.get(random.nextInt(cards.size())));
-            cardsP2.add(cards.get(random.nextInt(cards.size())));
-        }
-
-        player1.setCards(cardsP1);
-        player2.setCards(cardsP2);
+        long seed = ThreadLocalRandom.current().nextLong();
+        List<List<CardData>> hands = dealHands(cards, seed);
+        player1.setCards(hands.get(0));
+        player2.setCards(hands.get(1));
 
-        initialize(cards, player1, player2);
+        initialize(cards, player1, player2, seed);
     }
 
-    public Player[] definePlayers(List<CardData> cards) {
-        // MUDAR ESSA PARTE, POIS É APENAS PARA TESTES!!!
-        //Seleção aleatória de 5 cartas para cada jogador
-        List<CardData> cardsP1 = new ArrayList<>();
-        List<CardData> cardsP2 = new ArrayList<>();
-        Random random = new Random();        
-        for (int i = 0; i < 5; i++) {
-            cardsP1.add(cards.get(random.nextInt(cards.size())));
-            cardsP2.add(cards.get(random.nextInt(cards.size())));
-        }
-
-        Player player1 = new Player("José", cardsP1, Color.decode("#08C2FF")); // Jogador 1
-        Player player2 = new Player("Maria", cardsP2, Color.decode("#C96868")); // Jogador 2
+    /**
+     * Cria os jogadores de uma nova partida, com as mãos distribuídas a partir da semente.
+     *
+     * @param cards Lista com todas as cartas.
+     * @param seed  Semente da partida.
+     * @return Os jogadores 1 e 2.
+     */
+    public Player[] definePlayers(List<CardData> cards, long seed) {
+        List<List<CardData>> hands = dealHands(cards, seed);
+        Player player1 = new Player("José", hands.get(0), Color.decode("#08C2FF")); // Jogador 1
+        Player player2 = new Player("Maria", hands.get(1), Color.decode("#C96868")); // Jogador 2
         Player[] players = {player1, player2};
 
         return players;
     }
 
+    /**
+     * Distribui as mãos dos dois jogadores (sem cartas repetidas) de forma reprodutível a partir da semente.
+     *
+     * @param cards Lista com todas as cartas.
+     * @param seed  Semente da partida.
+     * @return As mãos dos jogadores 1 e 2.
+     */
+    private List<List<CardData>> dealHands(List<CardData> cards, long seed) {
+        int handSize = geometry.getHandSize();
+        // gerador separado do que sorteia os elementos do tabuleiro com a mesma semente
+        int[] deal = dealer.deal(new SplittableRandom(seed).split(), 2 * handSize);
+        List<List<CardData>> hands = List.of(new ArrayList<>(), new ArrayList<>());
+        for (int i = 0; i < deal.length; i++) {
+            int id = catalog.id(deal[i]);
+            CardData card = cards.stream().filter(c -> c.getCardId() == id).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Carta " + id + " fora da lista de cartas"));
+            hands.get(i / handSize).add(card);
+        }
+        return hands;
+    }
+
     public void initialize(List<CardData> cards, Player player1, Player player2) {
+        initialize(cards, player1, player2, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Monta a interface de uma nova partida.
+     *
+     * @param cards   Lista com todas as cartas.
+     * @param player1 Jogador 1, ou null para sortear os dois jogadores.
+     * @param player2 Jogador 2, ou null para sortear os dois jogadores.
+     * @param seed    Semente da partida, usada na distribuição das mãos sorteadas e dos elementos do tabuleiro.
+     */
+    public void initialize(List<CardData> cards, Player player1, Player player2, long seed) {
         if (p1 != null) {
             remove(p1);
         }
@@ -370,7 +814,7 @@ public class TripleTriadUI extends JFrame {
         }
 
         if (player1 == null || player2 == null) {
-            Player[] players = definePlayers(cards);
+            Player[] players = definePlayers(cards, seed);
 
             player1 = players[0];
             player2 = players[1];
@@ -378,12 +822,24 @@ public class TripleTriadUI extends JFrame {
 
         // Wrapper para o tabuleiro do jogo
         JPanel boardWrapper = new JPanel(new BorderLayout());
-        board = new Board("/back.png", cards);
+        board = new Board("/back.png", cards, geometry.getRows(), geometry.getCols());
         boardWrapper.add(board, BorderLayout.CENTER);
         boardWrapper.setBorder(BorderFactory.createTitledBorder("Campo"));
 
         p1 = new PlayerCards(this, player1, plW, plH);
         p2 = new PlayerCards(this, player2, plW, plH);
+        if (boardRenderer != null) {
+            board.setRenderedExternally(true);
+            p1.setRenderedExternally(true);
+            p2.setRenderedExternally(true);
+        }
+
+        // Motor de regras da partida, que também ajusta a pontuação inicial dos jogadores
+        rulesController = new RulesController(this, catalog, rules, geometry, player1, player2, turn % 2, seed);
+        board.addCardAddedListener(rulesController);
+        hintController.reset();
+        gameLog.addLogMessage("Regras da partida: " + rules.getRules() + " - tabuleiro " + geometry
+                + " - semente " + Long.toHexString(seed));
 
         scorePanel = new ScorePanel(p1.getPlayer(), p2.getPlayer());
         scorePanel.setPreferredSize(new Dimension(spW, spH)); // Ajusta a altura do painel de pontuação
@@ -401,7 +857,10 @@ public class TripleTriadUI extends JFrame {
 
         // Configurações finais da janela
         setLocationRelativeTo(null);
-        soundServices.getSoundService("main-theme").playThenLoop("theme-loop.wav");
+        // as mesas seguintes ficam em cascata, para que todas apareçam
+        setLocation(getX() + 30 * (table - 1), getY() + 30 * (table - 1));
+        // a música tema toca só na primeira mesa, para que as mesas não toquem o tema umas sobre as outras
+        if (table == 1) soundServices.getSoundService("main-theme").playThenLoop("theme-loop.wav");
         endGameDialog = new EndGameDialog(this);
 
         switchTurn();